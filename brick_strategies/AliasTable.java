@@ -0,0 +1,91 @@
+package bricker.brick_strategies;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a discrete distribution over the indices of a weight array, sampled in constant time.
+ * The table is built once with Vose's alias method: every index owns a column of equal probability,
+ * split between the index itself and one alias, so a sample is one uniform column and one biased
+ * coin, whatever the number of indices or the shape of the weights.
+ * The table is immutable, so it can be sampled from several threads at once, each with its own
+ * generator, and a seeded generator always draws the same indices.
+ */
+public class AliasTable {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Constructor.
+     * @param weights the relative weight of every index, non-negative and not all zero
+     * @throws IllegalArgumentException if a weight is negative or not finite, or all weights are zero
+     */
+    public AliasTable(double[] weights) {
+        int numOfIndices = weights.length;
+        double totalWeight = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            totalWeight += weight;
+        }
+        if (!(totalWeight > 0)) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+        this.probabilities = new double[numOfIndices];
+        this.aliases = new int[numOfIndices];
+        double[] scaledWeights = new double[numOfIndices];
+        int[] small = new int[numOfIndices];
+        int[] large = new int[numOfIndices];
+        int numOfSmall = 0;
+        int numOfLarge = 0;
+        for (int i = 0; i < numOfIndices; i++) {
+            scaledWeights[i] = weights[i] * numOfIndices / totalWeight;
+            if (scaledWeights[i] < 1) {
+                small[numOfSmall++] = i;
+            } else {
+                large[numOfLarge++] = i;
+            }
+        }
+        while (numOfSmall > 0 && numOfLarge > 0) {
+            int lesser = small[--numOfSmall];
+            int greater = large[--numOfLarge];
+            this.probabilities[lesser] = scaledWeights[lesser];
+            this.aliases[lesser] = greater;
+            scaledWeights[greater] = (scaledWeights[greater] + scaledWeights[lesser]) - 1;
+            if (scaledWeights[greater] < 1) {
+                small[numOfSmall++] = greater;
+            } else {
+                large[numOfLarge++] = greater;
+            }
+        }
+        // What is left is a full column, up to rounding
+        while (numOfLarge > 0) {
+            int greater = large[--numOfLarge];
+            this.probabilities[greater] = 1;
+            this.aliases[greater] = greater;
+        }
+        while (numOfSmall > 0) {
+            int lesser = small[--numOfSmall];
+            this.probabilities[lesser] = 1;
+            this.aliases[lesser] = lesser;
+        }
+    }
+
+    /**
+     * Draws an index with a probability proportional to its weight.
+     * @param random the random generator to draw from
+     * @return the drawn index
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(this.probabilities.length);
+        return random.nextDouble() < this.probabilities[column] ? column : this.aliases[column];
+    }
+
+    /**
+     * Returns the number of indices of the distribution.
+     * @return the number of indices
+     */
+    public int numOfIndices() {
+        return this.probabilities.length;
+    }
+}
@@ -20,11 +20,15 @@ public class BasicCollisionStrategy implements CollisionStrategy{
 
     /**
      * Handles the collision event between two GameObjects.
+     * Removes the brick, and emits its debris if it was still in the game.
      * @param thisGameObject  The GameObject associated with this collision strategy.
      * @param otherGameObject The other GameObject involved in the collision.
      */
     @Override
     public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
-        brickerGameManager.removeGameObject(thisGameObject, Layer.STATIC_OBJECTS);
+        if (brickerGameManager.removeGameObject(thisGameObject, Layer.STATIC_OBJECTS) &&
+                brickerGameManager.entityGovernor().allowSecondaryEffect()) {
+            brickerGameManager.particleSystem().emitBrickBurst(thisGameObject);
+        }
     }
 }
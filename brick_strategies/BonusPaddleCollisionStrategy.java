@@ -1,43 +1,44 @@
 package bricker.brick_strategies;
 
+import bricker.budget.EntityType;
 import bricker.main.Constants;
 import bricker.gameobjects.BonusPaddle;
 import bricker.main.BrickerGameManager;
+import bricker.sprites.SpriteReader;
 import danogl.GameObject;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 /**
  * Represents a strategy handles collisions that trigger the creation of a bonus paddle.
+ * A bonus paddle is only created if there is none in the game, as counted by the entity registry.
+ * The bonus paddle is removed by the game's effect scheduler after a number of collisions.
  */
 public class BonusPaddleCollisionStrategy implements CollisionStrategy{
     private final Vector2 windowDimension;
-    private final ImageReader imageReader;
+    private final SpriteReader spriteReader;
     private final UserInputListener inputListener;
     private final CollisionStrategy basicCollisionStrategy;
-    private int numOfBonusPaddles;
     private final BrickerGameManager brickerGameManager;
 
     /**
      * Constructor.
      * @param windowDimension    The dimensions of the game window.
-     * @param imageReader        The image reader used to load images.
+     * @param spriteReader        The image reader used to load images.
      * @param inputListener      The input listener for detecting user input.
      * @param brickerGameManager The game manager managing the game state.
      * @param basicCollisionStrategy The basic collision strategy.
      */
     public BonusPaddleCollisionStrategy(Vector2 windowDimension,
-                                        ImageReader imageReader, UserInputListener inputListener,
+                                        SpriteReader spriteReader, UserInputListener inputListener,
                                         BrickerGameManager brickerGameManager,
                                         CollisionStrategy basicCollisionStrategy) {
         this.windowDimension = windowDimension;
-        this.imageReader = imageReader;
+        this.spriteReader = spriteReader;
         this.inputListener = inputListener;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.numOfBonusPaddles = Constants.INIT_NUM_OF_BONUS_PADDLE;
         this.brickerGameManager = brickerGameManager;
     }
 
@@ -49,31 +50,28 @@ public class BonusPaddleCollisionStrategy implements CollisionStrategy{
     @Override
     public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
         this.basicCollisionStrategy.onCollision(thisGameObject, otherGameObject);
-        if(this.numOfBonusPaddles == Constants.INIT_NUM_OF_BONUS_PADDLE){
+        if(this.brickerGameManager.entityRegistry().numOfLive(EntityType.BONUS_PADDLE) ==
+                Constants.INIT_NUM_OF_BONUS_PADDLE){
             createBonusPaddle();
-            this.numOfBonusPaddles++;
         }
     }
 
-    /**
-     * Decrements the number of bonus paddles.
-     */
-    public void decrementNumOfBonusPaddles(){
-        this.numOfBonusPaddles--;
-    }
-
     /*
-     * Creates a new bonus paddle GameObject and adds it to the game.
+     * Creates a new bonus paddle GameObject and adds it to the game,
+     * scheduling its removal after its maximal number of collisions.
      */
     private void createBonusPaddle() {
         Vector2 bonusPaddlePosition = new Vector2(this.windowDimension.x() * Constants.HALF_FACTOR,
                 this.windowDimension.y() * Constants.HALF_FACTOR);
-        Renderable bonusPaddleImage = imageReader.readImage(Constants.PADDLE_IMAGE_PATH,
+        Renderable bonusPaddleImage = spriteReader.readImage(Constants.PADDLE_IMAGE_PATH,
                 false);
         BonusPaddle bonusPaddle = new BonusPaddle(bonusPaddlePosition, new Vector2(Constants.PADDLE_WIDTH,
                 Constants.PADDLE_HIGH),bonusPaddleImage  , this.inputListener, this.windowDimension,
-                this.brickerGameManager, this);
+                this.brickerGameManager);
         this.brickerGameManager.addGameObject(bonusPaddle, Layer.DEFAULT);
+        this.brickerGameManager.effectScheduler().scheduleAfterEvents(bonusPaddle,
+                Constants.BONUS_PADDLE_MAX_COLLISION,
+                () -> this.brickerGameManager.removeGameObject(bonusPaddle, Layer.DEFAULT));
     }
 
 
@@ -1,11 +1,9 @@
 package bricker.brick_strategies;
 
 import bricker.main.Constants;
-import bricker.gameobjects.Ball;
-import bricker.gameobjects.CameraChanger;
 import bricker.main.BrickerGameManager;
+import bricker.telemetry.GameEventType;
 import danogl.GameObject;
-import danogl.collisions.Layer;
 import danogl.gui.WindowController;
 import danogl.gui.rendering.Camera;
 import danogl.util.Vector2;
@@ -13,6 +11,7 @@ import danogl.util.Vector2;
 /**
  * Represents a strategy, that's when there is collision with brick that's contains this strategy,
  * trigger a change in the camera.
+ * The camera is reset by the game's effect scheduler after a number of collisions of the main ball.
  */
 public class ChangeCameraCollisionStrategy implements CollisionStrategy{
     private final BrickerGameManager brickerGameManager;
@@ -44,9 +43,12 @@ public class ChangeCameraCollisionStrategy implements CollisionStrategy{
         // Checks if collide with main ball and if the camera is null
         if (this.brickerGameManager.camera() == null &&
                 otherGameObject.getTag().equals(Constants.MAIN_BALL_TAG)){
-            CameraChanger cameraChanger = new CameraChanger(Vector2.ZERO, Vector2.ZERO, null,
-                    (Ball) otherGameObject, this.brickerGameManager);
-            this.brickerGameManager.addGameObject(cameraChanger, Layer.STATIC_OBJECTS);
+            this.brickerGameManager.effectScheduler().scheduleAfterEvents(otherGameObject,
+                    Constants.RESET_CAMERA_COLLISION_NUM, () -> {
+                        this.brickerGameManager.setCamera(null);
+                        this.brickerGameManager.logEvent(GameEventType.CAMERA_CHANGED, otherGameObject,
+                                Constants.CAMERA_RESET_EVENT_VALUE, this);
+                    });
             this.brickerGameManager.setCamera(
                     new Camera(
                             otherGameObject,
@@ -55,6 +57,8 @@ public class ChangeCameraCollisionStrategy implements CollisionStrategy{
                             windowController.getWindowDimensions()
                     )
             );
+            this.brickerGameManager.logEvent(GameEventType.CAMERA_CHANGED, otherGameObject,
+                    Constants.CAMERA_SET_EVENT_VALUE, this);
 
         }
     }
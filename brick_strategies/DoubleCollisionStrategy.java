@@ -1,60 +1,70 @@
 package bricker.brick_strategies;
 
+import bricker.main.BrickerGameManager;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.util.Counter;
 
 import java.util.Random;
 
 /**
  * Represents a collision strategy for handling double collisions.
- * This strategy randomly selects two collision strategies from the provided array of strategies
- * and executes them in sequence when a collision occurs. Additionally, in the case where the index
- * of this strategy is randomly chosen, it selects a third strategy to execute.
+ * This strategy draws two collision strategies from the provided array of strategies and executes them
+ * in sequence when a collision occurs. When it draws a double strategy, that draw is replaced by two
+ * more, as long as the composite depth of its weights allows; past it, doubles are no longer drawn.
+ * The behaviors are drawn from the alias tables of the weights, in constant time per draw.
  */
 public class DoubleCollisionStrategy implements CollisionStrategy{
+    private final BrickerGameManager brickerGameManager;
     private final CollisionStrategy[] strategies;
+    private final StrategyWeights strategyWeights;
     private final Random random;
 
     /**
      * Constructor.
-     * Initializes the strategy with the provided array of collision strategies and a counter
-     * for tracking the number of bricks.
-     * @param strategies the array of collision strategies to choose from
+     * Initializes the strategy with the provided array of collision strategies and the weights its
+     * behaviors are drawn with.
+     * @param brickerGameManager the game manager, whose entity governor may skip the extra behaviors
+     * @param strategies the array of collision strategies to choose from, indexed as in Constants,
+     *                   without the double strategy
+     * @param strategyWeights the weights the behaviors are drawn with, and the composite depth
+     * @param random the game's generator the behaviors are drawn from
      */
-    public DoubleCollisionStrategy(CollisionStrategy[] strategies) {
-        this.random = new Random();
+    public DoubleCollisionStrategy(BrickerGameManager brickerGameManager, CollisionStrategy[] strategies,
+                                   StrategyWeights strategyWeights, Random random) {
+        this.brickerGameManager = brickerGameManager;
+        this.random = random;
         this.strategies = strategies;
+        this.strategyWeights = strategyWeights;
     }
 
     /**
      * Handles the collision event between two GameObjects.
-     * Randomly selects two collision strategies from the array and executes them in sequence.
-     * If the index of this strategy is randomly chosen, it selects a third strategy to execute.
+     * Draws two collision strategies and executes them in sequence. Every double drawn while the
+     * composite depth allows adds one more behavior; the behaviors past the first two are skipped when
+     * the entity governor needs to keep the frame time within budget.
      * @param thisGameObject the first GameObject involved in the collision
      * @param otherGameObject the second GameObject involved in the collision
      */
     @Override
     public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
-        int firstStrategyNum, secondStrategyNum;
-        int thirdStrategyNum = Constants.NUM_OF_STRATEGIES;
-        firstStrategyNum = random.nextInt(Constants.NUM_OF_STRATEGIES);
-        if (firstStrategyNum == Constants.DOUBLE_COLLISION_STRATEGY_INDEX){
-            firstStrategyNum = random.nextInt(Constants.DOUBLE_COLLISION_STRATEGY_INDEX);
-            secondStrategyNum = random.nextInt(Constants.DOUBLE_COLLISION_STRATEGY_INDEX);
-            thirdStrategyNum = random.nextInt(Constants.DOUBLE_COLLISION_STRATEGY_INDEX);
-        }
-        else{
-            secondStrategyNum = random.nextInt(Constants.NUM_OF_STRATEGIES);
-        }
-        if (secondStrategyNum == Constants.DOUBLE_COLLISION_STRATEGY_INDEX){
-            secondStrategyNum = random.nextInt(Constants.DOUBLE_COLLISION_STRATEGY_INDEX);
-            thirdStrategyNum = random.nextInt(Constants.DOUBLE_COLLISION_STRATEGY_INDEX);
-        }
-        this.strategies[firstStrategyNum].onCollision(thisGameObject, otherGameObject);
-        this.strategies[secondStrategyNum].onCollision(thisGameObject, otherGameObject);
-        if (thirdStrategyNum != Constants.NUM_OF_STRATEGIES){
-            this.strategies[thirdStrategyNum].onCollision(thisGameObject, otherGameObject);
+        int numOfPending = Constants.DOUBLE_STRATEGY_BEHAVIORS;
+        int depthLeft = this.strategyWeights.compositeDepth();
+        int numOfExecuted = 0;
+        while (numOfPending > 0) {
+            numOfPending--;
+            AliasTable table = depthLeft > 0 ? this.strategyWeights.compositeTable() :
+                    this.strategyWeights.leafTable();
+            int strategyNum = table.sample(this.random);
+            if (strategyNum == Constants.DOUBLE_COLLISION_STRATEGY_INDEX) {
+                depthLeft--;
+                numOfPending += Constants.DOUBLE_STRATEGY_BEHAVIORS;
+                continue;
+            }
+            if (numOfExecuted < Constants.DOUBLE_STRATEGY_BEHAVIORS ||
+                    this.brickerGameManager.entityGovernor().allowSecondaryEffect()) {
+                this.strategies[strategyNum].onCollision(thisGameObject, otherGameObject);
+            }
+            numOfExecuted++;
         }
     }
 }
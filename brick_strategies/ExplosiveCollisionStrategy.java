@@ -0,0 +1,33 @@
+package bricker.brick_strategies;
+
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+
+/**
+ * Represents a collision strategy for explosive bricks.
+ * An explosive brick destroys the bricks around it when hit, and the explosive bricks among them
+ * explode in turn, so one hit can clear a whole region of the board.
+ */
+public class ExplosiveCollisionStrategy implements CollisionStrategy {
+    private final BrickerGameManager brickerGameManager;
+
+    /**
+     * Constructor.
+     * @param brickerGameManager The game manager, which carries out the chain reaction.
+     */
+    public ExplosiveCollisionStrategy(BrickerGameManager brickerGameManager) {
+        this.brickerGameManager = brickerGameManager;
+    }
+
+    /**
+     * Handles the collision event between an explosive brick and another GameObject.
+     * Sets off a chain reaction from the brick, which destroys the brick itself along with the bricks
+     * around it.
+     * @param thisGameObject The explosive brick.
+     * @param otherGameObject The other GameObject involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
+        this.brickerGameManager.explodeBrick(thisGameObject);
+    }
+}
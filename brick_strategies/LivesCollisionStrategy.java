@@ -1,11 +1,12 @@
 package bricker.brick_strategies;
 
+import bricker.budget.EntityType;
 import bricker.main.Constants;
 import bricker.gameobjects.FallenHeart;
 import bricker.main.BrickerGameManager;
+import bricker.sprites.SpriteReader;
 import danogl.GameObject;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
@@ -17,22 +18,22 @@ import danogl.util.Vector2;
  */
 public class LivesCollisionStrategy implements CollisionStrategy{
     private final BrickerGameManager brickerGameManager;
-    private final ImageReader imageReader;
+    private final SpriteReader spriteReader;
     private final Counter heartsCounter;
     private final CollisionStrategy basicCollisionStrategy;
 
     /**
      * Constructor.
-     * Initializes the strategy with the provided BrickerGameManager, ImageReader, and Counter.
+     * Initializes the strategy with the provided BrickerGameManager, SpriteReader, and Counter.
      * @param brickerGameManager the BrickerGameManager instance
-     * @param imageReader the ImageReader instance for loading images
+     * @param spriteReader the SpriteReader instance for loading images
      * @param heartsCounter the Counter for tracking the number of hearts/lives
      * @param basicCollisionStrategy The basic collision strategy.
      */
-    public LivesCollisionStrategy(BrickerGameManager brickerGameManager, ImageReader imageReader,
+    public LivesCollisionStrategy(BrickerGameManager brickerGameManager, SpriteReader spriteReader,
                                   Counter heartsCounter, CollisionStrategy basicCollisionStrategy){
         this.brickerGameManager = brickerGameManager;
-        this.imageReader = imageReader;
+        this.spriteReader = spriteReader;
         this.heartsCounter = heartsCounter;
         this.basicCollisionStrategy = basicCollisionStrategy;
     }
@@ -46,14 +47,16 @@ public class LivesCollisionStrategy implements CollisionStrategy{
     @Override
     public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
         this.basicCollisionStrategy.onCollision(thisGameObject, otherGameObject);
-        createFallenHeart(thisGameObject.getCenter());
+        Vector2 brickCenter = thisGameObject.getCenter();
+        this.brickerGameManager.entityGovernor().trySpawn(EntityType.FALLEN_HEART,
+                () -> createFallenHeart(brickCenter));
     }
 
     /*
      * Creates a fallen heart object at the specified position.
      */
     private void createFallenHeart(Vector2 brickCenter){
-        Renderable heartImage =  this.imageReader.readImage(Constants.HEART_IMAGE_PATH,
+        Renderable heartImage =  this.spriteReader.readImage(Constants.HEART_IMAGE_PATH,
                 true);
         FallenHeart fallenHeart = new FallenHeart(Vector2.ZERO,
                 new Vector2(Constants.UI_OBJECT_SIZE, Constants.UI_OBJECT_SIZE),
@@ -1,11 +1,12 @@
 package bricker.brick_strategies;
 
+import bricker.budget.EntityType;
 import bricker.main.Constants;
 import bricker.gameobjects.Ball;
 import bricker.main.BrickerGameManager;
+import bricker.sprites.SpriteReader;
 import danogl.GameObject;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
 import danogl.gui.Sound;
 import danogl.gui.SoundReader;
 import danogl.gui.rendering.Renderable;
@@ -19,40 +20,45 @@ import java.util.Random;
  */
 public class PuckCollisionStrategy implements CollisionStrategy {
     private final BrickerGameManager brickerGameManager;
-    private final ImageReader imageReader;
+    private final SpriteReader spriteReader;
     private final SoundReader soundReader;
     private final CollisionStrategy basicCollisionStrategy;
-    private Random random;
+    private final Random random;
 
     /**
      * Constructor.
-     * Initializes the strategy with the provided BrickerGameManager, ImageReader, and SoundReader.
+     * Initializes the strategy with the provided BrickerGameManager, SpriteReader, and SoundReader.
      * @param brickerGameManager the BrickerGameManager instance
-     * @param imageReader the ImageReader instance for loading images
-     * @param soundReader the SoundReader instance for loading sounds
+     * @param spriteReader the SpriteReader instance for loading images
+     * @param soundReader the SoundReader instance for loading sounds, or null to play no sounds
      * @param basicCollisionStrategy The basic collision strategy.
+     * @param random the game's generator the directions of the pucks are drawn from
      */
     public PuckCollisionStrategy(BrickerGameManager brickerGameManager,
-                                 ImageReader imageReader, SoundReader soundReader ,
-                                 CollisionStrategy basicCollisionStrategy){
+                                 SpriteReader spriteReader, SoundReader soundReader ,
+                                 CollisionStrategy basicCollisionStrategy, Random random){
         this.brickerGameManager = brickerGameManager;
-        this.imageReader = imageReader;
+        this.spriteReader = spriteReader;
         this.soundReader = soundReader;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.random = new Random();
+        this.random = random;
     }
 
     /**
      * Handles the collision event between a puck object and another game object.
-     * Removes the puck object from the game, and creates two new puck balls at its position.
+     * Removes the puck object from the game, and creates two new puck balls at its position,
+     * unless the entity governor defers or drops them.
      * @param thisGameObject the puck GameObject involved in the collision
      * @param otherGameObject the other GameObject involved in the collision
      */
     @Override
     public void onCollision(GameObject thisGameObject, GameObject otherGameObject) {
         basicCollisionStrategy.onCollision(thisGameObject, otherGameObject);
-        createPuckBall(thisGameObject.getCenter());
-        createPuckBall(thisGameObject.getCenter());
+        Vector2 brickCenter = thisGameObject.getCenter();
+        for (int i = 0; i < Constants.PUCKS_PER_COLLISION; i++) {
+            this.brickerGameManager.entityGovernor().trySpawn(EntityType.PUCK,
+                    () -> createPuckBall(brickCenter));
+        }
     }
 
     /*
@@ -70,8 +76,9 @@ public class PuckCollisionStrategy implements CollisionStrategy {
      */
     private void createPuckBall(Vector2 brickCenter) {
         Renderable ballImage =
-                this.imageReader.readImage(Constants.PUCK_BALL_IMAGE_PATH, true);
-        Sound collisionSound = this.soundReader.readSound(Constants.BLOP_SOUND_PATH);
+                this.spriteReader.readImage(Constants.PUCK_BALL_IMAGE_PATH, true);
+        Sound collisionSound = this.soundReader == null ? null :
+                this.soundReader.readSound(Constants.BLOP_SOUND_PATH);
         GameObject puckBall =
                 new Ball(Vector2.ZERO, new Vector2(Constants.BALL_SIZE * Constants.PUCK_SIZE_FACTOR,
                 Constants.BALL_SIZE * Constants.PUCK_SIZE_FACTOR), ballImage, collisionSound);
@@ -0,0 +1,42 @@
+package bricker.brick_strategies;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents the collision strategies of a level, drawn with the weights of the level.
+ * The strategies are shared with the strategy maker, except for the double strategy, which draws its
+ * behaviors with the weights of the level and so belongs to the distribution.
+ * A distribution only reads its strategies and alias table, so it can be drawn from several threads at
+ * once, each with its own generator.
+ */
+public class StrategyDistribution {
+    private final CollisionStrategy[] collisionStrategies;
+    private final StrategyWeights strategyWeights;
+
+    /**
+     * Constructor.
+     * @param collisionStrategies the collision strategies, indexed as in Constants
+     * @param strategyWeights the weights the strategies are drawn with
+     */
+    StrategyDistribution(CollisionStrategy[] collisionStrategies, StrategyWeights strategyWeights) {
+        this.collisionStrategies = collisionStrategies;
+        this.strategyWeights = strategyWeights;
+    }
+
+    /**
+     * Draws the collision strategy of a brick, in constant time.
+     * @param random The random generator to draw from.
+     * @return A collision strategy.
+     */
+    public CollisionStrategy chooseStrategy(RandomGenerator random) {
+        return this.collisionStrategies[this.strategyWeights.brickTable().sample(random)];
+    }
+
+    /**
+     * Returns the weights the strategies are drawn with.
+     * @return the strategy weights
+     */
+    public StrategyWeights strategyWeights() {
+        return this.strategyWeights;
+    }
+}
@@ -2,7 +2,7 @@ package bricker.brick_strategies;
 
 import bricker.main.BrickerGameManager;
 import bricker.main.Constants;
-import danogl.gui.ImageReader;
+import bricker.sprites.SpriteReader;
 import danogl.gui.SoundReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
@@ -11,6 +11,7 @@ import danogl.util.Vector2;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents strategy maker class handles the creation and selection of collision strategies for a game.
@@ -19,30 +20,32 @@ import java.util.Random;
 public class StrategyMaker {
     private final BrickerGameManager brickerGameManager;
     private final WindowController windowController;
-    private final ImageReader imageReader;
+    private final SpriteReader spriteReader;
     private final Counter heartsCounter;
     private final Vector2 windowDimension;
     private final SoundReader soundReader;
     private final UserInputListener inputListener;
     private final Random random;
     private final CollisionStrategy[] collisionStrategies;
+    private final StrategyDistribution defaultDistribution;
 
     /**
      * Constructor.
      * @param brickerGameManager The game manager.
      * @param windowController The window controller.
-     * @param imageReader The image reader.
+     * @param spriteReader The image reader.
      * @param heartsCounter The counter for player hearts/lives.
      * @param windowDimension The dimensions of the game window.
      * @param soundReader The sound reader.
      * @param inputListener The user input listener.
+     * @param random The game's generator, which the strategies draw from during play.
      */
     public StrategyMaker(BrickerGameManager brickerGameManager, WindowController windowController,
-                  ImageReader imageReader, Counter heartsCounter, Vector2 windowDimension,
-                  SoundReader soundReader, UserInputListener inputListener){
-        this.random = new Random();
+                  SpriteReader spriteReader, Counter heartsCounter, Vector2 windowDimension,
+                  SoundReader soundReader, UserInputListener inputListener, Random random){
+        this.random = random;
         this.windowController = windowController;
-        this.imageReader = imageReader;
+        this.spriteReader = spriteReader;
         this.heartsCounter = heartsCounter;
         this.windowDimension = windowDimension;
         this.soundReader = soundReader;
@@ -50,25 +53,50 @@ public class StrategyMaker {
         this.collisionStrategies = new CollisionStrategy[Constants.NUM_OF_STRATEGIES];
         this.brickerGameManager = brickerGameManager;
         initCollisionStrategies();
+        this.defaultDistribution = distribution(StrategyWeights.defaults());
     }
 
     /**
-     * Randomly selects and returns a collision strategy.
-     * 1/2 unique or basic, then for any basic 1/10 (1/2 * 1/5).
+     * Randomly selects and returns a collision strategy with the default weights.
+     * 1/2 unique or basic, then for any unique 1/12 (1/2 * 1/6).
      * @return A collision strategy.
      */
     public CollisionStrategy chooseStrategy(){
-        if (random.nextBoolean()) {
-            return this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX];
-        }
-        else { // return unique strategy
-            return this.collisionStrategies[random.nextInt(Constants.CHANGE_CAMERA_STRATEGY_INDEX,
-                    Constants.NUM_OF_STRATEGIES)];
-        }
+        return chooseStrategy(this.random);
+    }
+
+    /**
+     * Randomly selects and returns a collision strategy with the default weights, drawing from the
+     * given generator.
+     * Only reads the strategies array, so it can be called from several threads at once,
+     * each with its own generator.
+     * @param random The random generator to draw from.
+     * @return A collision strategy.
+     */
+    public CollisionStrategy chooseStrategy(RandomGenerator random){
+        return this.defaultDistribution.chooseStrategy(random);
+    }
+
+    /**
+     * Returns the collision strategies drawn with the given weights, such as those of a level.
+     * The distribution shares the strategies of this maker, with a double strategy of its own that
+     * draws its behaviors with the given weights.
+     * @param strategyWeights The weights to draw the strategies with.
+     * @return The strategy distribution.
+     */
+    public StrategyDistribution distribution(StrategyWeights strategyWeights){
+        CollisionStrategy[] strategies = this.collisionStrategies.clone();
+        strategies[Constants.DOUBLE_COLLISION_STRATEGY_INDEX] =
+                new DoubleCollisionStrategy(this.brickerGameManager,
+                        Arrays.copyOfRange(this.collisionStrategies,
+                        Constants.BASIC_COLLISION_STRATEGY_INDEX,
+                        Constants.DOUBLE_COLLISION_STRATEGY_INDEX), strategyWeights, this.random);
+        return new StrategyDistribution(strategies, strategyWeights);
     }
 
     /*
-     * Initializes all collision strategies and insert to the array.
+     * Initializes all collision strategies but the double one, which belongs to each distribution,
+     * and insert to the array.
      */
     private void initCollisionStrategies() {
         this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX] =
@@ -81,22 +109,20 @@ public class StrategyMaker {
 
         this.collisionStrategies[Constants.LIVES_COLLISION_STRATEGY_INDEX] =
                 new LivesCollisionStrategy(this.brickerGameManager,
-                        this.imageReader, this.heartsCounter,
+                        this.spriteReader, this.heartsCounter,
                         this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX]);
 
         this.collisionStrategies[Constants.BONUS_PADDLE_STRATEGY_INDEX] = new
-                BonusPaddleCollisionStrategy(this.windowDimension, this.imageReader,
+                BonusPaddleCollisionStrategy(this.windowDimension, this.spriteReader,
                 this.inputListener, this.brickerGameManager,
                 this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX]);
 
         this.collisionStrategies[Constants.PUCK_COLLISION_STRATEGY_INDEX] =
-                new PuckCollisionStrategy(this.brickerGameManager, this.imageReader,
+                new PuckCollisionStrategy(this.brickerGameManager, this.spriteReader,
                         this.soundReader,
-                        this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX]);
+                        this.collisionStrategies[Constants.BASIC_COLLISION_STRATEGY_INDEX], this.random);
 
-        this.collisionStrategies[Constants.DOUBLE_COLLISION_STRATEGY_INDEX] =
-                new DoubleCollisionStrategy(Arrays.copyOfRange(this.collisionStrategies,
-                        Constants.BASIC_COLLISION_STRATEGY_INDEX,
-                        Constants.DOUBLE_COLLISION_STRATEGY_INDEX));
+        this.collisionStrategies[Constants.EXPLOSIVE_COLLISION_STRATEGY_INDEX] =
+                new ExplosiveCollisionStrategy(this.brickerGameManager);
     }
 }
@@ -0,0 +1,119 @@
+package bricker.brick_strategies;
+
+import bricker.main.Constants;
+
+import java.util.List;
+
+/**
+ * Represents the distribution of collision strategies over the bricks of a level.
+ * Every strategy has a weight for being assigned to a brick, and a weight for being drawn as a behavior
+ * of a double strategy. A double strategy may draw another double among its behaviors, which adds a
+ * behavior, only up to the composite depth of the level; past it, doubles are no longer drawn.
+ * The weights are indexed by the strategy indices of Constants, and turned into alias tables once, so
+ * drawing a strategy takes the same constant time for any weights.
+ */
+public class StrategyWeights {
+    private final double[] brickWeights;
+    private final double[] compositeWeights;
+    private final int compositeDepth;
+    private final AliasTable brickTable;
+    private final AliasTable compositeTable;
+    private final AliasTable leafTable;
+
+    /**
+     * Constructor.
+     * @param brickWeights the weight of every strategy for being assigned to a brick
+     * @param compositeWeights the weight of every strategy for being drawn by a double strategy
+     * @param compositeDepth the number of doubles a double strategy may draw among its behaviors
+     * @throws IllegalArgumentException if there is not one weight per strategy, a weight is invalid,
+     *                                  the depth is negative, or a double cannot draw any behavior
+     */
+    public StrategyWeights(List<Double> brickWeights, List<Double> compositeWeights, int compositeDepth) {
+        if (brickWeights.size() != Constants.NUM_OF_STRATEGIES ||
+                compositeWeights.size() != Constants.NUM_OF_STRATEGIES) {
+            throw new IllegalArgumentException("Expected " + Constants.NUM_OF_STRATEGIES + " weights");
+        }
+        if (compositeDepth < 0) {
+            throw new IllegalArgumentException("Negative composite depth: " + compositeDepth);
+        }
+        this.brickWeights = toArray(brickWeights);
+        this.compositeWeights = toArray(compositeWeights);
+        this.compositeDepth = compositeDepth;
+        this.brickTable = new AliasTable(this.brickWeights);
+        this.compositeTable = new AliasTable(this.compositeWeights);
+        double[] leafWeights = this.compositeWeights.clone();
+        leafWeights[Constants.DOUBLE_COLLISION_STRATEGY_INDEX] = 0;
+        this.leafTable = new AliasTable(leafWeights);
+    }
+
+    /**
+     * Returns the weights the game assigns strategies with when a level does not set its own:
+     * half of the bricks are basic and the rest are split evenly between the special strategies,
+     * and a double strategy draws its behaviors evenly, with at most one nested double.
+     * @return the default weights
+     */
+    public static StrategyWeights defaults() {
+        return new StrategyWeights(Constants.DEFAULT_BRICK_STRATEGY_WEIGHTS,
+                Constants.DEFAULT_COMPOSITE_STRATEGY_WEIGHTS, Constants.DEFAULT_COMPOSITE_DEPTH);
+    }
+
+    /**
+     * Returns the weight of every strategy for being assigned to a brick.
+     * @return a copy of the brick weights
+     */
+    public double[] brickWeights() {
+        return this.brickWeights.clone();
+    }
+
+    /**
+     * Returns the weight of every strategy for being drawn by a double strategy.
+     * @return a copy of the composite weights
+     */
+    public double[] compositeWeights() {
+        return this.compositeWeights.clone();
+    }
+
+    /**
+     * Returns the number of doubles a double strategy may draw among its behaviors.
+     * @return the composite depth
+     */
+    public int compositeDepth() {
+        return this.compositeDepth;
+    }
+
+    /**
+     * Returns the table the strategies of bricks are drawn from.
+     * @return the brick alias table
+     */
+    public AliasTable brickTable() {
+        return this.brickTable;
+    }
+
+    /**
+     * Returns the table a double strategy draws its behaviors from while it may still draw doubles.
+     * @return the composite alias table
+     */
+    public AliasTable compositeTable() {
+        return this.compositeTable;
+    }
+
+    /**
+     * Returns the table a double strategy draws its behaviors from once its composite depth is used up,
+     * which never draws a double.
+     * @return the leaf alias table
+     */
+    public AliasTable leafTable() {
+        return this.leafTable;
+    }
+
+    /*
+     * Copies weights into a new array.
+     */
+    private static double[] toArray(List<Double> weights) {
+        double[] array = new double[weights.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = weights.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,289 @@
+package bricker.budget;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Represents a governor keeping the number of spawned entities and the frame time within budget.
+ * Every entity type has a cap on its live entities, and spawns over the cap are deferred until
+ * there is room, or dropped once too many are waiting.
+ * The governor also tracks a moving average of the frame time. While it is over the frame budget,
+ * the governor degrades the game gracefully: new pucks are deferred, nearby pucks are merged
+ * into one, and secondary effects such as particle bursts are skipped. It recovers once the frame
+ * time falls well under the budget again.
+ * Every intervention is reported to the listener, so it can be logged.
+ */
+public class EntityGovernor {
+    /**
+     * The ways the governor can step in.
+     */
+    public enum Intervention {
+        /**
+         * A spawn was put off until there is room for it.
+         */
+        SPAWN_DEFERRED,
+        /**
+         * A spawn was dropped, since too many spawns were already waiting.
+         */
+        SPAWN_DROPPED,
+        /**
+         * Two pucks were merged into one.
+         */
+        PUCKS_MERGED,
+        /**
+         * A secondary effect was skipped.
+         */
+        EFFECT_SKIPPED
+    }
+
+    /**
+     * Represents a receiver of the interventions of the governor.
+     */
+    @FunctionalInterface
+    public interface InterventionListener {
+        /**
+         * Called whenever the governor steps in.
+         * @param intervention the kind of intervention
+         * @param entityType the type of the entity involved, or null for a skipped effect
+         * @param subject the entity involved, or null if it was not spawned
+         */
+        void onIntervention(Intervention intervention, EntityType entityType, GameObject subject);
+    }
+
+    private final Map<EntityType, Integer> caps;
+    private final EntityRegistry entityRegistry;
+    private final ArrayDeque<DeferredSpawn> deferredSpawns;
+    private final long frameBudgetNanos;
+    private final InterventionListener listener;
+    private float averageFrameNanos;
+    private boolean isOverBudget;
+    private long numOfInterventions;
+
+    /**
+     * Constructor.
+     * Every entity type starts with the default cap of its type.
+     * @param frameBudgetNanos the frame time the game should stay under, in nanoseconds
+     * @param entityRegistry the registry counting the live entities
+     * @param listener the receiver of the interventions, or null
+     */
+    public EntityGovernor(long frameBudgetNanos, EntityRegistry entityRegistry,
+                          InterventionListener listener) {
+        this.frameBudgetNanos = frameBudgetNanos;
+        this.entityRegistry = entityRegistry;
+        this.listener = listener;
+        this.caps = new EnumMap<>(EntityType.class);
+        this.caps.put(EntityType.PUCK, Constants.MAX_LIVE_PUCKS);
+        this.caps.put(EntityType.FALLEN_HEART, Constants.MAX_LIVE_FALLEN_HEARTS);
+        this.caps.put(EntityType.BONUS_PADDLE, Constants.MAX_LIVE_BONUS_PADDLES);
+        this.deferredSpawns = new ArrayDeque<>();
+    }
+
+    /**
+     * Sets the maximal number of live entities of a type.
+     * @param entityType the type of the entities
+     * @param cap the maximal number of live entities
+     */
+    public void setCap(EntityType entityType, int cap) {
+        this.caps.put(entityType, cap);
+    }
+
+    /**
+     * Returns the maximal number of live entities of a type.
+     * @param entityType the type of the entities
+     * @return the cap of the type
+     */
+    public int cap(EntityType entityType) {
+        return this.caps.get(entityType);
+    }
+
+    /**
+     * Spawns an entity now if there is room for it, and otherwise defers or drops the spawn.
+     * Pucks are also deferred while the frame time is over budget.
+     * @param entityType the type of the entity
+     * @param spawn the action adding the entity to the game
+     * @return true if the entity was spawned now
+     */
+    public boolean trySpawn(EntityType entityType, Runnable spawn) {
+        boolean isThrottled = this.isOverBudget && entityType == EntityType.PUCK;
+        if (!isThrottled && numOfLive(entityType) < cap(entityType)) {
+            spawn.run();
+            return true;
+        }
+        if (this.deferredSpawns.size() < Constants.MAX_DEFERRED_SPAWNS) {
+            this.deferredSpawns.add(new DeferredSpawn(entityType, spawn));
+            report(Intervention.SPAWN_DEFERRED, entityType, null);
+        } else {
+            report(Intervention.SPAWN_DROPPED, entityType, null);
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether secondary effects, such as particle bursts, may run, reporting the skipped
+     * effect if they may not.
+     * @return false while the frame time is over budget
+     */
+    public boolean allowSecondaryEffect() {
+        if (this.isOverBudget) {
+            report(Intervention.EFFECT_SKIPPED, null, null);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records the time the last frame took, and updates whether the game is over budget.
+     * While over budget, nearby pucks are merged. Otherwise, deferred spawns are released as long
+     * as there is room for them.
+     * Should be called once at the end of every frame.
+     * @param frameNanos the time the last frame took, in nanoseconds
+     * @param remover removes an entity from the game, returning true if it was removed
+     */
+    public void endFrame(long frameNanos, Predicate<GameObject> remover) {
+        this.averageFrameNanos += (frameNanos - this.averageFrameNanos) *
+                Constants.FRAME_TIME_SMOOTHING;
+        if (this.averageFrameNanos > this.frameBudgetNanos) {
+            this.isOverBudget = true;
+        } else if (this.averageFrameNanos < this.frameBudgetNanos * Constants.BUDGET_RECOVERY_FACTOR) {
+            this.isOverBudget = false;
+        }
+        if (this.isOverBudget) {
+            mergePucks(remover);
+        } else {
+            releaseDeferredSpawns();
+        }
+    }
+
+    /**
+     * Returns the number of live entities of a type, as counted by the entity registry.
+     * @param entityType the type of the entities
+     * @return the number of live entities
+     */
+    public int numOfLive(EntityType entityType) {
+        return this.entityRegistry.numOfLive(entityType);
+    }
+
+    /**
+     * Returns the number of spawns waiting for room.
+     * @return the number of deferred spawns
+     */
+    public int numOfDeferredSpawns() {
+        return this.deferredSpawns.size();
+    }
+
+    /**
+     * Drops every spawn waiting for room, such as when the game is rewound to a state they were not
+     * spawned from.
+     */
+    public void clearDeferredSpawns() {
+        this.deferredSpawns.clear();
+    }
+
+    /**
+     * Returns whether the frame time is over budget.
+     * @return true while the governor degrades the game
+     */
+    public boolean isOverBudget() {
+        return this.isOverBudget;
+    }
+
+    /**
+     * Returns the moving average of the frame time.
+     * @return the average frame time in nanoseconds
+     */
+    public float averageFrameNanos() {
+        return this.averageFrameNanos;
+    }
+
+    /**
+     * Returns the number of times the governor stepped in.
+     * @return the number of interventions
+     */
+    public long numOfInterventions() {
+        return this.numOfInterventions;
+    }
+
+    /*
+     * Runs deferred spawns, oldest first, of the types that have room for them. Spawns of a type that
+     * is still at its cap keep waiting without holding back the spawns of other types, and every
+     * spawn that keeps waiting stays in its order. Spawns deferred while releasing wait for the next
+     * frame.
+     */
+    private void releaseDeferredSpawns() {
+        int numOfReleased = 0;
+        int numOfWaiting = this.deferredSpawns.size();
+        for (int i = 0; i < numOfWaiting; i++) {
+            DeferredSpawn deferredSpawn = this.deferredSpawns.poll();
+            if (numOfReleased < Constants.MAX_RELEASED_SPAWNS_PER_FRAME &&
+                    numOfLive(deferredSpawn.entityType) < cap(deferredSpawn.entityType)) {
+                deferredSpawn.spawn.run();
+                numOfReleased++;
+            } else {
+                this.deferredSpawns.add(deferredSpawn);
+            }
+        }
+    }
+
+    /*
+     * Merges pairs of pucks that are next to each other along the x axis, keeping a single puck
+     * of every pair, heading in the average direction of the two.
+     */
+    private void mergePucks(Predicate<GameObject> remover) {
+        List<GameObject> pucks = this.entityRegistry.liveEntities(EntityType.PUCK);
+        if (pucks.size() <= Constants.MIN_PUCKS_BEFORE_MERGING) {
+            return;
+        }
+        GameObject[] byX = pucks.toArray(new GameObject[0]);
+        Arrays.sort(byX, Comparator.comparingDouble(puck -> puck.getCenter().x()));
+        int numOfMerges = 0;
+        for (int i = 0; i + 1 < byX.length && numOfMerges < Constants.MAX_PUCK_MERGES_PER_FRAME;
+             i += 2) {
+            GameObject kept = byX[i];
+            GameObject merged = byX[i + 1];
+            float distance = kept.getCenter().subtract(merged.getCenter()).magnitude();
+            if (distance > Constants.PUCK_MERGE_DISTANCE || !remover.test(merged)) {
+                continue;
+            }
+            Vector2 direction = kept.getVelocity().add(merged.getVelocity());
+            if (direction.magnitude() > 0) {
+                float speed = Math.max(kept.getVelocity().magnitude(),
+                        merged.getVelocity().magnitude());
+                kept.setVelocity(direction.normalized().mult(speed));
+            }
+            numOfMerges++;
+            report(Intervention.PUCKS_MERGED, EntityType.PUCK, kept);
+        }
+    }
+
+    /*
+     * Counts an intervention and passes it to the listener.
+     */
+    private void report(Intervention intervention, EntityType entityType, GameObject subject) {
+        this.numOfInterventions++;
+        if (this.listener != null) {
+            this.listener.onIntervention(intervention, entityType, subject);
+        }
+    }
+
+    /*
+     * A spawn waiting for room.
+     */
+    private static class DeferredSpawn {
+        private final EntityType entityType;
+        private final Runnable spawn;
+
+        private DeferredSpawn(EntityType entityType, Runnable spawn) {
+            this.entityType = entityType;
+            this.spawn = spawn;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package bricker.budget;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.collisions.Layer;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the index of the live entities spawned during play, by type.
+ * Adding, removing and counting the entities of a type take constant time: every type keeps a dense
+ * list of its entities, and a removed entity is swapped with the last one of its list.
+ * The registry also audits the lifetimes of the entities. An entity that stays out of the playfield
+ * for a while without being removed, or that was added outside the default layer where the game
+ * never removes it, is reported once as leaked, so that leaks show up in long runs before the
+ * object counts grow.
+ */
+public class EntityRegistry {
+    /**
+     * The reasons an entity is reported as leaked.
+     */
+    public enum LeakReason {
+        /**
+         * The entity stayed out of the playfield for longer than the grace period.
+         */
+        OFF_PLAYFIELD,
+        /**
+         * The entity was added outside the default layer, where out of range objects are not removed.
+         */
+        OUTSIDE_DEFAULT_LAYER
+    }
+
+    /**
+     * Represents a receiver of the leaks the audit finds.
+     */
+    @FunctionalInterface
+    public interface LeakListener {
+        /**
+         * Called once for every leaked entity.
+         * @param reason why the entity is considered leaked
+         * @param entityType the type of the entity
+         * @param entity the entity
+         */
+        void onLeak(LeakReason reason, EntityType entityType, GameObject entity);
+    }
+
+    private final Map<EntityType, List<GameObject>> liveEntities;
+    private final Map<EntityType, List<GameObject>> liveEntitiesViews;
+    private final Map<EntityType, Integer> peakLive;
+    private final Map<GameObject, Entry> entries;
+    private final LeakListener listener;
+    private long numOfLeaks;
+
+    /**
+     * Constructor.
+     * @param listener the receiver of the leaks, or null
+     */
+    public EntityRegistry(LeakListener listener) {
+        this.listener = listener;
+        this.liveEntities = new EnumMap<>(EntityType.class);
+        this.liveEntitiesViews = new EnumMap<>(EntityType.class);
+        this.peakLive = new EnumMap<>(EntityType.class);
+        for (EntityType entityType : EntityType.values()) {
+            List<GameObject> entities = new ArrayList<>();
+            this.liveEntities.put(entityType, entities);
+            this.liveEntitiesViews.put(entityType, Collections.unmodifiableList(entities));
+            this.peakLive.put(entityType, 0);
+        }
+        this.entries = new IdentityHashMap<>();
+    }
+
+    /**
+     * Registers an entity added to the game. An entity added outside the default layer is
+     * reported as leaked right away.
+     * @param entityType the type of the entity
+     * @param entity the entity
+     * @param layer the layer the entity was added to
+     */
+    public void add(EntityType entityType, GameObject entity, int layer) {
+        if (this.entries.containsKey(entity)) {
+            return;
+        }
+        List<GameObject> entities = this.liveEntities.get(entityType);
+        Entry entry = new Entry(entityType, entities.size());
+        this.entries.put(entity, entry);
+        entities.add(entity);
+        this.peakLive.put(entityType, Math.max(this.peakLive.get(entityType), entities.size()));
+        if (layer != Layer.DEFAULT) {
+            reportLeak(LeakReason.OUTSIDE_DEFAULT_LAYER, entry, entity);
+        }
+    }
+
+    /**
+     * Unregisters an entity that left the game.
+     * @param entity the entity
+     * @return true if the entity was registered
+     */
+    public boolean remove(GameObject entity) {
+        Entry entry = this.entries.remove(entity);
+        if (entry == null) {
+            return false;
+        }
+        List<GameObject> entities = this.liveEntities.get(entry.entityType);
+        GameObject last = entities.remove(entities.size() - 1);
+        if (last != entity) {
+            entities.set(entry.index, last);
+            this.entries.get(last).index = entry.index;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether an entity is registered.
+     * @param entity the entity
+     * @return true if the entity is live
+     */
+    public boolean contains(GameObject entity) {
+        return this.entries.containsKey(entity);
+    }
+
+    /**
+     * Returns the number of live entities of a type.
+     * @param entityType the type of the entities
+     * @return the number of live entities
+     */
+    public int numOfLive(EntityType entityType) {
+        return this.liveEntities.get(entityType).size();
+    }
+
+    /**
+     * Returns the live entities of a type, in no particular order.
+     * @param entityType the type of the entities
+     * @return an unmodifiable view of the live entities
+     */
+    public List<GameObject> liveEntities(EntityType entityType) {
+        return this.liveEntitiesViews.get(entityType);
+    }
+
+    /**
+     * Returns the highest number of entities of a type that were live at once.
+     * @param entityType the type of the entities
+     * @return the peak number of live entities
+     */
+    public int peakLive(EntityType entityType) {
+        return this.peakLive.get(entityType);
+    }
+
+    /**
+     * Returns the number of entities reported as leaked.
+     * @return the number of leaks
+     */
+    public long numOfLeaks() {
+        return this.numOfLeaks;
+    }
+
+    /**
+     * Audits the live entities, reporting those that stayed out of the playfield for longer than the
+     * grace period. Should be called once per tick, after out of range objects were removed.
+     * @param playfieldDimensions the dimensions of the playfield
+     */
+    public void audit(Vector2 playfieldDimensions) {
+        for (List<GameObject> entities : this.liveEntities.values()) {
+            for (GameObject entity : entities) {
+                Entry entry = this.entries.get(entity);
+                if (!isOffPlayfield(entity, playfieldDimensions)) {
+                    entry.ticksOffPlayfield = 0;
+                } else if (++entry.ticksOffPlayfield > Constants.LEAK_AUDIT_GRACE_TICKS) {
+                    reportLeak(LeakReason.OFF_PLAYFIELD, entry, entity);
+                }
+            }
+        }
+    }
+
+    /*
+     * Returns whether an entity is entirely outside the playfield, beyond the audit margin.
+     */
+    private static boolean isOffPlayfield(GameObject entity, Vector2 playfieldDimensions) {
+        Vector2 topLeftCorner = entity.getTopLeftCorner();
+        Vector2 dimensions = entity.getDimensions();
+        return topLeftCorner.x() + dimensions.x() < -Constants.LEAK_AUDIT_MARGIN ||
+                topLeftCorner.y() + dimensions.y() < -Constants.LEAK_AUDIT_MARGIN ||
+                topLeftCorner.x() > playfieldDimensions.x() + Constants.LEAK_AUDIT_MARGIN ||
+                topLeftCorner.y() > playfieldDimensions.y() + Constants.LEAK_AUDIT_MARGIN;
+    }
+
+    /*
+     * Reports a leaked entity to the listener, once per entity.
+     */
+    private void reportLeak(LeakReason reason, Entry entry, GameObject entity) {
+        if (entry.isLeakReported) {
+            return;
+        }
+        entry.isLeakReported = true;
+        this.numOfLeaks++;
+        if (this.listener != null) {
+            this.listener.onLeak(reason, entry.entityType, entity);
+        }
+    }
+
+    /*
+     * The registration of a live entity.
+     */
+    private static class Entry {
+        private final EntityType entityType;
+        private int index;
+        private int ticksOffPlayfield;
+        private boolean isLeakReported;
+
+        private Entry(EntityType entityType, int index) {
+            this.entityType = entityType;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package bricker.budget;
+
+/**
+ * The types of entities spawned during play, whose numbers the entity governor caps.
+ */
+public enum EntityType {
+    /**
+     * A puck ball spawned by a puck brick.
+     */
+    PUCK,
+    /**
+     * A heart falling from a lives brick.
+     */
+    FALLEN_HEART,
+    /**
+     * A temporary paddle spawned by a bonus paddle brick.
+     */
+    BONUS_PADDLE
+}
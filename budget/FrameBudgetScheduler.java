@@ -0,0 +1,169 @@
+package bricker.budget;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Represents a cooperative scheduler of the work that does not need to finish every frame, such as
+ * sweeping out of range objects or refreshing the UI.
+ * The tasks run after the critical simulation step of the frame, until the frame budget is used up.
+ * A task does its work in slices and checks the deadline it is given, returning before it is reached;
+ * an unfinished task goes to the back of the backlog and carries on in the next frames.
+ * Every frame gives the backlog at least a minimal slice, so it keeps draining even while the
+ * simulation takes the whole budget. Frames whose deferred work ran past the deadline by more than a
+ * minimal slice, such as a task that does not check its deadline often enough, are reported to the
+ * listener.
+ */
+public class FrameBudgetScheduler {
+    /**
+     * Represents work that can be spread across frames.
+     */
+    @FunctionalInterface
+    public interface DeferrableTask {
+        /**
+         * Runs the next slice of the work, returning once it is done or the deadline is reached.
+         * @param deadlineNanos the System.nanoTime value the slice should return by
+         * @return true if the work is done, false if it should carry on in a later frame
+         */
+        boolean run(long deadlineNanos);
+    }
+
+    /**
+     * Represents a receiver of the frames whose deferred work overran the deadline.
+     */
+    @FunctionalInterface
+    public interface OverrunListener {
+        /**
+         * Called after a frame whose deferred work ran past the deadline by more than a minimal slice.
+         * @param overrunNanos the time past the deadline, in nanoseconds
+         * @param backlogDepth the number of tasks left in the backlog
+         */
+        void onOverrun(long overrunNanos, int backlogDepth);
+    }
+
+    private final ArrayDeque<DeferrableTask> backlog;
+    private final Set<DeferrableTask> queuedTasks;
+    private final long frameBudgetNanos;
+    private final long minSliceNanos;
+    private final long maxSliceNanos;
+    private final OverrunListener listener;
+    private long numOfOverruns;
+    private long numOfCarryOvers;
+    private long lastRunNanos;
+    private int maxBacklogDepth;
+
+    /**
+     * Constructor.
+     * @param frameBudgetNanos the time a whole frame should stay under, in nanoseconds
+     * @param minSliceNanos the time deferred work gets in a frame that used up its budget, in nanoseconds
+     * @param maxSliceNanos the most time deferred work may take in a frame, in nanoseconds
+     * @param listener the receiver of the overrun frames, or null
+     */
+    public FrameBudgetScheduler(long frameBudgetNanos, long minSliceNanos, long maxSliceNanos,
+                                OverrunListener listener) {
+        this.frameBudgetNanos = frameBudgetNanos;
+        this.minSliceNanos = minSliceNanos;
+        this.maxSliceNanos = maxSliceNanos;
+        this.listener = listener;
+        this.backlog = new ArrayDeque<>();
+        this.queuedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Adds a task to the back of the backlog, unless it is already waiting in it.
+     * @param task the task
+     * @return true if the task was added
+     */
+    public boolean submit(DeferrableTask task) {
+        if (!this.queuedTasks.add(task)) {
+            return false;
+        }
+        this.backlog.add(task);
+        this.maxBacklogDepth = Math.max(this.maxBacklogDepth, this.backlog.size());
+        return true;
+    }
+
+    /**
+     * Runs the backlog until the frame budget is used up, or for the minimal slice if the critical step
+     * already used it. Should be called once per frame, after the critical simulation step.
+     * @param frameStartNanos the System.nanoTime value the frame started at
+     * @return the number of tasks finished this frame
+     */
+    public int runPending(long frameStartNanos) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = Math.max(startNanos + this.minSliceNanos,
+                Math.min(startNanos + this.maxSliceNanos, frameStartNanos + this.frameBudgetNanos));
+        int numOfFinished = 0;
+        while (!this.backlog.isEmpty() && System.nanoTime() < deadlineNanos) {
+            DeferrableTask task = this.backlog.poll();
+            if (task.run(deadlineNanos)) {
+                this.queuedTasks.remove(task);
+                numOfFinished++;
+            } else {
+                this.backlog.add(task);
+            }
+        }
+        long endNanos = System.nanoTime();
+        this.lastRunNanos = endNanos - startNanos;
+        if (!this.backlog.isEmpty()) {
+            this.numOfCarryOvers++;
+        }
+        if (endNanos > deadlineNanos + this.minSliceNanos) {
+            this.numOfOverruns++;
+            if (this.listener != null) {
+                this.listener.onOverrun(endNanos - deadlineNanos, this.backlog.size());
+            }
+        }
+        return numOfFinished;
+    }
+
+    /**
+     * Drops every task waiting in the backlog.
+     */
+    public void clear() {
+        this.backlog.clear();
+        this.queuedTasks.clear();
+    }
+
+    /**
+     * Returns the number of tasks waiting in the backlog.
+     * @return the backlog depth
+     */
+    public int backlogDepth() {
+        return this.backlog.size();
+    }
+
+    /**
+     * Returns the largest number of tasks that waited in the backlog at once.
+     * @return the maximal backlog depth
+     */
+    public int maxBacklogDepth() {
+        return this.maxBacklogDepth;
+    }
+
+    /**
+     * Returns the number of frames whose deferred work ran past the deadline by more than a minimal slice.
+     * @return the number of overruns
+     */
+    public long numOfOverruns() {
+        return this.numOfOverruns;
+    }
+
+    /**
+     * Returns the number of frames that ended with work left in the backlog.
+     * @return the number of carry-overs
+     */
+    public long numOfCarryOvers() {
+        return this.numOfCarryOvers;
+    }
+
+    /**
+     * Returns the time the deferred work took in the last frame.
+     * @return the time in nanoseconds
+     */
+    public long lastRunNanos() {
+        return this.lastRunNanos;
+    }
+}
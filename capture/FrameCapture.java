@@ -0,0 +1,192 @@
+package bricker.capture;
+
+import bricker.main.Constants;
+import bricker.threading.FrameSnapshot;
+import danogl.GameManager;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the capture of the frames of a game into image files, without a display.
+ * Every few ticks the simulation copies the drawn objects into a snapshot, which is all the capture
+ * costs it. The renderables the game keeps changing, such as the particles, are copied with them, so
+ * the encoders never read state the simulation is writing. A pool of encoder threads draws the
+ * snapshots into offscreen images, scaled down for thumbnails, and writes them as numbered files.
+ * The snapshots come from a fixed pool, so when the encoders fall behind the frame is dropped rather
+ * than the simulation slowed down.
+ */
+public class FrameCapture {
+    private final Path directory;
+    private final Vector2 windowDimensions;
+    private final int captureInterval;
+    private final float scale;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final BlockingQueue<FrameSnapshot> freeSnapshots;
+    private final ExecutorService encoders;
+    private final ThreadLocal<BufferedImage> images;
+    private final AtomicLong numOfEncoded;
+    private final AtomicLong numOfFailed;
+    private final AtomicLong encodeNanos;
+    private long numOfCaptured;
+    private long numOfDropped;
+    private long captureNanos;
+
+    /**
+     * Constructor.
+     * @param directory the directory the frames are written to, created if missing
+     * @param windowDimensions the dimensions of the game window
+     * @param captureInterval the number of ticks between captured frames
+     * @param scale the size of the images relative to the window, below 1 for thumbnails
+     * @param numOfEncoders the number of encoder threads
+     * @throws IOException if the directory cannot be created
+     */
+    public FrameCapture(Path directory, Vector2 windowDimensions, int captureInterval, float scale,
+                        int numOfEncoders) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.windowDimensions = windowDimensions;
+        this.captureInterval = captureInterval;
+        this.scale = scale;
+        this.imageWidth = Math.max(1, Math.round(windowDimensions.x() * scale));
+        this.imageHeight = Math.max(1, Math.round(windowDimensions.y() * scale));
+        this.freeSnapshots = new ArrayBlockingQueue<>(Constants.CAPTURE_QUEUE_CAPACITY);
+        for (int i = 0; i < Constants.CAPTURE_QUEUE_CAPACITY; i++) {
+            this.freeSnapshots.add(new FrameSnapshot());
+        }
+        this.encoders = Executors.newFixedThreadPool(numOfEncoders, runnable -> {
+            Thread thread = new Thread(runnable, "frame-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.images = ThreadLocal.withInitial(() ->
+                new BufferedImage(this.imageWidth, this.imageHeight, BufferedImage.TYPE_INT_RGB));
+        this.numOfEncoded = new AtomicLong();
+        this.numOfFailed = new AtomicLong();
+        this.encodeNanos = new AtomicLong();
+    }
+
+    /**
+     * Captures the current frame of a game if the tick is due, and hands it to the encoders.
+     * Called on the simulation thread after every tick.
+     * @param tick the number of the simulated tick
+     * @param game the game to capture
+     */
+    public void onTick(long tick, GameManager game) {
+        if (tick % this.captureInterval != 0) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        FrameSnapshot snapshot = this.freeSnapshots.poll();
+        if (snapshot == null) {
+            this.numOfDropped++;
+            return;
+        }
+        snapshot.begin(tick, game.camera());
+        for (GameObject gameObject : game.gameObjects()) {
+            snapshot.add(gameObject);
+        }
+        this.encoders.execute(() -> encode(snapshot));
+        this.numOfCaptured++;
+        this.captureNanos += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Waits for the captured frames to be written, and stops the encoder threads.
+     */
+    public void close() {
+        this.encoders.shutdown();
+        try {
+            this.encoders.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of frames handed to the encoders.
+     * @return the number of captured frames
+     */
+    public long numOfCaptured() {
+        return this.numOfCaptured;
+    }
+
+    /**
+     * Returns the number of due frames skipped because the encoders had all the snapshots.
+     * @return the number of dropped frames
+     */
+    public long numOfDropped() {
+        return this.numOfDropped;
+    }
+
+    /**
+     * Returns the number of frames written to files.
+     * @return the number of encoded frames
+     */
+    public long numOfEncoded() {
+        return this.numOfEncoded.get();
+    }
+
+    /**
+     * Returns the number of frames whose file could not be written.
+     * @return the number of failed frames
+     */
+    public long numOfFailed() {
+        return this.numOfFailed.get();
+    }
+
+    /**
+     * Returns the mean time the simulation thread spent capturing a frame.
+     * @return the capture overhead per frame in nanoseconds, or 0 if no frame was captured
+     */
+    public long meanCaptureNanos() {
+        return this.numOfCaptured == 0 ? 0 : this.captureNanos / this.numOfCaptured;
+    }
+
+    /**
+     * Returns the mean time an encoder spent drawing and writing a frame.
+     * @return the encode time per frame in nanoseconds, or 0 if no frame was encoded
+     */
+    public long meanEncodeNanos() {
+        long numOfEncoded = this.numOfEncoded.get() + this.numOfFailed.get();
+        return numOfEncoded == 0 ? 0 : this.encodeNanos.get() / numOfEncoded;
+    }
+
+    /*
+     * Draws a snapshot into the image of the encoder thread and writes it to its file, then returns
+     * the snapshot to the pool.
+     */
+    private void encode(FrameSnapshot snapshot) {
+        long startNanos = System.nanoTime();
+        try {
+            BufferedImage image = this.images.get();
+            Graphics2D g = image.createGraphics();
+            try {
+                g.scale(this.scale, this.scale);
+                snapshot.draw(g, this.windowDimensions);
+            } finally {
+                g.dispose();
+            }
+            Path path = this.directory.resolve(String.format(Constants.CAPTURE_FILE_FORMAT, snapshot.tick()));
+            ImageIO.write(image, Constants.CAPTURE_IMAGE_FORMAT, path.toFile());
+            this.numOfEncoded.incrementAndGet();
+        } catch (IOException e) {
+            this.numOfFailed.incrementAndGet();
+        } finally {
+            this.freeSnapshots.add(snapshot);
+            this.encodeNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package bricker.capture;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.scenarios.HeadlessWindow;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs the Bricker game without a display, such as on a server with no X server, and writes its
+ * frames to image files. The game is simulated as fast as it goes, and a frame is captured every
+ * few ticks and encoded on background threads, at full size or scaled down to thumbnails.
+ * The images come from the sprite atlas, so it should be built with AssetBundleBuilder first.
+ */
+public class OffscreenGame {
+
+    /**
+     * Constructor.
+     * private and empty, the offscreen game is only run through main.
+     */
+    private OffscreenGame() {}
+
+    /**
+     * Runs the game offscreen and prints the capture overhead and the dropped frames.
+     * The number of brick rows and columns can be given as the first two arguments, followed
+     * optionally by the number of ticks to run, the number of ticks between captured frames and the
+     * scale of the images.
+     * @param args the optional brick rows, brick columns, ticks, capture interval and scale
+     * @throws IOException if the capture directory cannot be created
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty(Constants.AWT_HEADLESS_PROPERTY, Boolean.TRUE.toString());
+        int brickRows = Constants.DEFAULT_BRICK_ROWS;
+        int brickCols = Constants.DEFAULT_BRICK_COLS;
+        int numOfTicks = Constants.DEFAULT_CAPTURE_TICKS;
+        int captureInterval = Constants.DEFAULT_CAPTURE_INTERVAL_TICKS;
+        float scale = Constants.DEFAULT_CAPTURE_SCALE;
+        if (args.length == Constants.NUN_OF_VALID_ARGS || args.length == Constants.NUM_OF_CAPTURE_ARGS) {
+            brickRows = Integer.parseInt(args[0]);
+            brickCols = Integer.parseInt(args[1]);
+        }
+        if (args.length == Constants.NUM_OF_CAPTURE_ARGS) {
+            numOfTicks = Integer.parseInt(args[2]);
+            captureInterval = Integer.parseInt(args[3]);
+            scale = Float.parseFloat(args[4]);
+        }
+        Vector2 windowDimensions = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        BrickerGameManager game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE, windowDimensions,
+                brickRows, brickCols);
+        game.setRecordingEnabled(false);
+        HeadlessWindow window = new HeadlessWindow(windowDimensions);
+        FrameCapture capture = new FrameCapture(Path.of(Constants.CAPTURE_DIRECTORY), windowDimensions,
+                captureInterval, scale, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        long startNanos = System.nanoTime();
+        try {
+            game.initializeGame(null, null, window.inputListener(), window.windowController());
+            for (long tick = 0; tick < numOfTicks; tick++) {
+                game.update(Constants.CAPTURE_TICK_SECONDS);
+                if (window.takeResetRequest()) {
+                    game.initializeGame(null, null, window.inputListener(), window.windowController());
+                }
+                capture.onTick(tick, game);
+            }
+        } finally {
+            capture.close();
+            game.shutdown();
+        }
+        System.out.printf("%d ticks in %.2f s: %d frames captured, %d dropped, %d failed%n", numOfTicks,
+                (System.nanoTime() - startNanos) / (double) Constants.NANOS_IN_SECOND,
+                capture.numOfCaptured(), capture.numOfDropped(), capture.numOfFailed());
+        System.out.printf("capture overhead %.1f us/frame, encoding %.2f ms/frame%n",
+                capture.meanCaptureNanos() / (double) Constants.NANOS_IN_MICROSECOND,
+                capture.meanEncodeNanos() / (double) Constants.NANOS_IN_MILLISECOND);
+    }
+}
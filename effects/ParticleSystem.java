@@ -0,0 +1,275 @@
+package bricker.effects;
+
+import bricker.main.Constants;
+import bricker.rendering.CapturableRenderable;
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * Represents a particle system for debris and spark effects.
+ * All particles live in a single GameObject spanning the window, instead of a GameObject each,
+ * so bursts of thousands of particles do not grow the game object collection.
+ * The state of the particles is kept in primitive arrays used as a fixed-capacity ring: when the
+ * ring is full, new particles overwrite the oldest ones. Every frame all particles are integrated in
+ * one pass and drawn in one batch per particle kind, without allocating. The passes stop at the slot
+ * after the last live particle, and the ring starts over from there, so they visit the slots of the
+ * current bursts and not the whole capacity.
+ * The particles are drawn from a compact copy of the live ones, which renderers on other threads
+ * capture instead of reading the arrays the game keeps integrating.
+ */
+public class ParticleSystem extends GameObject {
+    private static final Color DEBRIS_COLOR = new Color(Constants.DEBRIS_COLOR_RGB);
+    private static final Color SPARK_COLOR = new Color(Constants.SPARK_COLOR_RGB);
+
+    private final int capacity;
+    private final float[] positionsX;
+    private final float[] positionsY;
+    private final float[] velocitiesX;
+    private final float[] velocitiesY;
+    private final float[] ages;
+    private final float[] lifetimes;
+    private final boolean[] isSpark;
+    private final Vector2 worldDimensions;
+    private int head;
+    private int numOfUsedSlots;
+    private int numOfLiveParticles;
+    private long randomState;
+
+    /**
+     * Constructor.
+     * @param worldDimensions the dimensions of the area the particles are drawn in
+     * @param capacity the maximal number of live particles
+     */
+    public ParticleSystem(Vector2 worldDimensions, int capacity) {
+        super(Vector2.ZERO, worldDimensions, null);
+        this.capacity = capacity;
+        this.worldDimensions = worldDimensions;
+        this.positionsX = new float[capacity];
+        this.positionsY = new float[capacity];
+        this.velocitiesX = new float[capacity];
+        this.velocitiesY = new float[capacity];
+        this.ages = new float[capacity];
+        this.lifetimes = new float[capacity];
+        this.isSpark = new boolean[capacity];
+        this.randomState = System.nanoTime() | 1;
+        this.renderer().setRenderable(new ParticlesRenderable());
+        this.setTag(Constants.PARTICLES_TAG);
+    }
+
+    /**
+     * Emits a burst of debris and sparks over the area of a destroyed brick.
+     * @param brick the destroyed brick
+     */
+    public void emitBrickBurst(GameObject brick) {
+        Vector2 topLeftCorner = brick.getTopLeftCorner();
+        Vector2 dimensions = brick.getDimensions();
+        for (int i = 0; i < Constants.DEBRIS_PER_BRICK; i++) {
+            emit(topLeftCorner.x() + nextFloat() * dimensions.x(),
+                    topLeftCorner.y() + nextFloat() * dimensions.y(),
+                    Constants.DEBRIS_SPEED, Constants.DEBRIS_LIFETIME, false);
+        }
+        for (int i = 0; i < Constants.SPARKS_PER_BRICK; i++) {
+            emit(topLeftCorner.x() + dimensions.x() * Constants.HALF_FACTOR,
+                    topLeftCorner.y() + dimensions.y() * Constants.HALF_FACTOR,
+                    Constants.SPARK_SPEED, Constants.SPARK_LIFETIME, true);
+        }
+    }
+
+    /**
+     * Emits a single particle in a random direction.
+     * @param x the x coordinate of the particle
+     * @param y the y coordinate of the particle
+     * @param maxSpeed the maximal initial speed of the particle
+     * @param lifetime the maximal lifetime of the particle, in seconds
+     * @param spark true for a spark, false for debris
+     */
+    public void emit(float x, float y, float maxSpeed, float lifetime, boolean spark) {
+        int index = this.head;
+        if (this.ages[index] < this.lifetimes[index]) {
+            // Overwriting the oldest live particle
+            this.numOfLiveParticles--;
+        }
+        float speed = maxSpeed * nextFloat();
+        float angle = nextFloat() * Constants.FULL_CIRCLE_RADIANS;
+        this.positionsX[index] = x;
+        this.positionsY[index] = y;
+        this.velocitiesX[index] = speed * (float) Math.cos(angle);
+        this.velocitiesY[index] = speed * (float) Math.sin(angle);
+        this.ages[index] = 0;
+        this.lifetimes[index] = lifetime * (Constants.HALF_FACTOR + Constants.HALF_FACTOR * nextFloat());
+        this.isSpark[index] = spark;
+        this.numOfLiveParticles++;
+        this.numOfUsedSlots = Math.max(this.numOfUsedSlots, index + 1);
+        this.head = (index + 1) % this.capacity;
+    }
+
+    /**
+     * Integrates all live particles: applies gravity and drag to debris, moves every particle,
+     * and ages it. The slots after the last live particle are freed, and the ring continues from them.
+     * @param deltaTime the time elapsed since the last update
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (this.numOfLiveParticles == 0) {
+            return;
+        }
+        float gravity = Constants.PARTICLE_GRAVITY * deltaTime;
+        float drag = Math.max(0, 1 - Constants.PARTICLE_DRAG * deltaTime);
+        int numOfLiveParticles = 0;
+        int numOfUsedSlots = 0;
+        for (int i = 0; i < this.numOfUsedSlots; i++) {
+            if (this.ages[i] >= this.lifetimes[i]) {
+                continue;
+            }
+            if (!this.isSpark[i]) {
+                this.velocitiesY[i] += gravity;
+            }
+            this.velocitiesX[i] *= drag;
+            this.velocitiesY[i] *= drag;
+            this.positionsX[i] += this.velocitiesX[i] * deltaTime;
+            this.positionsY[i] += this.velocitiesY[i] * deltaTime;
+            this.ages[i] += deltaTime;
+            if (this.ages[i] < this.lifetimes[i]) {
+                numOfLiveParticles++;
+                numOfUsedSlots = i + 1;
+            }
+        }
+        this.numOfLiveParticles = numOfLiveParticles;
+        this.numOfUsedSlots = numOfUsedSlots;
+        // Every slot from the last live particle on is free, unless the ring wrapped around before it
+        if (this.head > numOfUsedSlots) {
+            this.head = numOfUsedSlots;
+        }
+    }
+
+    /**
+     * Particles are visual only and never collide.
+     * @param other the GameObject to check collision with
+     * @return false
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    /**
+     * Returns the number of live particles.
+     * @return the number of live particles
+     */
+    public int numOfLiveParticles() {
+        return this.numOfLiveParticles;
+    }
+
+    /*
+     * Returns a pseudo random float in [0, 1), using a xorshift generator kept in a primitive.
+     */
+    private float nextFloat() {
+        long state = this.randomState;
+        state ^= state << 13;
+        state ^= state >>> 7;
+        state ^= state << 17;
+        this.randomState = state;
+        return (state >>> Constants.RANDOM_FLOAT_SHIFT) * Constants.RANDOM_FLOAT_UNIT;
+    }
+
+    /*
+     * Copies the positions and kinds of the live particles into a frame, reusing its arrays.
+     */
+    private void copyLiveParticles(ParticlesFrame frame) {
+        frame.worldDimensions = this.worldDimensions;
+        if (frame.positionsX.length < this.numOfLiveParticles) {
+            frame.positionsX = Arrays.copyOf(frame.positionsX, this.numOfLiveParticles);
+            frame.positionsY = Arrays.copyOf(frame.positionsY, this.numOfLiveParticles);
+            frame.isSpark = Arrays.copyOf(frame.isSpark, this.numOfLiveParticles);
+        }
+        int numOfParticles = 0;
+        for (int i = 0; i < this.numOfUsedSlots && numOfParticles < this.numOfLiveParticles; i++) {
+            if (this.ages[i] >= this.lifetimes[i]) {
+                continue;
+            }
+            frame.positionsX[numOfParticles] = this.positionsX[i];
+            frame.positionsY[numOfParticles] = this.positionsY[i];
+            frame.isSpark[numOfParticles] = this.isSpark[i];
+            numOfParticles++;
+        }
+        frame.numOfParticles = numOfParticles;
+    }
+
+    /*
+     * Draws the live particles, through a copy of them kept for the game thread, and captures them
+     * for renderers on other threads.
+     */
+    private class ParticlesRenderable implements CapturableRenderable {
+        private final ParticlesFrame frame = new ParticlesFrame();
+
+        @Override
+        public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                           double degreesCounterClockwise, boolean isFlippedHorizontally,
+                           boolean isFlippedVertically, double opaqueness) {
+            copyLiveParticles(this.frame);
+            this.frame.render(g, topLeftCorner, dimensions, degreesCounterClockwise, isFlippedHorizontally,
+                    isFlippedVertically, opaqueness);
+        }
+
+        @Override
+        public Renderable capture(Renderable previous) {
+            ParticlesFrame captured = previous instanceof ParticlesFrame ? (ParticlesFrame) previous :
+                    new ParticlesFrame();
+            copyLiveParticles(captured);
+            return captured;
+        }
+    }
+
+    /*
+     * A compact copy of the live particles, drawn as small squares, one batch per particle kind.
+     */
+    private static class ParticlesFrame implements Renderable {
+        private float[] positionsX = new float[0];
+        private float[] positionsY = new float[0];
+        private boolean[] isSpark = new boolean[0];
+        private int numOfParticles;
+        private Vector2 worldDimensions;
+
+        @Override
+        public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                           double degreesCounterClockwise, boolean isFlippedHorizontally,
+                           boolean isFlippedVertically, double opaqueness) {
+            if (this.numOfParticles == 0) {
+                return;
+            }
+            // Maps world coordinates to the screen area the system is drawn in, so cameras apply.
+            // The system spans the world, so its screen area starts off screen under a camera
+            float scaleX = dimensions.x() / this.worldDimensions.x();
+            float scaleY = dimensions.y() / this.worldDimensions.y();
+            drawBatch(g, topLeftCorner, scaleX, scaleY, false, DEBRIS_COLOR, Constants.DEBRIS_SIZE);
+            drawBatch(g, topLeftCorner, scaleX, scaleY, true, SPARK_COLOR, Constants.SPARK_SIZE);
+        }
+
+        private void drawBatch(Graphics2D g, Vector2 topLeftCorner, float scaleX, float scaleY,
+                               boolean sparks, Color color, int size) {
+            g.setColor(color);
+            float originX = topLeftCorner.x();
+            float originY = topLeftCorner.y();
+            float screenWidth = this.worldDimensions.x();
+            float screenHeight = this.worldDimensions.y();
+            for (int i = 0; i < this.numOfParticles; i++) {
+                if (this.isSpark[i] != sparks) {
+                    continue;
+                }
+                float screenX = originX + this.positionsX[i] * scaleX;
+                float screenY = originY + this.positionsY[i] * scaleY;
+                // Particles outside the window are not drawn
+                if (screenX < -size || screenY < -size || screenX > screenWidth || screenY > screenHeight) {
+                    continue;
+                }
+                g.fillRect((int) screenX, (int) screenY, size, size);
+            }
+        }
+    }
+}
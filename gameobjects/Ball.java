@@ -1,5 +1,8 @@
 package bricker.gameobjects;
 
+import bricker.main.Constants;
+import bricker.physics.ContactBatch;
+import bricker.scheduling.EffectScheduler;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
@@ -11,11 +14,18 @@ import danogl.util.Vector2;
  * Ball is a subclass of GameObject and represents a ball that interacts with other game objects.
  * It tracks the number of collisions it has encountered and handles collision events by updating
  * its velocity and playing a collision sound.
+ * The contacts of a tick are gathered into a manifold of distinct normals and resolved into one bounce,
+ * so several contacts along the same surface flip the ball once.
  */
 public class Ball extends GameObject {
 
     private final Sound collisionSound;
+    private final Vector2[] contactNormals;
     private int collisionCounter;
+    private EffectScheduler effectScheduler;
+    private ContactBatch contactBatch;
+    private int numOfContactNormals;
+    private int numOfContacts;
 
     /**
      * Constructor.
@@ -24,27 +34,75 @@ public class Ball extends GameObject {
      * @param topLeftCorner the position of the top-left corner of the ball
      * @param dimensions the dimensions of the ball
      * @param renderable the renderable representing the ball
-     * @param collisionSound the sound to be played on collision
+     * @param collisionSound the sound to be played on collision, or null to play no sound
      */
     public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionSound = collisionSound;
+        this.contactNormals = new Vector2[Constants.CONTACT_MANIFOLD_CAPACITY];
     }
 
     /**
      * Handles collision events with other game objects.
-     * Increments the collision counter, updates the ball's velocity based on the collision normal,
-     * and plays the collision sound.
+     * Adds the collision normal to the contacts of the tick, which the contact batch resolves once all
+     * contacts are gathered. Without a contact batch, the contact is resolved right away.
      * @param other the other game object involved in the collision
      * @param collision the collision information
      */
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        collisionCounter++;
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
+        addContactNormal(collision.getNormal());
+        if (this.contactBatch == null) {
+            resolveContacts();
+        } else if (this.numOfContacts == 1) {
+            this.contactBatch.addBallContact(this);
+        }
+    }
+
+    /**
+     * Resolves the contacts gathered since the last resolution into one bounce.
+     * Flips the velocity once along every distinct normal, increments the collision counter,
+     * plays the collision sound and reports the collision to the effect scheduler.
+     * @return the number of contacts that were resolved
+     */
+    public int resolveContacts() {
+        int numOfResolved = this.numOfContacts;
+        if (numOfResolved == 0) {
+            return 0;
+        }
+        Vector2 newVel = getVelocity();
+        for (int i = 0; i < this.numOfContactNormals; i++) {
+            newVel = newVel.flipped(this.contactNormals[i]);
+            this.contactNormals[i] = null;
+        }
         setVelocity(newVel);
-        collisionSound.play();
+        this.numOfContactNormals = 0;
+        this.numOfContacts = 0;
+        collisionCounter++;
+        if (this.collisionSound != null) {
+            this.collisionSound.play();
+        }
+        if (this.effectScheduler != null) {
+            this.effectScheduler.onEvent(this);
+        }
+        return numOfResolved;
+    }
+
+    /**
+     * Sets the effect scheduler the ball reports its collisions to.
+     * @param effectScheduler the effect scheduler, or null to not report collisions
+     */
+    public void setEffectScheduler(EffectScheduler effectScheduler) {
+        this.effectScheduler = effectScheduler;
+    }
+
+    /**
+     * Sets the contact batch the ball gathers its contacts of a tick in.
+     * @param contactBatch the contact batch, or null to resolve every contact right away
+     */
+    public void setContactBatch(ContactBatch contactBatch) {
+        this.contactBatch = contactBatch;
     }
 
     /**
@@ -55,4 +113,20 @@ public class Ball extends GameObject {
         return collisionCounter;
     }
 
+    /*
+     * Adds a contact normal to the manifold of the tick, unless a normal along the same axis is already
+     * in it, such as that of a second brick of the same row.
+     */
+    private void addContactNormal(Vector2 normal) {
+        this.numOfContacts++;
+        for (int i = 0; i < this.numOfContactNormals; i++) {
+            if (Math.abs(this.contactNormals[i].dot(normal)) >= Constants.CONTACT_NORMAL_MERGE_COSINE) {
+                return;
+            }
+        }
+        if (this.numOfContactNormals < this.contactNormals.length) {
+            this.contactNormals[this.numOfContactNormals++] = normal;
+        }
+    }
+
 }
@@ -2,6 +2,7 @@ package bricker.gameobjects;
 
 import bricker.main.Constants;
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.physics.ContactBatch;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
@@ -14,6 +15,7 @@ import danogl.util.Vector2;
  */
 public class Brick extends GameObject{
     private final CollisionStrategy collisionStrategy;
+    private ContactBatch contactBatch;
 
     /**
      * Constructor.
@@ -31,15 +33,36 @@ public class Brick extends GameObject{
         this.setTag(Constants.BRICK_TAG);
     }
 
+    /**
+     * Returns the collision strategy of the brick.
+     * @return the collision strategy
+     */
+    public CollisionStrategy getCollisionStrategy() {
+        return this.collisionStrategy;
+    }
+
+    /**
+     * Sets the contact batch the brick reports its collisions to.
+     * @param contactBatch the contact batch, or null to invoke the collision strategy right away
+     */
+    public void setContactBatch(ContactBatch contactBatch) {
+        this.contactBatch = contactBatch;
+    }
+
     /**
      * Handles collision events with other game objects.
-     * Invokes the collision strategy associated with the brick upon collision with another game object.
+     * Invokes the collision strategy associated with the brick upon collision with another game object,
+     * through the contact batch, which invokes it once per tick after the balls have bounced.
      * @param other the other game object involved in the collision
      * @param collision the collision information
      */
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        collisionStrategy.onCollision(this, other);
+        if (this.contactBatch == null) {
+            collisionStrategy.onCollision(this, other);
+        } else {
+            this.contactBatch.addBrickContact(this, other);
+        }
     }
 }
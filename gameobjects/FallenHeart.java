@@ -2,6 +2,7 @@ package bricker.gameobjects;
 
 import bricker.main.Constants;
 import bricker.main.BrickerGameManager;
+import bricker.telemetry.GameEventType;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.collisions.Layer;
@@ -50,6 +51,8 @@ public class FallenHeart extends GameObject {
         if(this.heartsCounter.value() < Constants.NUM_MAX_LIVES){
             this.heartsCounter.increment();
         }
+        this.brickerGameManager.logEvent(GameEventType.HEART_CAUGHT, this, this.heartsCounter.value(),
+                null);
         this.brickerGameManager.removeGameObject(this, Layer.DEFAULT);
     }
 
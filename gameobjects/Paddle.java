@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.input.InputTimeline;
 import bricker.main.Constants;
 import danogl.GameObject;
 import danogl.gui.UserInputListener;
@@ -14,6 +15,8 @@ import java.awt.event.KeyEvent;
 public class Paddle extends GameObject {
     private final UserInputListener inputListener;
     private final Vector2 windowDimension;
+    private int remoteDirection;
+    private InputTimeline inputTimeline;
 
     /**
      * Constructor.
@@ -38,28 +41,63 @@ public class Paddle extends GameObject {
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        // The velocity is set from this frame's input before moving, so input is not a frame late
         paddleMovementManage();
+        super.update(deltaTime);
+        keepInsideWindow();
+    }
+
+    /**
+     * Sets the timeline the paddle reads the arrow keys from, moving for the exact part of the frame
+     * they were held.
+     * @param inputTimeline the input timeline, or null to sample the keys once per frame
+     */
+    public void setInputTimeline(InputTimeline inputTimeline) {
+        this.inputTimeline = inputTimeline;
+    }
+
+    /**
+     * Sets a movement direction requested from outside the local keyboard, such as a network client.
+     * It is combined with the arrow keys on every update.
+     * @param remoteDirection -1 for left, 1 for right, or 0
+     */
+    public void setRemoteDirection(int remoteDirection) {
+        this.remoteDirection = remoteDirection;
     }
 
     /*
      * Manages the movement of the paddle based on user input.
      */
     private void paddleMovementManage() {
-        float paddleWidth = this.getDimensions().x();
         Vector2 movementDir = Vector2.ZERO;
-        Vector2 topLeftCorner = getTopLeftCorner();
-        // Check for left arrow key press
-        if(inputListener.isKeyPressed(KeyEvent.VK_LEFT)){
-            movementDir = movementDir.add(Vector2.LEFT);
+        if (inputTimeline != null) {
+            // Move for the part of the frame each arrow key was held
+            movementDir = Vector2.RIGHT.mult(inputTimeline.heldFraction(KeyEvent.VK_RIGHT) -
+                    inputTimeline.heldFraction(KeyEvent.VK_LEFT));
+        } else {
+            // Check for left arrow key press
+            if(inputListener.isKeyPressed(KeyEvent.VK_LEFT)){
+                movementDir = movementDir.add(Vector2.LEFT);
+            }
+            // Check for right arrow key press
+            if(inputListener.isKeyPressed(KeyEvent.VK_RIGHT)){
+                movementDir = movementDir.add(Vector2.RIGHT);
+            }
         }
-        // Check for right arrow key press
-        if(inputListener.isKeyPressed(KeyEvent.VK_RIGHT)){
-            movementDir = movementDir.add(Vector2.RIGHT);
+        // Add the remote direction, if there is one
+        if (remoteDirection != 0) {
+            movementDir = movementDir.add(Vector2.RIGHT.mult(remoteDirection));
         }
         // Set velocity based on movement direction and speed
         setVelocity(movementDir.mult(Constants.MOVEMENT_SPEED));
-        // Ensure paddle stays within the bounds of the window
+    }
+
+    /*
+     * Ensures the paddle stays within the bounds of the window.
+     */
+    private void keepInsideWindow() {
+        float paddleWidth = this.getDimensions().x();
+        Vector2 topLeftCorner = getTopLeftCorner();
         if (topLeftCorner.x() < Constants.MIN_COORDINATE_VALUE){
             setTopLeftCorner(new Vector2(Constants.MIN_COORDINATE_VALUE, topLeftCorner.y()));
         }
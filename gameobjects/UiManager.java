@@ -1,10 +1,11 @@
 package bricker.gameobjects;
 
+import bricker.budget.FrameBudgetScheduler;
 import bricker.main.Constants;
 import bricker.main.BrickerGameManager;
+import bricker.sprites.SpriteReader;
 import danogl.GameObject;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
 import danogl.gui.rendering.Renderable;
 import danogl.gui.rendering.TextRenderable;
 import danogl.util.Counter;
@@ -20,6 +21,8 @@ import java.util.Stack;
  * The constructor initializes the UiManager with the provided parameters and sets up the hearts counter,
  * heart image, and initializes the hearts stack. It also creates a text renderable representing the
  * current number of hearts and adds it to the game's UI layer.
+ * The display is refreshed through the frame budget scheduler when one is set, after the critical
+ * simulation step of the frame.
  */
 public class UiManager extends GameObject {
 
@@ -27,9 +30,12 @@ public class UiManager extends GameObject {
     private final BrickerGameManager brickerGameManager;
     private final Renderable heartImage;
     private final Vector2 dimensions;
-    private final TextRenderable numHeartsText;
+    private final GameObject heartsText;
     private final Stack<GameObject> heartsStack;
+    private final FrameBudgetScheduler.DeferrableTask refreshTask;
+    private FrameBudgetScheduler frameScheduler;
     private int nextHeartsPlace;
+    private int shownNumOfHearts;
 
     /**
      * Constructor.
@@ -44,23 +50,28 @@ public class UiManager extends GameObject {
      * @param renderable the renderable component of the UI manager
      * @param heartsCounter the counter for tracking the number of hearts
      * @param brickerGameManager the instance of BrickerGameManager associated with the UI manager
-     * @param imageReader the image reader used to load the heart image
+     * @param spriteReader the image reader used to load the heart image
      */
     public UiManager(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
                      Counter heartsCounter,
-                     BrickerGameManager brickerGameManager, ImageReader imageReader) {
+                     BrickerGameManager brickerGameManager, SpriteReader spriteReader) {
         super(topLeftCorner, dimensions, renderable);
         this.heartsCounter = heartsCounter;
-        this.numHeartsText = new TextRenderable(String.valueOf(heartsCounter.value()));
+        this.shownNumOfHearts = heartsCounter.value();
         this.brickerGameManager = brickerGameManager;
         this.heartsStack = new Stack<>();
         this.dimensions = dimensions;
-        this.heartImage = imageReader.readImage(Constants.HEART_IMAGE_PATH,
+        this.refreshTask = deadlineNanos -> {
+            refresh();
+            return true;
+        };
+        this.heartImage = spriteReader.readImage(Constants.HEART_IMAGE_PATH,
                 true);
-        GameObject heartsTextGameObject = new GameObject(new Vector2(Constants.TEXT_POS_OFFSET,
+        this.heartsText = new GameObject(new Vector2(Constants.TEXT_POS_OFFSET,
                 dimensions.y() - Constants.UI_OBJECT_SIZE - Constants.TEXT_POS_OFFSET) ,
-                new Vector2(Constants.UI_OBJECT_SIZE, Constants.UI_OBJECT_SIZE), numHeartsText);
-        brickerGameManager.addGameObject(heartsTextGameObject, Layer.UI);
+                new Vector2(Constants.UI_OBJECT_SIZE, Constants.UI_OBJECT_SIZE),
+                createHeartsText(this.shownNumOfHearts));
+        brickerGameManager.addGameObject(this.heartsText, Layer.UI);
         initializeHearts();
     }
 
@@ -69,17 +80,35 @@ public class UiManager extends GameObject {
      * This method overrides the update method from the GameObject class and is
      * responsible for updating
      * the UI manager based on changes in the game state.
-     * It checks for changes in the number of hearts and updates the
-     * hearts display and text color accordingly.
-     * Additionally, it ensures that the hearts stack in the UI remains
-     * synchronized with the hearts counter.
+     * The refresh is submitted to the frame budget scheduler if one is set, and runs right away otherwise.
      * @param deltaTime the time elapsed since the last update
      */
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        // Check if the number of hearts change and update the text color accordingly
-        heartsColorSwitch(this.heartsCounter.value());
+        if (this.frameScheduler == null) {
+            refresh();
+        } else {
+            this.frameScheduler.submit(this.refreshTask);
+        }
+    }
+
+    /**
+     * Sets the frame budget scheduler the refreshes of the display are deferred to.
+     * @param frameScheduler the scheduler, or null to refresh on every update
+     */
+    public void setFrameScheduler(FrameBudgetScheduler frameScheduler) {
+        this.frameScheduler = frameScheduler;
+    }
+
+    /**
+     * Refreshes the hearts display and text color.
+     * It checks for changes in the number of hearts and updates the
+     * hearts display and text color accordingly.
+     * Additionally, it ensures that the hearts stack in the UI remains
+     * synchronized with the hearts counter.
+     */
+    public void refresh() {
         // Check if the number of hearts change and update the hearts stack accordingly
         if (heartsStack.size() > this.heartsCounter.value()){
             brickerGameManager.removeGameObject(heartsStack.pop(), Layer.UI);
@@ -88,7 +117,21 @@ public class UiManager extends GameObject {
         if (heartsStack.size() < this.heartsCounter.value()){
             addNewHeart();
         }
-        this.numHeartsText.setString(String.valueOf(heartsCounter.value()));
+        // Check if the number of hearts change and replace the text, in the color of the new number.
+        // A shown text is never changed, renderers on other threads may be drawing it
+        if (this.shownNumOfHearts != this.heartsCounter.value()) {
+            this.shownNumOfHearts = this.heartsCounter.value();
+            this.heartsText.renderer().setRenderable(createHeartsText(this.shownNumOfHearts));
+        }
+    }
+
+    /*
+     * Creates the text showing the number of hearts, in the color of the number.
+     */
+    private TextRenderable createHeartsText(int numOfHearts) {
+        TextRenderable text = new TextRenderable(String.valueOf(numOfHearts));
+        heartsColorSwitch(text, numOfHearts);
+        return text;
     }
 
     /*
@@ -127,23 +170,23 @@ public class UiManager extends GameObject {
     }
 
     /*
-     * Switches the color of the hearts text based on the number of hearts.
+     * Sets the color of a hearts text based on the number of hearts.
      * This method changes the color of the hearts text based on the current number of hearts.
      * If the number of hearts is equal to or above a certain threshold, the text color is set to green.
      * If the number of hearts is equal to another threshold, the text color is set to yellow.
      * Otherwise, the text color is set to red.
      */
-    private void heartsColorSwitch(int heartsCounterValue) {
+    private void heartsColorSwitch(TextRenderable text, int heartsCounterValue) {
         if (heartsCounterValue >= Constants.GREEN_BOUNDERY) {
 
-            this.numHeartsText.setColor(Color.GREEN);
+            text.setColor(Color.GREEN);
                 return;
         }
         if (heartsCounterValue == Constants.YELLOW_BOUNDERY) {
-            this.numHeartsText.setColor(Color.YELLOW);
+            text.setColor(Color.YELLOW);
         }
         else {
-            this.numHeartsText.setColor(Color.RED);
+            text.setColor(Color.RED);
         }
     }
 }
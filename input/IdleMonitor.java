@@ -0,0 +1,126 @@
+package bricker.input;
+
+import bricker.main.Constants;
+
+import java.awt.KeyboardFocusManager;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Represents a monitor deciding when an interactive game should stop simulating to save CPU.
+ * The game is paused while its window is not focused, and idle once no input arrived for a while,
+ * such as a kiosk nobody plays on. Any input, or the window gaining focus, makes it active again.
+ * Focus is only watched after the window was focused once, so a game running without a window is
+ * never paused for lacking focus.
+ */
+public class IdleMonitor implements PropertyChangeListener {
+    /**
+     * The activity states of the game.
+     */
+    public enum State {
+        /**
+         * The game is played, and simulated at its full rate.
+         */
+        ACTIVE,
+        /**
+         * The window lost focus, and the game is paused.
+         */
+        UNFOCUSED,
+        /**
+         * No input arrived for longer than the idle timeout, and the game is paused.
+         */
+        IDLE
+    }
+
+    private final long idleTimeoutNanos;
+    private volatile boolean isFocused;
+    private volatile boolean wasFocused;
+    private volatile long focusGainedNanos;
+    private boolean isInstalled;
+    private long lastActivityNanos;
+    private State state;
+
+    /**
+     * Constructor.
+     * @param idleTimeoutNanos the time without input after which the game is idle, in nanoseconds
+     * @param startNanos the System.nanoTime() the game starts at, which counts as activity
+     */
+    public IdleMonitor(long idleTimeoutNanos, long startNanos) {
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.lastActivityNanos = startNanos;
+        this.state = State.ACTIVE;
+    }
+
+    /**
+     * Starts watching the focus of the application's windows.
+     */
+    public void install() {
+        if (!this.isInstalled) {
+            KeyboardFocusManager focusManager = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+            focusManager.addPropertyChangeListener(Constants.ACTIVE_WINDOW_PROPERTY, this);
+            this.isFocused = focusManager.getActiveWindow() != null;
+            this.wasFocused = this.isFocused;
+            this.isInstalled = true;
+        }
+    }
+
+    /**
+     * Stops watching the focus.
+     */
+    public void uninstall() {
+        if (this.isInstalled) {
+            KeyboardFocusManager.getCurrentKeyboardFocusManager()
+                    .removePropertyChangeListener(Constants.ACTIVE_WINDOW_PROPERTY, this);
+            this.isInstalled = false;
+        }
+    }
+
+    /**
+     * Records a change of the active window. Called by AWT.
+     * @param event the change of the active window
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        this.isFocused = event.getNewValue() != null;
+        if (this.isFocused) {
+            this.wasFocused = true;
+            this.focusGainedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Updates the state of the game from the input and focus seen so far.
+     * Should be called once per frame, after the input of the frame was applied.
+     * @param nowNanos the System.nanoTime() of the current frame
+     * @param lastInputNanos the System.nanoTime() of the latest input event, or 0 if there was none
+     * @return the state of the game
+     */
+    public State update(long nowNanos, long lastInputNanos) {
+        this.lastActivityNanos = Math.max(this.lastActivityNanos,
+                Math.max(lastInputNanos, this.focusGainedNanos));
+        if (this.wasFocused && !this.isFocused) {
+            this.state = State.UNFOCUSED;
+        } else if (nowNanos - this.lastActivityNanos > this.idleTimeoutNanos) {
+            this.state = State.IDLE;
+        } else {
+            this.state = State.ACTIVE;
+        }
+        return this.state;
+    }
+
+    /**
+     * Marks the game as played now, as when a dialog the player answered closes.
+     * @param nowNanos the System.nanoTime() of the activity
+     */
+    public void markActivity(long nowNanos) {
+        this.lastActivityNanos = Math.max(this.lastActivityNanos, nowNanos);
+    }
+
+    /**
+     * Returns the state found by the last update.
+     * @return the state of the game
+     */
+    public State state() {
+        return this.state;
+    }
+}
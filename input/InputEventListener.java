@@ -0,0 +1,15 @@
+package bricker.input;
+
+/**
+ * Represents a receiver of timestamped key events.
+ */
+@FunctionalInterface
+public interface InputEventListener {
+    /**
+     * Called for every key event, in the order the events were queued.
+     * @param timestampNanos the System.nanoTime() the event happened at
+     * @param keyCode the KeyEvent code of the key
+     * @param isPressed true if the key was pressed, false if it was released
+     */
+    void onInputEvent(long timestampNanos, int keyCode, boolean isPressed);
+}
@@ -0,0 +1,98 @@
+package bricker.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a lock-free, fixed-capacity queue of timestamped key events.
+ * Any number of producers (the AWT event thread, scripted bots) may offer events, and a single
+ * consumer (the game thread) drains them.
+ * Producers claim a slot by advancing the tail, write the event fields and then publish the slot
+ * through its sequence number, so the consumer only reads slots that were fully written.
+ * Event fields are kept in parallel arrays indexed by slot, so queuing an event never allocates.
+ * A producer never waits: when the queue is full the event is dropped and counted as an overflow.
+ */
+public class InputEventQueue {
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] keyCodes;
+    private final boolean[] isPressed;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private final AtomicLong overflows;
+    private long head;
+
+    /**
+     * Constructor.
+     * @param capacityLog2 the log2 of the number of events the queue holds
+     */
+    public InputEventQueue(int capacityLog2) {
+        this.capacity = 1 << capacityLog2;
+        this.mask = this.capacity - 1;
+        this.timestamps = new long[this.capacity];
+        this.keyCodes = new int[this.capacity];
+        this.isPressed = new boolean[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.overflows = new AtomicLong();
+    }
+
+    /**
+     * Queues a key event, or counts an overflow if the queue is full. Safe to call from any thread.
+     * @param timestampNanos the System.nanoTime() the event happened at
+     * @param keyCode the KeyEvent code of the key
+     * @param isPressed true if the key was pressed, false if it was released
+     * @return true if the event was queued, false if it was dropped
+     */
+    public boolean offer(long timestampNanos, int keyCode, boolean isPressed) {
+        while (true) {
+            long sequence = this.tail.get();
+            int slot = (int) (sequence & this.mask);
+            long slotSequence = this.sequences.get(slot);
+            if (slotSequence < sequence) {
+                // The slot still holds an event from the previous lap that was not drained
+                this.overflows.incrementAndGet();
+                return false;
+            }
+            if (slotSequence == sequence && this.tail.compareAndSet(sequence, sequence + 1)) {
+                this.timestamps[slot] = timestampNanos;
+                this.keyCodes[slot] = keyCode;
+                this.isPressed[slot] = isPressed;
+                this.sequences.lazySet(slot, sequence + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands every published event to the listener, oldest first, and frees their slots.
+     * Only called by the consumer.
+     * @param listener the receiver of the events
+     * @return the number of drained events
+     */
+    public int drain(InputEventListener listener) {
+        int numOfEvents = 0;
+        while (true) {
+            int slot = (int) (this.head & this.mask);
+            if (this.sequences.get(slot) != this.head + 1) {
+                return numOfEvents;
+            }
+            listener.onInputEvent(this.timestamps[slot], this.keyCodes[slot], this.isPressed[slot]);
+            this.sequences.lazySet(slot, this.head + this.capacity);
+            this.head++;
+            numOfEvents++;
+        }
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full.
+     * @return the number of overflows
+     */
+    public long overflows() {
+        return this.overflows.get();
+    }
+}
@@ -0,0 +1,75 @@
+package bricker.input;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Represents a recorder of the key events drained by the input timeline.
+ * Every event is written as a line holding its time since the recording started, its key code and
+ * 1 for a press or 0 for a release, which is the script format ScriptedInput plays back.
+ */
+public class InputRecorder implements InputEventListener {
+    private final BufferedWriter writer;
+    private final long startNanos;
+    private IOException writeError;
+
+    /**
+     * Constructor.
+     * @param path the path of the recording file
+     * @param startNanos the System.nanoTime() the recording starts at
+     * @throws IOException if the file cannot be created
+     */
+    public InputRecorder(Path path, long startNanos) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(path);
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Writes a key event to the recording.
+     * @param timestampNanos the System.nanoTime() the event happened at
+     * @param keyCode the KeyEvent code of the key
+     * @param isPressed true if the key was pressed, false if it was released
+     */
+    @Override
+    public void onInputEvent(long timestampNanos, int keyCode, boolean isPressed) {
+        if (this.writeError != null) {
+            return;
+        }
+        try {
+            this.writer.write(Long.toString(timestampNanos - this.startNanos));
+            this.writer.write(' ');
+            this.writer.write(Integer.toString(keyCode));
+            this.writer.write(isPressed ? " 1" : " 0");
+            this.writer.newLine();
+        } catch (IOException e) {
+            this.writeError = e;
+        }
+    }
+
+    /**
+     * Returns the error that stopped the recording, if any.
+     * @return the write error, or null
+     */
+    public IOException writeError() {
+        return this.writeError;
+    }
+
+    /**
+     * Flushes and closes the recording.
+     */
+    public void close() {
+        try {
+            this.writer.close();
+        } catch (IOException e) {
+            if (this.writeError == null) {
+                this.writeError = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package bricker.input;
+
+import bricker.main.Constants;
+
+/**
+ * Represents the key state of the game over the time span of every frame.
+ * Once per frame, the queued key events are applied in the order they happened, and for every key
+ * the time it was held during the frame is measured. An object moving by a key over the frame
+ * then moves for exactly the part of the frame the key was held, as if every event was applied at
+ * the simulation step it happened in, instead of being applied up to a whole frame late.
+ * A key pressed and released between two frames still counts as held for that short time.
+ * Keys with a code of MAX_KEY_CODE or more are ignored.
+ */
+public class InputTimeline implements InputEventListener {
+    private final InputEventQueue inputQueue;
+    private final boolean[] isDown;
+    private final boolean[] wasDownThisFrame;
+    private final boolean[] wasPressedThisFrame;
+    private final long[] downSinceNanos;
+    private final long[] heldNanos;
+    private final int[] activeKeys;
+    private final boolean[] isActive;
+    private int numOfActiveKeys;
+    private long frameStartNanos;
+    private long frameEndNanos;
+    private InputEventListener recorder;
+    private long lastLatencyNanos;
+    private long totalLatencyNanos;
+    private long numOfMeasuredPresses;
+    private long lastInputNanos;
+
+    /**
+     * Constructor.
+     * @param inputQueue the queue the key events are drained from
+     * @param startNanos the System.nanoTime() the first frame starts at
+     */
+    public InputTimeline(InputEventQueue inputQueue, long startNanos) {
+        this.inputQueue = inputQueue;
+        this.isDown = new boolean[Constants.MAX_KEY_CODE];
+        this.wasDownThisFrame = new boolean[Constants.MAX_KEY_CODE];
+        this.wasPressedThisFrame = new boolean[Constants.MAX_KEY_CODE];
+        this.downSinceNanos = new long[Constants.MAX_KEY_CODE];
+        this.heldNanos = new long[Constants.MAX_KEY_CODE];
+        this.activeKeys = new int[Constants.MAX_KEY_CODE];
+        this.isActive = new boolean[Constants.MAX_KEY_CODE];
+        this.frameStartNanos = startNanos;
+        this.frameEndNanos = startNanos;
+    }
+
+    /**
+     * Moves the timeline to the frame ending now, and applies the events queued since the last frame.
+     * Should be called once per frame, before the objects are updated.
+     * @param nowNanos the System.nanoTime() of the current frame
+     */
+    public void advance(long nowNanos) {
+        this.frameStartNanos = this.frameEndNanos;
+        this.frameEndNanos = Math.max(nowNanos, this.frameStartNanos);
+        // Keys that were released stop being tracked, and held keys start the frame held
+        int numOfStillActiveKeys = 0;
+        for (int i = 0; i < this.numOfActiveKeys; i++) {
+            int keyCode = this.activeKeys[i];
+            this.heldNanos[keyCode] = 0;
+            this.wasDownThisFrame[keyCode] = this.isDown[keyCode];
+            this.wasPressedThisFrame[keyCode] = false;
+            if (this.isDown[keyCode]) {
+                this.downSinceNanos[keyCode] = this.frameStartNanos;
+                this.activeKeys[numOfStillActiveKeys++] = keyCode;
+            } else {
+                this.isActive[keyCode] = false;
+            }
+        }
+        this.numOfActiveKeys = numOfStillActiveKeys;
+        this.inputQueue.drain(this);
+    }
+
+    /**
+     * Applies a single key event to the current frame. Called while the queue is drained.
+     * @param timestampNanos the System.nanoTime() the event happened at
+     * @param keyCode the KeyEvent code of the key
+     * @param isPressed true if the key was pressed, false if it was released
+     */
+    @Override
+    public void onInputEvent(long timestampNanos, int keyCode, boolean isPressed) {
+        if (this.recorder != null) {
+            this.recorder.onInputEvent(timestampNanos, keyCode, isPressed);
+        }
+        this.lastInputNanos = Math.max(this.lastInputNanos, timestampNanos);
+        if (keyCode < 0 || keyCode >= Constants.MAX_KEY_CODE || this.isDown[keyCode] == isPressed) {
+            return;
+        }
+        long eventNanos = Math.min(Math.max(timestampNanos, this.frameStartNanos), this.frameEndNanos);
+        if (!this.isActive[keyCode]) {
+            this.isActive[keyCode] = true;
+            this.activeKeys[this.numOfActiveKeys++] = keyCode;
+        }
+        this.isDown[keyCode] = isPressed;
+        if (isPressed) {
+            this.downSinceNanos[keyCode] = eventNanos;
+            this.wasDownThisFrame[keyCode] = true;
+            this.wasPressedThisFrame[keyCode] = true;
+            this.lastLatencyNanos = this.frameEndNanos - eventNanos;
+            this.totalLatencyNanos += this.lastLatencyNanos;
+            this.numOfMeasuredPresses++;
+        } else {
+            this.heldNanos[keyCode] += eventNanos - this.downSinceNanos[keyCode];
+        }
+    }
+
+    /**
+     * Returns the time of the latest key event, including repeats and keys the game does not use.
+     * @return the System.nanoTime() of the latest event, or 0 if there was none
+     */
+    public long lastInputNanos() {
+        return this.lastInputNanos;
+    }
+
+    /**
+     * Returns the part of the current frame the key was held for.
+     * @param keyCode the KeyEvent code of the key
+     * @return the held fraction, from 0 (not held) to 1 (held for the whole frame)
+     */
+    public float heldFraction(int keyCode) {
+        if (keyCode < 0 || keyCode >= Constants.MAX_KEY_CODE) {
+            return 0;
+        }
+        long frameNanos = this.frameEndNanos - this.frameStartNanos;
+        long heldNanos = this.heldNanos[keyCode];
+        if (this.isDown[keyCode]) {
+            heldNanos += this.frameEndNanos - this.downSinceNanos[keyCode];
+        }
+        if (frameNanos <= 0) {
+            return this.isDown[keyCode] ? 1 : 0;
+        }
+        return Math.min(1, (float) heldNanos / frameNanos);
+    }
+
+    /**
+     * Returns whether the key was held at any time during the current frame.
+     * @param keyCode the KeyEvent code of the key
+     * @return true if the key was held, even for a short tap
+     */
+    public boolean wasHeld(int keyCode) {
+        return keyCode >= 0 && keyCode < Constants.MAX_KEY_CODE && this.wasDownThisFrame[keyCode];
+    }
+
+    /**
+     * Returns whether the key went down during the current frame, so an action bound to it runs
+     * once per press rather than on every frame it is held.
+     * @param keyCode the KeyEvent code of the key
+     * @return true if the key was pressed during the frame
+     */
+    public boolean wasPressed(int keyCode) {
+        return keyCode >= 0 && keyCode < Constants.MAX_KEY_CODE && this.wasPressedThisFrame[keyCode];
+    }
+
+    /**
+     * Sets a listener receiving every drained key event, such as an input recorder.
+     * @param recorder the listener, or null to stop recording
+     */
+    public void setRecorder(InputEventListener recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Returns the time between the last key press and the end of the frame it moved objects in.
+     * @return the last input-to-motion latency in nanoseconds
+     */
+    public long lastLatencyNanos() {
+        return this.lastLatencyNanos;
+    }
+
+    /**
+     * Returns the average time between a key press and the end of the frame it moved objects in.
+     * @return the average input-to-motion latency in nanoseconds, or 0 if no key was pressed
+     */
+    public long averageLatencyNanos() {
+        return this.numOfMeasuredPresses == 0 ? 0 : this.totalLatencyNanos / this.numOfMeasuredPresses;
+    }
+}
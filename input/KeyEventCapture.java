@@ -0,0 +1,67 @@
+package bricker.input;
+
+import java.awt.KeyEventDispatcher;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.KeyEvent;
+
+/**
+ * Represents the capture of the AWT key events of the game window into an input event queue.
+ * The events are timestamped when AWT dispatches them, between frames, instead of being sampled
+ * once per frame, so short taps are not lost. The events are passed on to the window unchanged.
+ */
+public class KeyEventCapture implements KeyEventDispatcher {
+    private final InputEventQueue inputQueue;
+    private boolean isInstalled;
+
+    /**
+     * Constructor.
+     * @param inputQueue the queue the key events are captured into
+     */
+    public KeyEventCapture(InputEventQueue inputQueue) {
+        this.inputQueue = inputQueue;
+    }
+
+    /**
+     * Starts capturing the key events of the application.
+     */
+    public void install() {
+        if (!this.isInstalled) {
+            KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
+            this.isInstalled = true;
+        }
+    }
+
+    /**
+     * Stops capturing key events.
+     */
+    public void uninstall() {
+        if (this.isInstalled) {
+            KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(this);
+            this.isInstalled = false;
+        }
+    }
+
+    /**
+     * Returns whether key events are being captured.
+     * @return true if the capture is installed
+     */
+    public boolean isInstalled() {
+        return this.isInstalled;
+    }
+
+    /**
+     * Queues presses and releases with the time they were dispatched at. Called by AWT.
+     * Key repeats of a held key are queued as well, and ignored by the timeline.
+     * @param event the dispatched key event
+     * @return false, so the event still reaches the window
+     */
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        if (event.getID() == KeyEvent.KEY_PRESSED) {
+            this.inputQueue.offer(System.nanoTime(), event.getKeyCode(), true);
+        } else if (event.getID() == KeyEvent.KEY_RELEASED) {
+            this.inputQueue.offer(System.nanoTime(), event.getKeyCode(), false);
+        }
+        return false;
+    }
+}
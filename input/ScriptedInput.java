@@ -0,0 +1,91 @@
+package bricker.input;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Represents a scripted player, such as a bot or the playback of a recording.
+ * The script is a list of key events with their time since the script started. The events are
+ * queued into the same input queue the keyboard feeds, with the time they were scripted at, so the
+ * game handles them exactly like real key events.
+ */
+public class ScriptedInput {
+    private final long[] offsetsNanos;
+    private final int[] keyCodes;
+    private final boolean[] isPressed;
+    private long startNanos;
+    private int nextEvent;
+
+    /**
+     * Constructor.
+     * @param offsetsNanos the time of every event since the script started, in ascending order
+     * @param keyCodes the KeyEvent code of the key of every event
+     * @param isPressed true for the events that press their key, false for those that release it
+     */
+    public ScriptedInput(long[] offsetsNanos, int[] keyCodes, boolean[] isPressed) {
+        if (offsetsNanos.length != keyCodes.length || keyCodes.length != isPressed.length) {
+            throw new IllegalArgumentException("Script event arrays differ in length");
+        }
+        this.offsetsNanos = offsetsNanos;
+        this.keyCodes = keyCodes;
+        this.isPressed = isPressed;
+    }
+
+    /**
+     * Loads a script recorded by InputRecorder.
+     * @param path the path of the recording
+     * @return the script of the recording
+     * @throws IOException if the recording cannot be read or a line is malformed
+     */
+    public static ScriptedInput load(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        long[] offsetsNanos = new long[lines.size()];
+        int[] keyCodes = new int[lines.size()];
+        boolean[] isPressed = new boolean[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            String[] fields = lines.get(i).trim().split(" ");
+            try {
+                offsetsNanos[i] = Long.parseLong(fields[0]);
+                keyCodes[i] = Integer.parseInt(fields[1]);
+                isPressed[i] = Integer.parseInt(fields[2]) != 0;
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Malformed input script line " + (i + 1) + ": " + lines.get(i), e);
+            }
+        }
+        return new ScriptedInput(offsetsNanos, keyCodes, isPressed);
+    }
+
+    /**
+     * Starts playing the script from its beginning.
+     * @param nowNanos the System.nanoTime() the script starts at
+     */
+    public void start(long nowNanos) {
+        this.startNanos = nowNanos;
+        this.nextEvent = 0;
+    }
+
+    /**
+     * Queues the events whose time has come. Should be called once per frame, before the input
+     * timeline advances.
+     * @param inputQueue the queue to feed
+     * @param nowNanos the System.nanoTime() of the current frame
+     */
+    public void pump(InputEventQueue inputQueue, long nowNanos) {
+        while (this.nextEvent < this.offsetsNanos.length &&
+                this.startNanos + this.offsetsNanos[this.nextEvent] <= nowNanos) {
+            inputQueue.offer(this.startNanos + this.offsetsNanos[this.nextEvent],
+                    this.keyCodes[this.nextEvent], this.isPressed[this.nextEvent]);
+            this.nextEvent++;
+        }
+    }
+
+    /**
+     * Returns whether every event of the script was queued.
+     * @return true if the script is finished
+     */
+    public boolean isFinished() {
+        return this.nextEvent == this.offsetsNanos.length;
+    }
+}
@@ -0,0 +1,134 @@
+package bricker.levels;
+
+import bricker.brick_strategies.ExplosiveCollisionStrategy;
+import bricker.gameobjects.Brick;
+import danogl.GameObject;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Represents the bricks of a board on their grid, indexed in row-major order.
+ * The index of a brick is found in constant time, and the neighbors of a brick are found by their
+ * row and column rather than searched for by position, so a chain reaction of explosive bricks is
+ * walked in time proportional to the bricks it reaches, however big the board is.
+ */
+public class BrickLattice {
+    private final Brick[] bricks;
+    private final int brickRows;
+    private final int brickCols;
+    private final Map<GameObject, Integer> indices;
+    private int[] visitMarks;
+    private int[] cascade;
+    private int visitMark;
+
+    /**
+     * Constructor.
+     * @param bricks the bricks of the board, in row-major order
+     * @param brickCols the number of columns of the board
+     */
+    public BrickLattice(Brick[] bricks, int brickCols) {
+        this.bricks = bricks;
+        this.brickCols = Math.max(1, brickCols);
+        this.brickRows = (bricks.length + this.brickCols - 1) / this.brickCols;
+        this.indices = new IdentityHashMap<>(bricks.length * 2);
+        for (int i = 0; i < bricks.length; i++) {
+            this.indices.put(bricks[i], i);
+        }
+    }
+
+    /**
+     * Returns the row-major index of a brick of the board.
+     * @param brick the brick
+     * @return the index of the brick, or -1 if it is not a brick of the board
+     */
+    public int indexOf(GameObject brick) {
+        Integer index = this.indices.get(brick);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns a brick of the board.
+     * @param index the row-major index of the brick
+     * @return the brick
+     */
+    public Brick brick(int index) {
+        return this.bricks[index];
+    }
+
+    /**
+     * Returns the number of bricks of the board.
+     * @return the number of bricks, destroyed or not
+     */
+    public int numOfBricks() {
+        return this.bricks.length;
+    }
+
+    /**
+     * Returns the number of columns of the board.
+     * @return the number of columns
+     */
+    public int brickCols() {
+        return this.brickCols;
+    }
+
+    /**
+     * Walks the chain reaction set off by a brick, breadth first: every live brick within the radius of
+     * an exploding brick is reached, and the explosive bricks among them explode in turn. The origin
+     * explodes whatever its strategy, and is part of the reaction even if it is no longer alive.
+     * The reached bricks are read with cascadeBrick, in the order they were reached.
+     * @param origin the row-major index of the brick that exploded first
+     * @param radius the number of rows and columns an explosion reaches around its brick
+     * @param isAlive tells whether the brick of an index is still on the board
+     * @return the number of bricks in the reaction, including the origin
+     */
+    public int chainReaction(int origin, int radius, IntPredicate isAlive) {
+        if (this.visitMarks == null) {
+            this.visitMarks = new int[this.bricks.length];
+            this.cascade = new int[this.bricks.length];
+        }
+        this.visitMark++;
+        int mark = this.visitMark;
+        this.visitMarks[origin] = mark;
+        this.cascade[0] = origin;
+        int size = 1;
+        for (int head = 0; head < size; head++) {
+            int index = this.cascade[head];
+            if (head > 0 && !isExplosive(index)) {
+                continue;
+            }
+            int row = index / this.brickCols;
+            int col = index % this.brickCols;
+            int lastRow = Math.min(this.brickRows - 1, row + radius);
+            int lastCol = Math.min(this.brickCols - 1, col + radius);
+            for (int i = Math.max(0, row - radius); i <= lastRow; i++) {
+                for (int j = Math.max(0, col - radius); j <= lastCol; j++) {
+                    int neighbor = i * this.brickCols + j;
+                    if (neighbor < this.bricks.length && this.visitMarks[neighbor] != mark &&
+                            isAlive.test(neighbor)) {
+                        this.visitMarks[neighbor] = mark;
+                        this.cascade[size++] = neighbor;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a brick reached by the last chain reaction.
+     * @param i the position of the brick in the reaction, the origin being 0
+     * @return the row-major index of the brick
+     */
+    public int cascadeBrick(int i) {
+        return this.cascade[i];
+    }
+
+    /*
+     * Returns whether the brick of an index explodes when it is reached by another explosion.
+     */
+    private boolean isExplosive(int index) {
+        return this.bricks[index].getCollisionStrategy() instanceof ExplosiveCollisionStrategy;
+    }
+}
@@ -0,0 +1,46 @@
+package bricker.levels;
+
+import bricker.brick_strategies.ExplosiveCollisionStrategy;
+import bricker.gameobjects.Brick;
+import bricker.main.Constants;
+import danogl.util.Vector2;
+
+/**
+ * Reports the time it takes to walk a chain reaction through boards of 10^4 to 10^6 explosive
+ * bricks, from the center brick until every brick of the board is reached.
+ * Runs without a window: the explosive strategy is created without a game manager, which is enough
+ * since walking a reaction only reads the strategies and never triggers them.
+ */
+public class ChainReactionBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private ChainReactionBenchmark() {}
+
+    /**
+     * Walks the reaction of each board size a few times and prints the best time.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        ExplosiveCollisionStrategy explosive = new ExplosiveCollisionStrategy(null);
+        for (int brickRows : Constants.BENCHMARK_BOARD_ROWS) {
+            Brick[] bricks = new Brick[brickRows * Constants.BENCHMARK_BOARD_COLS];
+            for (int i = 0; i < bricks.length; i++) {
+                bricks[i] = new Brick(Vector2.ZERO, Vector2.ONES, null, explosive);
+            }
+            BrickLattice brickLattice = new BrickLattice(bricks, Constants.BENCHMARK_BOARD_COLS);
+            int origin = bricks.length / 2;
+            int size = 0;
+            long bestNanos = Long.MAX_VALUE;
+            for (int i = 0; i < Constants.BENCHMARK_REPETITIONS; i++) {
+                long startNanos = System.nanoTime();
+                size = brickLattice.chainReaction(origin, Constants.EXPLOSION_RADIUS, index -> true);
+                bestNanos = Math.min(bestNanos, System.nanoTime() - startNanos);
+            }
+            System.out.printf("%,d bricks: %,d reached in %.2f ms, %.1f ns/brick%n", bricks.length, size,
+                    bestNanos / (double) Constants.NANOS_IN_MILLISECOND, bestNanos / (double) size);
+        }
+    }
+}
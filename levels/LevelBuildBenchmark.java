@@ -0,0 +1,43 @@
+package bricker.levels;
+
+import bricker.brick_strategies.StrategyMaker;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.main.Constants;
+import danogl.util.Vector2;
+
+import java.util.Random;
+
+/**
+ * Reports the time it takes to build boards of 10^4 to 10^6 bricks.
+ * Runs without a window: the strategy maker is created without game services, which is enough
+ * since building a board only assigns strategies and never triggers them.
+ */
+public class LevelBuildBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private LevelBuildBenchmark() {}
+
+    /**
+     * Builds each board size a few times and prints the best build time.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Vector2 windowDimension = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        StrategyMaker strategyMaker = new StrategyMaker(null, null, null, null, windowDimension,
+                null, null, new Random(0));
+        LevelBuilder levelBuilder = new LevelBuilder(strategyMaker, windowDimension, null);
+        for (int brickRows : Constants.BENCHMARK_BOARD_ROWS) {
+            LevelSpec levelSpec = new LevelSpec(0, brickRows, Constants.BENCHMARK_BOARD_COLS,
+                    Constants.BRICK_IMAGE_PATH, brickRows, StrategyWeights.defaults());
+            long bestNanos = Long.MAX_VALUE;
+            for (int i = 0; i < Constants.BENCHMARK_REPETITIONS; i++) {
+                bestNanos = Math.min(bestNanos, levelBuilder.build(levelSpec, null).buildNanos());
+            }
+            System.out.printf("%,d bricks: %.2f ms%n", brickRows * Constants.BENCHMARK_BOARD_COLS,
+                    bestNanos / (double) Constants.NANOS_IN_MILLISECOND);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package bricker.levels;
+
+import bricker.brick_strategies.StrategyDistribution;
+import bricker.brick_strategies.StrategyMaker;
+import bricker.gameobjects.Brick;
+import bricker.main.Constants;
+import bricker.sprites.AssetBundle;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a builder of level brick grids.
+ * The builder lays the bricks out across the window width and assigns each of them a collision
+ * strategy, splitting big grids across cores. It does not touch the game object collection,
+ * so it can run on a background thread while the current level is played.
+ */
+public class LevelBuilder {
+    private final StrategyMaker strategyMaker;
+    private final Vector2 windowDimension;
+    private final AssetBundle assetBundle;
+
+    /**
+     * Constructor.
+     * @param strategyMaker the strategy maker choosing the collision strategy of every brick
+     * @param windowDimension the dimensions of the game window
+     * @param assetBundle the asset bundle brick images are taken from, or null to decode them
+     */
+    public LevelBuilder(StrategyMaker strategyMaker, Vector2 windowDimension, AssetBundle assetBundle) {
+        this.strategyMaker = strategyMaker;
+        this.windowDimension = windowDimension;
+        this.assetBundle = assetBundle;
+    }
+
+    /**
+     * Builds the bricks of a level with the given brick image.
+     * The dimensions of the bricks are calculated based on the available width of the game window
+     * and the number of columns.
+     * The grid is split into chunks of whole rows that are built in parallel. Every chunk draws its
+     * strategies from its own random stream, split from the level's seed in chunk order, so the
+     * result only depends on the seed and not on the number of cores or the thread schedule.
+     * The strategies are drawn with the weights of the level from alias tables, in constant time per brick.
+     * @param levelSpec the description of the level
+     * @param brickImage the renderable of the bricks
+     * @return the prepared level
+     */
+    public PreparedLevel build(LevelSpec levelSpec, Renderable brickImage) {
+        long startTime = System.nanoTime();
+        int brickRows = levelSpec.brickRows();
+        int brickCols = levelSpec.brickCols();
+        Brick[] bricks = new Brick[brickRows * brickCols];
+        // Compute the brick place
+        float availableWidth =
+                this.windowDimension.x() - (Constants.STATIC_OBJECT_SPACE + Constants.STATIC_OBJECT_SPACE);
+        float brickWidth = (availableWidth - Constants.STATIC_OBJECT_SPACE * (brickCols - 1)) / (brickCols);
+        Vector2 brickDimensions = new Vector2(brickWidth, Constants.BRICK_HEIGHT);
+        int rowsPerChunk = Math.max(1, Constants.BRICKS_PER_BUILD_CHUNK / Math.max(1, brickCols));
+        int numOfChunks = (brickRows + rowsPerChunk - 1) / rowsPerChunk;
+        StrategyDistribution distribution = this.strategyMaker.distribution(levelSpec.strategyWeights());
+        SplittableRandom[] chunkRandoms = new SplittableRandom[numOfChunks];
+        SplittableRandom levelRandom = new SplittableRandom(levelSpec.seed());
+        for (int chunk = 0; chunk < numOfChunks; chunk++) {
+            chunkRandoms[chunk] = levelRandom.split();
+        }
+        IntStream chunks = IntStream.range(0, numOfChunks);
+        if (numOfChunks > 1) {
+            chunks = chunks.parallel();
+        }
+        chunks.forEach(chunk -> {
+            int firstRow = chunk * rowsPerChunk;
+            int lastRow = Math.min(brickRows, firstRow + rowsPerChunk);
+            buildRows(bricks, firstRow, lastRow, brickCols, brickWidth, brickDimensions, brickImage,
+                    distribution, chunkRandoms[chunk]);
+        });
+        return new PreparedLevel(levelSpec, bricks, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Loads the brick image of the level and builds its bricks.
+     * Meant to run on a background thread: the image is taken from the asset bundle, or decoded
+     * directly, without the game's ImageReader, which is used by the game thread at the same time.
+     * @param levelSpec the description of the level
+     * @return the prepared level
+     */
+    public PreparedLevel buildWithAssets(LevelSpec levelSpec) {
+        long startTime = System.nanoTime();
+        Renderable brickImage = this.assetBundle == null ? null :
+                this.assetBundle.image(levelSpec.brickImagePath(), false);
+        if (brickImage == null) {
+            brickImage = new ImageRenderable(decodeImage(levelSpec.brickImagePath()));
+        }
+        PreparedLevel preparedLevel = build(levelSpec, brickImage);
+        return new PreparedLevel(levelSpec, preparedLevel.bricks(), System.nanoTime() - startTime);
+    }
+
+    /*
+     * Builds the bricks of the rows in [firstRow, lastRow) into their row-major slots.
+     */
+    private void buildRows(Brick[] bricks, int firstRow, int lastRow, int brickCols, float brickWidth,
+                           Vector2 brickDimensions, Renderable brickImage, StrategyDistribution distribution,
+                           SplittableRandom random) {
+        for (int i = firstRow; i < lastRow; i++) {
+            float y = Constants.STATIC_OBJECT_SPACE +
+                    i * (Constants.BRICK_HEIGHT + Constants.STATIC_OBJECT_SPACE);
+            float x = Constants.STATIC_OBJECT_SPACE;
+            for (int j = 0; j < brickCols; j++) {
+                bricks[i * brickCols + j] = new Brick(new Vector2(x, y), brickDimensions,
+                        brickImage, distribution.chooseStrategy(random));
+                x += (brickWidth + Constants.STATIC_OBJECT_SPACE);
+            }
+        }
+    }
+
+    /*
+     * Decodes an image file.
+     */
+    private static BufferedImage decodeImage(String imagePath) {
+        try {
+            BufferedImage image = ImageIO.read(new File(imagePath));
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + imagePath);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
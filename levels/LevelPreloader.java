@@ -0,0 +1,109 @@
+package bricker.levels;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Represents a background preloader of the next level of the campaign.
+ * The next level is built on a dedicated daemon thread while the current one is played, so moving
+ * to it only requires adding the already built bricks to the game.
+ * Without a background thread, such as when many games run at once, the level is built when it is
+ * taken instead.
+ */
+public class LevelPreloader {
+    private final LevelBuilder levelBuilder;
+    private final ExecutorService executor;
+    private FutureTask<PreparedLevel> pendingLevel;
+    private long lastPreloadNanos;
+
+    /**
+     * Constructor.
+     * @param levelBuilder the builder used to build the levels
+     * @param isBackground true to build the levels on a background thread, false to build each one
+     *                     when it is taken
+     */
+    public LevelPreloader(LevelBuilder levelBuilder, boolean isBackground) {
+        this.levelBuilder = levelBuilder;
+        this.executor = isBackground ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-preloader");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Starts building a level in the background, dropping any level preloaded before.
+     * @param levelSpec the description of the level to build
+     */
+    public void preload(LevelSpec levelSpec) {
+        cancel();
+        this.pendingLevel = new FutureTask<>(() -> this.levelBuilder.buildWithAssets(levelSpec));
+        if (this.executor != null) {
+            this.executor.execute(this.pendingLevel);
+        }
+    }
+
+    /**
+     * Returns whether the preloaded level is ready to be taken without waiting.
+     * @return true if a level was preloaded and finished building
+     */
+    public boolean isReady() {
+        return this.pendingLevel != null && this.pendingLevel.isDone();
+    }
+
+    /**
+     * Returns the preloaded level, waiting for it if it is still being built, or building it now
+     * if there is no background thread.
+     * @return the preloaded level, or null if no level was preloaded
+     */
+    public PreparedLevel take() {
+        if (this.pendingLevel == null) {
+            return null;
+        }
+        if (this.executor == null) {
+            this.pendingLevel.run();
+        }
+        try {
+            PreparedLevel preparedLevel = this.pendingLevel.get();
+            this.lastPreloadNanos = preparedLevel.buildNanos();
+            return preparedLevel;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to preload level", e.getCause());
+        } finally {
+            this.pendingLevel = null;
+        }
+    }
+
+    /**
+     * Drops the level being preloaded, if any.
+     */
+    public void cancel() {
+        if (this.pendingLevel != null) {
+            this.pendingLevel.cancel(true);
+            this.pendingLevel = null;
+        }
+    }
+
+    /**
+     * Drops the level being preloaded and stops the background thread.
+     */
+    public void shutdown() {
+        cancel();
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the background build time of the last level taken.
+     * @return the preload time in nanoseconds
+     */
+    public long lastPreloadNanos() {
+        return this.lastPreloadNanos;
+    }
+}
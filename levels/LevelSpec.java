@@ -0,0 +1,85 @@
+package bricker.levels;
+
+import bricker.brick_strategies.StrategyWeights;
+
+/**
+ * Represents the description of a single level of the campaign.
+ * A level is defined by the size of its brick grid, the image its bricks are drawn with, and the
+ * weights their strategies are drawn with.
+ */
+public class LevelSpec {
+    private final int levelIndex;
+    private final int brickRows;
+    private final int brickCols;
+    private final String brickImagePath;
+    private final long seed;
+    private final StrategyWeights strategyWeights;
+
+    /**
+     * Constructor.
+     * @param levelIndex the index of the level in the campaign, starting from 0
+     * @param brickRows the number of rows of bricks in the level
+     * @param brickCols the number of columns of bricks in the level
+     * @param brickImagePath the file path of the brick image of the level
+     * @param seed the seed the strategies of the level's bricks are drawn from
+     * @param strategyWeights the weights the strategies of the level's bricks are drawn with
+     */
+    public LevelSpec(int levelIndex, int brickRows, int brickCols, String brickImagePath, long seed,
+                     StrategyWeights strategyWeights) {
+        this.levelIndex = levelIndex;
+        this.brickRows = brickRows;
+        this.brickCols = brickCols;
+        this.brickImagePath = brickImagePath;
+        this.seed = seed;
+        this.strategyWeights = strategyWeights;
+    }
+
+    /**
+     * Returns the index of the level in the campaign.
+     * @return the level index
+     */
+    public int levelIndex() {
+        return this.levelIndex;
+    }
+
+    /**
+     * Returns the number of rows of bricks in the level.
+     * @return the number of rows
+     */
+    public int brickRows() {
+        return this.brickRows;
+    }
+
+    /**
+     * Returns the number of columns of bricks in the level.
+     * @return the number of columns
+     */
+    public int brickCols() {
+        return this.brickCols;
+    }
+
+    /**
+     * Returns the file path of the brick image of the level.
+     * @return the brick image path
+     */
+    public String brickImagePath() {
+        return this.brickImagePath;
+    }
+
+    /**
+     * Returns the seed the strategies of the level's bricks are drawn from.
+     * Building a level twice from the same spec assigns every brick the same strategy.
+     * @return the seed
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the weights the strategies of the level's bricks are drawn with.
+     * @return the strategy weights
+     */
+    public StrategyWeights strategyWeights() {
+        return this.strategyWeights;
+    }
+}
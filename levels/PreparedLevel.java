@@ -0,0 +1,50 @@
+package bricker.levels;
+
+import bricker.gameobjects.Brick;
+
+/**
+ * Represents a level whose bricks were fully built and are ready to be added to the game.
+ * The bricks are kept in row-major order, so the brick of row i and column j is at index
+ * i * brickCols + j.
+ */
+public class PreparedLevel {
+    private final LevelSpec levelSpec;
+    private final Brick[] bricks;
+    private final long buildNanos;
+
+    /**
+     * Constructor.
+     * @param levelSpec the description of the level
+     * @param bricks the bricks of the level, in row-major order
+     * @param buildNanos the time it took to build the level, in nanoseconds
+     */
+    public PreparedLevel(LevelSpec levelSpec, Brick[] bricks, long buildNanos) {
+        this.levelSpec = levelSpec;
+        this.bricks = bricks;
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Returns the description of the level.
+     * @return the level spec
+     */
+    public LevelSpec levelSpec() {
+        return this.levelSpec;
+    }
+
+    /**
+     * Returns the bricks of the level, in row-major order.
+     * @return the bricks
+     */
+    public Brick[] bricks() {
+        return this.bricks;
+    }
+
+    /**
+     * Returns the time it took to build the level.
+     * @return the build time in nanoseconds
+     */
+    public long buildNanos() {
+        return this.buildNanos;
+    }
+}
@@ -1,9 +1,39 @@
 package bricker.main;
 
 import bricker.brick_strategies.*;
+import bricker.budget.EntityGovernor;
+import bricker.budget.FrameBudgetScheduler;
+import bricker.budget.EntityRegistry;
+import bricker.budget.EntityType;
+import bricker.effects.ParticleSystem;
 import bricker.gameobjects.*;
+import bricker.input.IdleMonitor;
+import bricker.input.InputEventQueue;
+import bricker.input.InputRecorder;
+import bricker.input.InputTimeline;
+import bricker.input.KeyEventCapture;
+import bricker.input.ScriptedInput;
+import bricker.levels.BrickLattice;
+import bricker.levels.LevelBuilder;
+import bricker.levels.LevelPreloader;
+import bricker.levels.LevelSpec;
+import bricker.levels.PreparedLevel;
+import bricker.network.DeltaEncoder;
+import bricker.network.GameServer;
+import bricker.physics.ContactBatch;
+import bricker.rendering.VisibilityCuller;
+import bricker.rewind.GameSnapshot;
+import bricker.rewind.RewindBuffer;
+import bricker.scores.HighScoreStore;
+import bricker.scores.ScoreRecord;
+import bricker.sprites.AssetBundle;
+import bricker.sprites.SpriteReader;
+import bricker.scheduling.EffectScheduler;
+import bricker.telemetry.GameEventLog;
+import bricker.telemetry.GameEventType;
 import danogl.GameManager;
 import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.components.CoordinateSpace;
 import danogl.gui.*;
@@ -12,6 +42,13 @@ import danogl.util.Vector2;
 import danogl.util.Counter;
 
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.Random;
 
 /**
@@ -24,7 +61,7 @@ import java.util.Random;
  */
 public class BrickerGameManager extends GameManager {
     private final Random random;
-    private ImageReader imageReader;
+    private SpriteReader spriteReader;
     private SoundReader soundReader;
     private UserInputListener inputListener;
     private final Counter bricksCounter;
@@ -35,6 +72,59 @@ public class BrickerGameManager extends GameManager {
     private WindowController windowController;
     private final int brickRows;
     private final int brickCols;
+    private final int serverPort;
+    private Paddle mainPaddle;
+    private GameServer gameServer;
+    private DeltaEncoder deltaEncoder;
+    private ParticleSystem particleSystem;
+    private EffectScheduler effectScheduler;
+    private ContactBatch contactBatch;
+    private FrameBudgetScheduler frameScheduler;
+    private final FrameBudgetScheduler.DeferrableTask outOfRangeSweep;
+    private final List<GameObject> sweepCandidates;
+    private int sweepPosition;
+    private IdleMonitor idleMonitor;
+    private volatile boolean isSuspended;
+    private boolean isResumeTick;
+    private int activeFramerate;
+    private long suspendedSinceNanos;
+    private long suspendedNanos;
+    private int numOfSuspensions;
+    private VisibilityCuller visibilityCuller;
+    private GameEventLog eventLog;
+    private HighScoreStore highScoreStore;
+    private AssetBundle assetBundle;
+    private InputEventQueue inputQueue;
+    private KeyEventCapture keyEventCapture;
+    private boolean isKeyCaptureEnabled;
+    private InputTimeline inputTimeline;
+    private InputRecorder inputRecorder;
+    private ScriptedInput scriptedInput;
+    private EntityRegistry entityRegistry;
+    private EntityGovernor entityGovernor;
+    private RewindBuffer rewindBuffer;
+    private GameSnapshot liveSnapshot;
+    private GameSnapshot seekSnapshot;
+    private BrickLattice brickLattice;
+    private int[] tickDestroyedBricks;
+    private int numOfTickDestroyedBricks;
+    private float boardTime;
+    private final long creationNanos;
+    private long timeToFirstFrameNanos;
+    private long gameStartNanos;
+    private int bricksDestroyed;
+    private int heartsLost;
+    private boolean isRecordingEnabled = true;
+    private boolean isPreloadingEnabled = true;
+    private final List<LevelSpec> campaign;
+    private LevelBuilder levelBuilder;
+    private LevelPreloader levelPreloader;
+    private int currentLevel;
+    private long lastLevelSwapNanos;
+    private long lastBoardBuildNanos;
+    private long lastBoardInsertNanos;
+    private int lastChainReactionSize;
+    private long lastChainReactionNanos;
 
     /**
      * Constructor.
@@ -46,19 +136,65 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int brickRows,
                               int brickCols) {
+        this(windowTitle, windowDimensions, brickRows, brickCols, Constants.NO_SERVER_PORT);
+    }
+
+    /**
+     * Constructor of a game that also runs as an authoritative server for thin clients.
+     *
+     * @param windowTitle      the title of the game window
+     * @param windowDimensions the dimensions of the game window as a Vector2 (width, height)
+     * @param brickRows        the number of rows of bricks in the game
+     * @param brickCols        the number of columns of bricks in the game
+     * @param serverPort       the loopback port to serve clients on, or NO_SERVER_PORT
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int brickRows,
+                              int brickCols, int serverPort) {
+        this(windowTitle, windowDimensions, brickRows, brickCols, serverPort, new Random());
+    }
+
+    /**
+     * Constructor of a game whose boards and ball directions are drawn from a fixed seed, so that
+     * runs of the game, such as performance scenarios, can be reproduced.
+     *
+     * @param windowTitle      the title of the game window
+     * @param windowDimensions the dimensions of the game window as a Vector2 (width, height)
+     * @param brickRows        the number of rows of bricks in the game
+     * @param brickCols        the number of columns of bricks in the game
+     * @param serverPort       the loopback port to serve clients on, or NO_SERVER_PORT
+     * @param seed             the seed of the game
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int brickRows,
+                              int brickCols, int serverPort, long seed) {
+        this(windowTitle, windowDimensions, brickRows, brickCols, serverPort, new Random(seed));
+    }
+
+    /*
+     * Constructor drawing the campaign and the ball directions from the given generator.
+     */
+    private BrickerGameManager(String windowTitle, Vector2 windowDimensions, int brickRows,
+                               int brickCols, int serverPort, Random random) {
         super(windowTitle, windowDimensions);
         this.brickRows = brickRows;
         this.brickCols = brickCols;
+        this.serverPort = serverPort;
         this.bricksCounter = new Counter(Constants.INIT_BRICKS_COUNTER_VALUE);
         this.heartsCounter = new Counter(Constants.INIT_HEARTS_NUM);
-        this.random = new Random();
+        this.random = random;
+        this.campaign = createCampaign(brickRows, brickCols, this.random.nextLong());
+        this.creationNanos = System.nanoTime();
+        this.brickLattice = new BrickLattice(new Brick[0], brickCols);
+        this.outOfRangeSweep = this::sweepOutOfRangeObjects;
+        this.sweepCandidates = new ArrayList<>();
+        this.tickDestroyedBricks = new int[0];
     }
 
     /**
      * Initializes the game by setting up game objects, strategies, and input listeners.
+     * Headless runs pass no image and sound readers, and the game then runs without images and sounds.
      *
-     * @param imageReader      the ImageReader instance for loading images
-     * @param soundReader      the SoundReader instance for loading sounds
+     * @param imageReader      the ImageReader instance for loading images, or null
+     * @param soundReader      the SoundReader instance for loading sounds, or null
      * @param inputListener    the UserInputListener instance for handling user input
      * @param windowController the WindowController instance for managing the game window
      */
@@ -69,23 +205,88 @@ public class BrickerGameManager extends GameManager {
         this.windowDimension = windowController.getWindowDimensions();
         this.windowController = windowController;
         this.inputListener = inputListener;
+        //Create the input queue once, games after a reset keep the same queue
+        if (this.inputQueue == null) {
+            this.inputQueue = new InputEventQueue(Constants.INPUT_QUEUE_CAPACITY_LOG2);
+        }
+        //Capture the timestamped key events of the window once, if the game has a window of its own
+        if (this.isKeyCaptureEnabled && this.keyEventCapture == null) {
+            this.keyEventCapture = new KeyEventCapture(this.inputQueue);
+            this.keyEventCapture.install();
+        }
+        this.inputTimeline = new InputTimeline(this.inputQueue, System.nanoTime());
+        this.inputTimeline.setRecorder(this.inputRecorder);
         this.soundReader = soundReader;
-        this.imageReader = imageReader;
+        //Load the sprite atlas once, games after a reset reuse it
+        if (this.assetBundle == null) {
+            loadAssetBundle();
+        }
+        this.spriteReader = new SpriteReader(imageReader, this.assetBundle);
+        this.effectScheduler = new EffectScheduler();
+        this.contactBatch = new ContactBatch();
+        this.frameScheduler = new FrameBudgetScheduler(Constants.FRAME_BUDGET_NANOS,
+                Constants.DEFERRED_MIN_SLICE_NANOS, Constants.DEFERRED_MAX_SLICE_NANOS,
+                this::onDeferredWorkOverrun);
+        this.sweepCandidates.clear();
+        this.sweepPosition = 0;
+        this.visibilityCuller = new VisibilityCuller(this.windowDimension);
+        this.entityRegistry = new EntityRegistry(this::onEntityLeaked);
+        this.entityGovernor = new EntityGovernor(Constants.FRAME_BUDGET_NANOS, this.entityRegistry,
+                this::onGovernorIntervention);
+        //Allocate the snapshots once, and the rewind buffer if the game records, every board clears it
+        if (this.liveSnapshot == null) {
+            this.liveSnapshot = new GameSnapshot(Constants.MAX_LIVE_PUCKS + 1);
+            this.seekSnapshot = new GameSnapshot(Constants.MAX_LIVE_PUCKS + 1);
+        }
+        if (this.rewindBuffer == null && this.isRecordingEnabled) {
+            this.rewindBuffer = new RewindBuffer(Constants.REWIND_BUFFER_BYTES, Constants.REWIND_MAX_FRAMES,
+                    Constants.REWIND_KEYFRAME_INTERVAL);
+        }
+        if (this.isRecordingEnabled) {
+            //Open the event log and the high score store on the first game, they are kept across games
+            if (this.eventLog == null) {
+                openEventLog();
+            }
+            logEvent(GameEventType.GAME_STARTED, null, Constants.NO_EVENT_VALUE, null);
+            if (this.highScoreStore == null) {
+                openHighScoreStore();
+            }
+        }
+        this.gameStartNanos = System.nanoTime();
+        this.bricksDestroyed = 0;
+        this.heartsLost = 0;
+        //Start or restart the server before any object is created, so every object is tracked
+        if (this.serverPort != Constants.NO_SERVER_PORT) {
+            initServer();
+        }
         //Create background and add to game objects
         createBackground();
-        //Create Ui object
-        addGameObject(
-                new UiManager(Vector2.ZERO, this.windowDimension, null,
-                        this.heartsCounter, this, this.imageReader), Layer.UI);
+        //Create the particle system of the brick destruction effects
+        this.particleSystem = new ParticleSystem(this.windowDimension, Constants.PARTICLE_CAPACITY);
+        addGameObject(this.particleSystem, Layer.FOREGROUND);
+        //Create Ui object, refreshed as deferred work
+        UiManager uiManager = new UiManager(Vector2.ZERO, this.windowDimension, null,
+                this.heartsCounter, this, this.spriteReader);
+        uiManager.setFrameScheduler(this.frameScheduler);
+        addGameObject(uiManager, Layer.UI);
         //Create strategyMaker
-        this.strategyMaker = new StrategyMaker(this, this.windowController, this.imageReader,
-                this.heartsCounter, this.windowDimension, this.soundReader, this.inputListener);
+        this.strategyMaker = new StrategyMaker(this, this.windowController, this.spriteReader,
+                this.heartsCounter, this.windowDimension, this.soundReader, this.inputListener, this.random);
+        //Create the level builder and its preloader, dropping a level preloaded by a previous game
+        this.levelBuilder = new LevelBuilder(this.strategyMaker, this.windowDimension, this.assetBundle);
+        if (this.levelPreloader != null) {
+            this.levelPreloader.shutdown();
+        }
+        this.levelPreloader = new LevelPreloader(this.levelBuilder, this.isPreloadingEnabled);
+        this.currentLevel = 0;
         //Create ball and add to game objects
         createBall();
         //Create paddle and add to game objects
         createPaddle();
         //Create Bricks
-        createBricks(this.brickRows, this.brickCols);
+        createBricks();
+        //Build the next level in the background while this one is played
+        preloadNextLevel();
         //Create walls and add to game objects
         createWalls();
     }
@@ -98,17 +299,49 @@ public class BrickerGameManager extends GameManager {
      */
     @Override
     public void update(float deltaTime) {
+        if (this.timeToFirstFrameNanos == 0) {
+            this.timeToFirstFrameNanos = System.nanoTime() - this.creationNanos;
+        }
+        long frameNanos = System.nanoTime();
+        if (this.scriptedInput != null) {
+            this.scriptedInput.pump(this.inputQueue, frameNanos);
+        }
+        this.inputTimeline.advance(frameNanos);
+        // While paused or idle, only the input is watched, at a low frame rate
+        if (this.idleMonitor != null && updateIdleState(frameNanos)) {
+            return;
+        }
+        if (this.isResumeTick) {
+            deltaTime = Math.min(deltaTime, Constants.MAX_RESUME_DELTA_SECONDS);
+            this.isResumeTick = false;
+        }
+        if (this.inputTimeline.wasPressed(KeyEvent.VK_R)) {
+            rewind(Constants.REWIND_SECONDS);
+        }
+        if (this.gameServer != null) {
+            pollServerInput();
+        }
         super.update(deltaTime);
+        // Bounce the balls and run the brick strategies once for all the contacts of the tick
+        this.contactBatch.resolve();
+        this.effectScheduler.tick();
         float ballHeight = this.mainBall.getCenter().y();
         String prompt = "";
+        // If there are no more bricks and there is another level, move to it
+        if (bricksCounter.value() <= Constants.INIT_BRICKS_COUNTER_VALUE &&
+                this.currentLevel + 1 < this.campaign.size()) {
+            advanceLevel();
+        }
         // If there are no more bricks or the user press W, the user win the game
-        if (bricksCounter.value() <= Constants.INIT_BRICKS_COUNTER_VALUE || this.inputListener.
-                isKeyPressed(KeyEvent.VK_W)) {
+        if (bricksCounter.value() <= Constants.INIT_BRICKS_COUNTER_VALUE ||
+                this.inputTimeline.wasHeld(KeyEvent.VK_W)) {
             prompt = Constants.WIN_PROMPT;
         }
         // If the ball is out of the frame initial to the center of the frame.
         if (ballHeight > this.windowDimension.y()) {
             heartsCounter.decrement();
+            this.heartsLost++;
+            logEvent(GameEventType.HEART_LOST, this.mainBall, this.heartsCounter.value(), null);
             setBallVelocity(mainBall);
             mainBall.setCenter(this.windowDimension.mult(Constants.HALF_FACTOR));
         }
@@ -118,7 +351,497 @@ public class BrickerGameManager extends GameManager {
         if (!prompt.isEmpty()) {
             gameOverHandler(prompt);
         }
-        removeOutOfRangeObjects();
+        this.frameScheduler.submit(this.outOfRangeSweep);
+        this.entityRegistry.audit(this.windowDimension);
+        this.visibilityCuller.update(camera());
+        if (this.gameServer != null) {
+            this.gameServer.broadcastTick();
+        }
+        // Run the deferred work in what is left of the frame budget, carrying the rest over
+        this.frameScheduler.runPending(frameNanos);
+        this.entityGovernor.endFrame(System.nanoTime() - frameNanos,
+                gameObject -> removeGameObject(gameObject, Layer.DEFAULT));
+        recordRewindFrame(deltaTime);
+    }
+
+    /**
+     * Rewinds the current board to its state a given time ago, as recorded by the rewind buffer.
+     * The destroyed bricks come back, the main ball and the pucks return to where they were, and
+     * the hearts counter is restored. Play goes on from there, and the ticks after it are dropped.
+     * Goes back as far as it can if less than the given time was recorded.
+     *
+     * @param seconds the time to go back, in seconds
+     * @return true if the game was rewound, false if nothing was recorded yet or the game does not record
+     */
+    public boolean rewind(float seconds) {
+        if (this.rewindBuffer == null) {
+            return false;
+        }
+        long tick = this.rewindBuffer.tickBefore(seconds);
+        if (tick < 0 || !this.rewindBuffer.seek(tick, this.seekSnapshot)) {
+            return false;
+        }
+        restoreBricks();
+        restoreBalls();
+        this.heartsCounter.reset();
+        this.heartsCounter.increaseBy(this.seekSnapshot.hearts());
+        this.boardTime = this.seekSnapshot.time();
+        this.liveSnapshot.copyFrom(this.seekSnapshot);
+        this.numOfTickDestroyedBricks = 0;
+        this.rewindBuffer.truncateAfter(tick);
+        this.entityGovernor.clearDeferredSpawns();
+        if (this.gameServer != null) {
+            trackServerBoard(this.campaign.get(this.currentLevel));
+            registerServerBricks();
+            sendServerSnapshot();
+        }
+        logEvent(GameEventType.GAME_REWOUND, this.mainBall, this.heartsCounter.value(), null);
+        return true;
+    }
+
+    /**
+     * Sets off a chain reaction from an explosive brick: the live bricks within the blast radius of
+     * the brick are destroyed, and the explosive bricks among them explode in turn.
+     * The reaction is walked breadth first over the brick lattice and removed in one batch, without
+     * running the collision strategies of the destroyed bricks, so a reaction through thousands of
+     * bricks fits in a frame. Its size and cost are kept for lastChainReactionSize and
+     * lastChainReactionNanos, and logged as a single event.
+     *
+     * @param brick the brick that exploded
+     * @return the number of destroyed bricks, 0 if the object is not a brick of the board
+     */
+    public int explodeBrick(GameObject brick) {
+        int origin = this.brickLattice.indexOf(brick);
+        if (origin < 0) {
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        int size = this.brickLattice.chainReaction(origin, Constants.EXPLOSION_RADIUS,
+                this.liveSnapshot::isBrickAlive);
+        int numOfDestroyed = removeChainReaction(size);
+        this.lastChainReactionSize = numOfDestroyed;
+        this.lastChainReactionNanos = System.nanoTime() - startNanos;
+        logEvent(GameEventType.CHAIN_REACTION, brick, numOfDestroyed, null);
+        if (numOfDestroyed > 0 && this.entityGovernor.allowSecondaryEffect()) {
+            this.particleSystem.emitBrickBurst(brick);
+        }
+        return numOfDestroyed;
+    }
+
+    /**
+     * Releases what the game holds beyond its window: the game server and its clients, the event log,
+     * the high score store, the key event capture, an input recording and the level preloader thread.
+     * Called when the window closes, and by runs of the game that have no window.
+     */
+    public void shutdown() {
+        if (this.gameServer != null) {
+            this.gameServer.close();
+            this.gameServer = null;
+        }
+        if (this.eventLog != null) {
+            this.eventLog.close();
+        }
+        if (this.highScoreStore != null) {
+            this.highScoreStore.close();
+        }
+        if (this.keyEventCapture != null) {
+            this.keyEventCapture.uninstall();
+        }
+        if (this.idleMonitor != null) {
+            this.idleMonitor.uninstall();
+        }
+        stopInputRecording();
+        if (this.levelPreloader != null) {
+            this.levelPreloader.shutdown();
+        }
+    }
+
+    /**
+     * Sets whether the game writes an event log, stores its results in the high score store and
+     * records the recent states of the board for rewinding. Many games run at once, such as training
+     * environments, turn recording off so they do not share the files or hold a rewind buffer each.
+     * Takes effect when the game is next initialized.
+     *
+     * @param isRecordingEnabled true to record, which is the default
+     */
+    public void setRecordingEnabled(boolean isRecordingEnabled) {
+        this.isRecordingEnabled = isRecordingEnabled;
+    }
+
+    /**
+     * Sets whether the game builds the next level on a background thread of its own while the current
+     * one is played. Many games run at once, such as training environments, turn preloading off so
+     * they do not start a thread each; the next level is then built when the game moves to it.
+     * Takes effect when the game is next initialized.
+     *
+     * @param isPreloadingEnabled true to preload, which is the default
+     */
+    public void setPreloadingEnabled(boolean isPreloadingEnabled) {
+        this.isPreloadingEnabled = isPreloadingEnabled;
+    }
+
+    /**
+     * Lets the game pause while its window is not focused, and go idle once nobody played for the given
+     * time. A paused or idle game stops simulating and lowers its frame rate to IDLE_FRAME_RATE until
+     * input arrives or the window is focused again, and the paused time is not simulated on resume.
+     * Meant for interactive games; headless runs, which get no input, keep running.
+     * A game serving clients is never suspended: it keeps ticking and broadcasting for its clients,
+     * whose input the local window does not see, so idle mode is not enabled for it.
+     *
+     * @param idleTimeoutNanos the time without input after which the game goes idle, in nanoseconds
+     * @return true if idle mode was enabled, false if the game serves clients
+     */
+    public boolean enableIdleMode(long idleTimeoutNanos) {
+        if (this.serverPort != Constants.NO_SERVER_PORT) {
+            return false;
+        }
+        if (this.idleMonitor != null) {
+            this.idleMonitor.uninstall();
+        }
+        this.idleMonitor = new IdleMonitor(idleTimeoutNanos, System.nanoTime());
+        this.idleMonitor.install();
+        return true;
+    }
+
+    /**
+     * Lets the game capture the key events of its window, timestamped as AWT dispatches them.
+     * The capture is a dispatcher of the application's keyboard focus manager, which sees the key
+     * events of every window, so only a game shown in a window of its own enables it; headless games
+     * are played by scripted input. Takes effect when the game is next initialized.
+     */
+    public void enableKeyCapture() {
+        this.isKeyCaptureEnabled = true;
+    }
+
+    /**
+     * Returns whether the game is paused or idle, and not simulating. Can be called from any thread.
+     *
+     * @return true while the game is suspended
+     */
+    public boolean isSuspended() {
+        return this.isSuspended;
+    }
+
+    /**
+     * Returns the number of times the game was paused or went idle.
+     *
+     * @return the number of suspensions
+     */
+    public int numOfSuspensions() {
+        return this.numOfSuspensions;
+    }
+
+    /**
+     * Returns the time the game spent paused or idle, including the current suspension.
+     *
+     * @return the suspended time in nanoseconds
+     */
+    public long suspendedNanos() {
+        return this.isSuspended ? this.suspendedNanos + System.nanoTime() - this.suspendedSinceNanos :
+                this.suspendedNanos;
+    }
+
+    /**
+     * Returns the buffer recording the recent states of the current board.
+     *
+     * @return the rewind buffer, or null if the game does not record
+     */
+    public RewindBuffer rewindBuffer() {
+        return this.rewindBuffer;
+    }
+
+    /**
+     * Records a game event in the game's event log, without blocking.
+     * Does nothing if the event log could not be opened.
+     *
+     * @param type    the type of the event
+     * @param subject the game object the event happened to, whose center is logged, or null
+     * @param value   the value of the event, depending on its type
+     * @param source  the object that caused the event, whose class name is logged, or its name if it is
+     *                an enum constant, or null
+     */
+    public void logEvent(GameEventType type, GameObject subject, int value, Object source) {
+        if (this.eventLog == null) {
+            return;
+        }
+        float x = Constants.MIN_COORDINATE_VALUE;
+        float y = Constants.MIN_COORDINATE_VALUE;
+        if (subject != null) {
+            Vector2 center = subject.getCenter();
+            x = center.x();
+            y = center.y();
+        }
+        this.eventLog.log(type, x, y, value, source);
+    }
+
+    /**
+     * Returns the event log of the current game.
+     *
+     * @return the event log, or null if it could not be opened
+     */
+    public GameEventLog eventLog() {
+        return this.eventLog;
+    }
+
+    /**
+     * Plays a scripted player, such as a bot or a recording, through the same input queue the
+     * keyboard feeds. The script starts on the next frame.
+     *
+     * @param scriptedInput the script to play, or null to stop playing
+     */
+    public void playInputScript(ScriptedInput scriptedInput) {
+        this.scriptedInput = scriptedInput;
+        if (scriptedInput != null) {
+            scriptedInput.start(System.nanoTime());
+        }
+    }
+
+    /**
+     * Starts recording every key event the game handles, stopping any previous recording.
+     * The recording can be played back with ScriptedInput.
+     *
+     * @param path the path of the recording file
+     * @throws IOException if the file cannot be created
+     */
+    public void startInputRecording(Path path) throws IOException {
+        stopInputRecording();
+        this.inputRecorder = new InputRecorder(path, System.nanoTime());
+        this.inputTimeline.setRecorder(this.inputRecorder);
+    }
+
+    /**
+     * Stops recording key events, if a recording was started.
+     */
+    public void stopInputRecording() {
+        if (this.inputRecorder != null) {
+            this.inputRecorder.close();
+            this.inputRecorder = null;
+            this.inputTimeline.setRecorder(null);
+        }
+    }
+
+    /**
+     * Returns the main ball of the game.
+     *
+     * @return the main ball
+     */
+    public Ball mainBall() {
+        return this.mainBall;
+    }
+
+    /**
+     * Returns the main paddle of the game, which can also be moved through its remote direction.
+     *
+     * @return the main paddle
+     */
+    public Paddle mainPaddle() {
+        return this.mainPaddle;
+    }
+
+    /**
+     * Returns the number of bricks destroyed since the game started.
+     *
+     * @return the number of destroyed bricks
+     */
+    public int bricksDestroyed() {
+        return this.bricksDestroyed;
+    }
+
+    /**
+     * Returns the number of hearts lost since the game started, including a lost last heart.
+     *
+     * @return the number of lost hearts
+     */
+    public int heartsLost() {
+        return this.heartsLost;
+    }
+
+    /**
+     * Returns the number of bricks of the biggest level of the campaign.
+     *
+     * @return the maximal number of bricks on a board
+     */
+    public int maxNumOfBricks() {
+        int maxNumOfBricks = 0;
+        for (LevelSpec levelSpec : this.campaign) {
+            maxNumOfBricks = Math.max(maxNumOfBricks, levelSpec.brickRows() * levelSpec.brickCols());
+        }
+        return maxNumOfBricks;
+    }
+
+    /**
+     * Copies the bitmap of the live bricks of the current board, one bit per brick in row-major order.
+     *
+     * @param destination the array to copy the bitmap into
+     * @param offset      the index of the first word to write
+     * @param numOfWords  the number of words to write, the words past the board are cleared
+     * @return the number of bricks of the current board
+     */
+    public int copyLiveBricks(long[] destination, int offset, int numOfWords) {
+        return this.liveSnapshot.copyAliveBricks(destination, offset, numOfWords);
+    }
+
+    /**
+     * Returns the registry of the live entities spawned during play, by type.
+     *
+     * @return the entity registry
+     */
+    public EntityRegistry entityRegistry() {
+        return this.entityRegistry;
+    }
+
+    /**
+     * Returns the governor capping the spawned entities and keeping the frame time within budget.
+     *
+     * @return the entity governor
+     */
+    public EntityGovernor entityGovernor() {
+        return this.entityGovernor;
+    }
+
+    /**
+     * Returns the timeline of the key state, which also measures the input-to-motion latency.
+     *
+     * @return the input timeline
+     */
+    public InputTimeline inputTimeline() {
+        return this.inputTimeline;
+    }
+
+    /**
+     * Returns the time from the creation of the game to its first frame, including the window
+     * creation and the loading of the assets.
+     *
+     * @return the time to the first frame in nanoseconds, or 0 before the first frame
+     */
+    public long timeToFirstFrameNanos() {
+        return this.timeToFirstFrameNanos;
+    }
+
+    /**
+     * Returns the persistent store of game results.
+     *
+     * @return the high score store, or null if it could not be opened
+     */
+    public HighScoreStore highScoreStore() {
+        return this.highScoreStore;
+    }
+
+    /**
+     * Returns the scheduler of the game's timed and event-count effects.
+     *
+     * @return the effect scheduler
+     */
+    public EffectScheduler effectScheduler() {
+        return this.effectScheduler;
+    }
+
+    /**
+     * Returns the culler rendering only what the current view can see.
+     *
+     * @return the visibility culler
+     */
+    public VisibilityCuller visibilityCuller() {
+        return this.visibilityCuller;
+    }
+
+    /**
+     * Returns the particle system drawing the game's debris and spark effects.
+     *
+     * @return the particle system
+     */
+    public ParticleSystem particleSystem() {
+        return this.particleSystem;
+    }
+
+    /**
+     * Returns the index of the current level of the campaign.
+     *
+     * @return the current level, starting from 0
+     */
+    public int currentLevel() {
+        return this.currentLevel;
+    }
+
+    /**
+     * Returns the background build time of the last level moved to.
+     *
+     * @return the preload time in nanoseconds
+     */
+    public long lastLevelPreloadNanos() {
+        return this.levelPreloader.lastPreloadNanos();
+    }
+
+    /**
+     * Returns the time the game thread spent swapping in the last level moved to.
+     *
+     * @return the swap time in nanoseconds
+     */
+    public long lastLevelSwapNanos() {
+        return this.lastLevelSwapNanos;
+    }
+
+    /**
+     * Returns the time it took to build the bricks of the current board.
+     *
+     * @return the build time in nanoseconds
+     */
+    public long lastBoardBuildNanos() {
+        return this.lastBoardBuildNanos;
+    }
+
+    /**
+     * Returns the time it took to insert the bricks of the current board into the game.
+     *
+     * @return the insertion time in nanoseconds
+     */
+    public long lastBoardInsertNanos() {
+        return this.lastBoardInsertNanos;
+    }
+
+    /**
+     * Returns the scheduler of the work deferred to the end of the frame, within the frame budget.
+     *
+     * @return the frame budget scheduler
+     */
+    public FrameBudgetScheduler frameScheduler() {
+        return this.frameScheduler;
+    }
+
+    /**
+     * Returns the batch the contacts of a tick are gathered in and resolved from.
+     *
+     * @return the contact batch
+     */
+    public ContactBatch contactBatch() {
+        return this.contactBatch;
+    }
+
+    /**
+     * Returns the number of bricks destroyed by the last chain reaction.
+     *
+     * @return the size of the last chain reaction
+     */
+    public int lastChainReactionSize() {
+        return this.lastChainReactionSize;
+    }
+
+    /**
+     * Returns the time it took to walk and remove the last chain reaction.
+     *
+     * @return the chain reaction time in nanoseconds
+     */
+    public long lastChainReactionNanos() {
+        return this.lastChainReactionNanos;
+    }
+
+    /**
+     * Returns the server serving this game to thin clients.
+     *
+     * @return the game server, or null if the game does not run as a server
+     */
+    public GameServer gameServer() {
+        return this.gameServer;
     }
 
     /**
@@ -129,6 +852,7 @@ public class BrickerGameManager extends GameManager {
      */
     public void addGameObject(GameObject gameObject, int gameObjectLayer) {
         gameObjects().addGameObject(gameObject, gameObjectLayer);
+        onObjectAdded(gameObject, gameObjectLayer);
     }
 
     /**
@@ -137,12 +861,208 @@ public class BrickerGameManager extends GameManager {
      *
      * @param gameObject      the GameObject instance to remove from the game
      * @param gameObjectLayer the layer from which to remove the game object
+     * @return true if the game object was in the game and was removed
      */
-    public void removeGameObject(GameObject gameObject, int gameObjectLayer) {
+    public boolean removeGameObject(GameObject gameObject, int gameObjectLayer) {
         boolean objExist = gameObjects().removeGameObject(gameObject, gameObjectLayer);
         if (gameObject.getTag().equals(Constants.BRICK_TAG) && objExist) {
             this.bricksCounter.decrement();
         }
+        if (objExist) {
+            onObjectRemoved(gameObject);
+        }
+        return objExist;
+    }
+
+    /*
+     * Opens a new event log file, written by every game of this manager.
+     * If the file cannot be created, the game runs without an event log.
+     */
+    private void openEventLog() {
+        Path logPath = Path.of(Constants.EVENT_LOG_DIRECTORY, Constants.EVENT_LOG_FILE_PREFIX +
+                System.currentTimeMillis() + Constants.EVENT_LOG_FILE_SUFFIX);
+        try {
+            this.eventLog = new GameEventLog(logPath, GameEventLog.Format.JSON_LINES);
+        } catch (IOException e) {
+            this.eventLog = null;
+        }
+    }
+
+    /*
+     * Loads the sprite atlas built by AssetBundleBuilder.
+     * If there is no bundle, every image is read from its own file.
+     */
+    private void loadAssetBundle() {
+        Path bundlePath = Path.of(Constants.ASSET_BUNDLE_PATH);
+        if (!Files.isRegularFile(bundlePath)) {
+            return;
+        }
+        try {
+            this.assetBundle = AssetBundle.load(bundlePath);
+        } catch (IOException e) {
+            this.assetBundle = null;
+        }
+    }
+
+    /*
+     * Opens the persistent store of game results.
+     * If the file cannot be opened, the game runs without storing results.
+     */
+    private void openHighScoreStore() {
+        try {
+            this.highScoreStore = new HighScoreStore(Path.of(Constants.HIGH_SCORE_FILE_PATH),
+                    Constants.HIGH_SCORE_TOP_CAPACITY);
+        } catch (IOException e) {
+            this.highScoreStore = null;
+        }
+    }
+
+    /*
+     * Records the result of the game that just ended in the high score store, and returns a prompt
+     * showing the best result recorded so far.
+     */
+    private String recordScore() {
+        if (this.highScoreStore == null) {
+            return "";
+        }
+        LevelSpec levelSpec = this.campaign.get(this.currentLevel);
+        this.highScoreStore.record(new ScoreRecord(System.currentTimeMillis(), levelSpec.brickRows(),
+                levelSpec.brickCols(), (System.nanoTime() - this.gameStartNanos) /
+                Constants.NANOS_IN_MILLISECOND, this.bricksDestroyed, this.heartsCounter.value()));
+        return String.format(Constants.BEST_SCORE_PROMPT,
+                this.highScoreStore.bestScore().bricksDestroyed());
+    }
+
+    /*
+     * Notifies the game subsystems that track objects that an object was added.
+     */
+    private void onObjectAdded(GameObject gameObject, int gameObjectLayer) {
+        if (gameObject instanceof BonusPaddle) {
+            logEvent(GameEventType.BONUS_PADDLE_SPAWNED, gameObject, Constants.NO_EVENT_VALUE, null);
+        } else if (gameObject instanceof Ball && !gameObject.getTag().equals(Constants.MAIN_BALL_TAG)) {
+            logEvent(GameEventType.PUCK_SPAWNED, gameObject, Constants.NO_EVENT_VALUE, null);
+        }
+        EntityType entityType = entityTypeOf(gameObject);
+        if (entityType != null) {
+            this.entityRegistry.add(entityType, gameObject, gameObjectLayer);
+        }
+        if (gameObjectLayer == Layer.DEFAULT) {
+            this.visibilityCuller.addDynamic(gameObject);
+            if (gameObject instanceof Ball) {
+                ((Ball) gameObject).setEffectScheduler(this.effectScheduler);
+                ((Ball) gameObject).setContactBatch(this.contactBatch);
+            }
+            if (gameObject instanceof Paddle) {
+                ((Paddle) gameObject).setInputTimeline(this.inputTimeline);
+            }
+        }
+        if (this.deltaEncoder != null) {
+            this.deltaEncoder.onObjectAdded(gameObject);
+        }
+    }
+
+    /*
+     * Notifies the game subsystems that track objects that an object was removed.
+     */
+    private void onObjectRemoved(GameObject gameObject) {
+        if (gameObject instanceof Brick) {
+            this.bricksDestroyed++;
+            int brickIndex = this.brickLattice.indexOf(gameObject);
+            if (brickIndex >= 0) {
+                this.liveSnapshot.destroyBrick(brickIndex);
+                this.tickDestroyedBricks[this.numOfTickDestroyedBricks++] = brickIndex;
+            }
+            logEvent(GameEventType.BRICK_DESTROYED, gameObject, this.bricksCounter.value(),
+                    ((Brick) gameObject).getCollisionStrategy());
+        } else if (gameObject instanceof BonusPaddle) {
+            logEvent(GameEventType.BONUS_PADDLE_EXPIRED, gameObject, Constants.NO_EVENT_VALUE, null);
+        }
+        this.entityRegistry.remove(gameObject);
+        this.visibilityCuller.remove(gameObject);
+        this.effectScheduler.forget(gameObject);
+        if (this.deltaEncoder != null) {
+            this.deltaEncoder.onObjectRemoved(gameObject);
+        }
+    }
+
+    /*
+     * Returns the type the entity governor counts an object as, or null if it does not count it.
+     */
+    private static EntityType entityTypeOf(GameObject gameObject) {
+        if (gameObject instanceof BonusPaddle) {
+            return EntityType.BONUS_PADDLE;
+        }
+        if (gameObject instanceof FallenHeart) {
+            return EntityType.FALLEN_HEART;
+        }
+        if (gameObject instanceof Ball && !gameObject.getTag().equals(Constants.MAIN_BALL_TAG)) {
+            return EntityType.PUCK;
+        }
+        return null;
+    }
+
+    /*
+     * Logs an entity the lifetime audit of the entity registry found leaked, with its type and the
+     * reason it leaked as the source.
+     */
+    private void onEntityLeaked(EntityRegistry.LeakReason reason, EntityType entityType, GameObject entity) {
+        logEvent(GameEventType.ENTITY_LEAKED, entity, this.entityRegistry.numOfLive(entityType),
+                entityType.name() + Constants.EVENT_SOURCE_SEPARATOR + reason.name());
+    }
+
+    /*
+     * Suspends or resumes the game as the idle monitor finds it played or not, switching between the
+     * idle frame rate and the frame rate it had. Returns whether the game is suspended.
+     */
+    private boolean updateIdleState(long nowNanos) {
+        IdleMonitor.State state = this.idleMonitor.update(nowNanos, this.inputTimeline.lastInputNanos());
+        boolean shouldSuspend = state != IdleMonitor.State.ACTIVE;
+        if (shouldSuspend && !this.isSuspended) {
+            this.activeFramerate = this.windowController.getTargetFramerate();
+            this.windowController.setTargetFramerate(Constants.IDLE_FRAME_RATE);
+            this.suspendedSinceNanos = nowNanos;
+            this.numOfSuspensions++;
+            this.isSuspended = true;
+            logEvent(GameEventType.GAME_SUSPENDED, null, state.ordinal(), null);
+        } else if (!shouldSuspend && this.isSuspended) {
+            this.windowController.setTargetFramerate(this.activeFramerate);
+            this.suspendedNanos += nowNanos - this.suspendedSinceNanos;
+            this.isSuspended = false;
+            this.isResumeTick = true;
+            logEvent(GameEventType.GAME_RESUMED, null,
+                    (int) ((nowNanos - this.suspendedSinceNanos) / Constants.NANOS_IN_MILLISECOND), null);
+        }
+        return this.isSuspended;
+    }
+
+    /*
+     * Logs a frame whose deferred work ran past its deadline.
+     */
+    private void onDeferredWorkOverrun(long overrunNanos, int backlogDepth) {
+        logEvent(GameEventType.DEFERRED_WORK_OVERRUN, null, backlogDepth, null);
+    }
+
+    /*
+     * Logs an intervention of the entity governor.
+     */
+    private void onGovernorIntervention(EntityGovernor.Intervention intervention, EntityType entityType,
+                                        GameObject subject) {
+        int value = entityType == null ? Constants.NO_EVENT_VALUE :
+                this.entityGovernor.numOfLive(entityType);
+        switch (intervention) {
+            case SPAWN_DEFERRED:
+                logEvent(GameEventType.SPAWN_DEFERRED, subject, value, entityType);
+                break;
+            case SPAWN_DROPPED:
+                logEvent(GameEventType.SPAWN_DROPPED, subject, value, entityType);
+                break;
+            case PUCKS_MERGED:
+                logEvent(GameEventType.PUCKS_MERGED, subject, value, entityType);
+                break;
+            default:
+                logEvent(GameEventType.EFFECT_SKIPPED, subject, value, null);
+                break;
+        }
     }
 
     /*
@@ -150,14 +1070,23 @@ public class BrickerGameManager extends GameManager {
      * or close the game window.
      */
     private void gameOverHandler(String prompt) {
-        prompt += Constants.RESTART_GAME_PROMPT;
-        if (windowController.openYesNoDialog(prompt)) {
+        logEvent(GameEventType.GAME_OVER, null, prompt.equals(Constants.WIN_PROMPT) ?
+                Constants.WIN_EVENT_VALUE : Constants.LOSE_EVENT_VALUE, null);
+        prompt += recordScore() + Constants.RESTART_GAME_PROMPT;
+        boolean isRestarted = windowController.openYesNoDialog(prompt);
+        // The time the dialog was open is not simulated, and counts as play
+        if (this.idleMonitor != null) {
+            this.idleMonitor.markActivity(System.nanoTime());
+            this.isResumeTick = true;
+        }
+        if (isRestarted) {
             windowController.resetGame();
             // reset the hearts and bricks num to initial number
             this.heartsCounter.reset();
             this.bricksCounter.reset();
             this.heartsCounter.increaseBy(Constants.INIT_HEARTS_NUM);
         } else {
+            shutdown();
             windowController.closeWindow();
         }
     }
@@ -166,16 +1095,36 @@ public class BrickerGameManager extends GameManager {
      * Removes game objects that have moved out of the visible game area, excluding the main ball.
      * Objects are considered out of range if their top-left corner's y-coordinate exceeds
      * the game window's height.
-     * This method iterates through the list of game objects and removes
-     * those that are out of range from the game.
+     * Runs as deferred work: the objects of the default layer are taken when a sweep starts, and
+     * checked in slices until the deadline, carrying on from where it stopped in the next frame.
+     * Returns whether the sweep is done.
      */
-    private void removeOutOfRangeObjects() {
-        for (GameObject obj : gameObjects()) {
+    private boolean sweepOutOfRangeObjects(long deadlineNanos) {
+        if (this.sweepPosition == 0) {
+            this.sweepCandidates.clear();
+            for (GameObject obj : gameObjects().objectsInLayer(Layer.DEFAULT)) {
+                this.sweepCandidates.add(obj);
+            }
+        }
+        while (this.sweepPosition < this.sweepCandidates.size()) {
+            GameObject obj = this.sweepCandidates.get(this.sweepPosition++);
             if (obj.getTopLeftCorner().y() > this.windowDimension.y() &&
                     !obj.getTag().equals(Constants.MAIN_BALL_TAG)) {
-                gameObjects().removeGameObject(obj, Layer.DEFAULT);
+                if (gameObjects().removeGameObject(obj, Layer.DEFAULT)) {
+                    onObjectRemoved(obj);
+                    if (obj instanceof FallenHeart) {
+                        logEvent(GameEventType.HEART_LOST, obj, this.heartsCounter.value(), null);
+                    }
+                }
+            }
+            if (this.sweepPosition % Constants.SWEEP_DEADLINE_CHECK_INTERVAL == 0 &&
+                    System.nanoTime() >= deadlineNanos) {
+                return false;
             }
         }
+        this.sweepCandidates.clear();
+        this.sweepPosition = 0;
+        return true;
     }
 
     /*
@@ -186,7 +1135,7 @@ public class BrickerGameManager extends GameManager {
      * The background object is added to the BACKGROUND layer for rendering.
      */
     private void createBackground() {
-        Renderable backgroundImage = this.imageReader.readImage(Constants.BACKGROUND_IMAGE_PATH,
+        Renderable backgroundImage = this.spriteReader.readImage(Constants.BACKGROUND_IMAGE_PATH,
                 false);
         GameObject background = new GameObject(Vector2.ZERO, this.windowDimension, backgroundImage);
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
@@ -202,7 +1151,7 @@ public class BrickerGameManager extends GameManager {
      * The paddle object is tagged as the main paddle and added to the DEFAULT layer for rendering.
      */
     private void createPaddle() {
-        Renderable paddleImage = this.imageReader.readImage(Constants.PADDLE_IMAGE_PATH,
+        Renderable paddleImage = this.spriteReader.readImage(Constants.PADDLE_IMAGE_PATH,
                 false);
         Paddle paddle = new Paddle(Vector2.ZERO,
                 new Vector2(Constants.PADDLE_WIDTH, Constants.PADDLE_HIGH), paddleImage,
@@ -210,9 +1159,40 @@ public class BrickerGameManager extends GameManager {
         paddle.setCenter(new Vector2(this.windowDimension.x() * Constants.HALF_FACTOR,
                 this.windowDimension.y() - Constants.PADDLE_OFFSET));
         paddle.setTag(Constants.MAIN_PADDLE_TAG);
+        this.mainPaddle = paddle;
         this.addGameObject(paddle, Layer.DEFAULT);
     }
 
+    /*
+     * Creates the delta encoder of the new game and starts the server, or restarts it with the
+     * new encoder if the game was reset.
+     * The server is bound once, so that connected clients survive a game reset.
+     */
+    private void initServer() {
+        this.deltaEncoder = new DeltaEncoder(this.brickRows, this.brickCols);
+        if (this.gameServer != null) {
+            this.gameServer.restart(this.deltaEncoder);
+            return;
+        }
+        try {
+            this.gameServer = new GameServer(this.serverPort, this.deltaEncoder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Accepts new clients and applies their paddle input to the main paddle.
+     */
+    private void pollServerInput() {
+        try {
+            this.gameServer.pollInput();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.mainPaddle.setRemoteDirection(this.gameServer.remotePaddleDirection());
+    }
+
     /*
      * Creates and adds a ball object to the game.
      * The ball object is created using the image specified by the constant BALL_IMAGE_PATH.
@@ -223,8 +1203,8 @@ public class BrickerGameManager extends GameManager {
      */
     private void createBall() {
         Renderable ballImage =
-                this.imageReader.readImage(Constants.BALL_IMAGE_PATH, true);
-        Sound collisionSound = this.soundReader.readSound(Constants.BLOP_SOUND_PATH);
+                this.spriteReader.readImage(Constants.BALL_IMAGE_PATH, true);
+        Sound collisionSound = readCollisionSound();
         this.mainBall = new Ball(Vector2.ZERO,
                 new Vector2(Constants.BALL_SIZE, Constants.BALL_SIZE), ballImage, collisionSound);
         setBallVelocity(mainBall);
@@ -233,6 +1213,13 @@ public class BrickerGameManager extends GameManager {
         this.addGameObject(this.mainBall, Layer.DEFAULT);
     }
 
+    /*
+     * Reads the collision sound of the balls, or returns null if the game runs without sounds.
+     */
+    private Sound readCollisionSound() {
+        return this.soundReader == null ? null : this.soundReader.readSound(Constants.BLOP_SOUND_PATH);
+    }
+
     /*
      * Sets the initial velocity of the specified ball object.
      * The method generates random velocity components within the range defined by
@@ -280,38 +1267,234 @@ public class BrickerGameManager extends GameManager {
     }
 
     /*
-     * Creates and adds brick objects to the game.
-     * Brick objects are created in a grid layout with the specified number of rows and columns.
-     * Each brick object is positioned within the game window and assigned a collision
-     * strategy randomly chosen
-     * from the available collision strategies.
-     * The dimensions of the brick objects are calculated based on the available width of the game window
-     * and the specified number of columns.
-     * Brick objects are added to the STATIC_OBJECTS layer for rendering.
+     * Creates and adds the brick objects of the first level of the campaign to the game.
+     * The level is built on the game thread, since there is nothing to play while it loads.
      */
-    private void createBricks(int brickRows, int brickCols) {
-        Renderable brickImage = this.imageReader.readImage(Constants.BRICK_IMAGE_PATH,
+    private void createBricks() {
+        Renderable brickImage = this.spriteReader.readImage(this.campaign.get(0).brickImagePath(),
                 false);
-        // Compute the brick place
-        float availableWidth =
-                this.windowDimension.x() - (Constants.STATIC_OBJECT_SPACE + Constants.STATIC_OBJECT_SPACE);
-        float brickWidth = (availableWidth - Constants.STATIC_OBJECT_SPACE * (brickCols - 1)) / (brickCols);
-        float y = Constants.STATIC_OBJECT_SPACE;
-        float x = Constants.STATIC_OBJECT_SPACE;
-        for (int i = 0; i < brickRows; i++) {
-            for (int j = 0; j < brickCols; j++) {
-                CollisionStrategy selectedColStrategy = this.strategyMaker.chooseStrategy();
-                Brick brick = new Brick(new Vector2(x, y), new Vector2(brickWidth, Constants.BRICK_HEIGHT),
-                        brickImage, selectedColStrategy);
-                this.addGameObject(brick, Layer.STATIC_OBJECTS);
+        addLevelBricks(this.levelBuilder.build(this.campaign.get(0), brickImage));
+    }
+
+    /*
+     * Adds the bricks of a prepared level to the STATIC_OBJECTS layer in one pass.
+     * Bricks are static and untracked by the moving-object subsystems, so they go straight to the
+     * collection, and the bricks counter is raised once for the whole board.
+     */
+    private void addLevelBricks(PreparedLevel level) {
+        long startTime = System.nanoTime();
+        int brickCols = level.levelSpec().brickCols();
+        Brick[] bricks = level.bricks();
+        GameObjectCollection gameObjects = gameObjects();
+        for (int i = 0; i < bricks.length; i++) {
+            gameObjects.addGameObject(bricks[i], Layer.STATIC_OBJECTS);
+            bricks[i].setContactBatch(this.contactBatch);
+            this.visibilityCuller.addStatic(bricks[i]);
+            if (this.deltaEncoder != null) {
+                this.deltaEncoder.registerBrick(bricks[i], i / brickCols, i % brickCols);
+            }
+        }
+        this.bricksCounter.increaseBy(bricks.length);
+        this.brickLattice = new BrickLattice(bricks, brickCols);
+        startRewindRecording(bricks);
+        this.lastBoardBuildNanos = level.buildNanos();
+        this.lastBoardInsertNanos = System.nanoTime() - startTime;
+    }
+
+    /*
+     * Starts recording a new board in the rewind buffer, dropping the states of the previous board.
+     */
+    private void startRewindRecording(Brick[] bricks) {
+        if (this.tickDestroyedBricks.length < bricks.length) {
+            this.tickDestroyedBricks = new int[bricks.length];
+        }
+        this.numOfTickDestroyedBricks = 0;
+        this.liveSnapshot.resetBricks(bricks.length);
+        if (this.rewindBuffer != null) {
+            this.rewindBuffer.clear();
+        }
+        this.boardTime = 0;
+    }
+
+    /*
+     * Records the state of the board at the end of the tick: the bricks destroyed during it, the
+     * main ball followed by the pucks, and the hearts counter.
+     */
+    private void recordRewindFrame(float deltaTime) {
+        if (this.rewindBuffer == null) {
+            this.numOfTickDestroyedBricks = 0;
+            return;
+        }
+        this.boardTime += deltaTime;
+        this.liveSnapshot.setTime(this.boardTime);
+        this.liveSnapshot.setHearts(this.heartsCounter.value());
+        this.liveSnapshot.clearBalls();
+        this.liveSnapshot.addBall(this.mainBall.getCenter(), this.mainBall.getVelocity());
+        for (GameObject puck : this.entityRegistry.liveEntities(EntityType.PUCK)) {
+            this.liveSnapshot.addBall(puck.getCenter(), puck.getVelocity());
+        }
+        this.rewindBuffer.record(this.liveSnapshot, this.tickDestroyedBricks, this.numOfTickDestroyedBricks);
+        this.numOfTickDestroyedBricks = 0;
+    }
+
+    /*
+     * Removes the bricks reached by the last chain reaction in one batch, skipping those already gone.
+     * Bricks are untracked by the moving-object subsystems, so only the board state is updated per
+     * brick, and the counters once for the whole batch.
+     */
+    private int removeChainReaction(int size) {
+        GameObjectCollection gameObjects = gameObjects();
+        int numOfRemoved = 0;
+        for (int i = 0; i < size; i++) {
+            int brickIndex = this.brickLattice.cascadeBrick(i);
+            Brick brick = this.brickLattice.brick(brickIndex);
+            if (!this.liveSnapshot.isBrickAlive(brickIndex) ||
+                    !gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS)) {
+                continue;
+            }
+            this.liveSnapshot.destroyBrick(brickIndex);
+            this.tickDestroyedBricks[this.numOfTickDestroyedBricks++] = brickIndex;
+            this.visibilityCuller.remove(brick);
+            if (this.deltaEncoder != null) {
+                this.deltaEncoder.onObjectRemoved(brick);
+            }
+            numOfRemoved++;
+        }
+        this.bricksCounter.increaseBy(-numOfRemoved);
+        this.bricksDestroyed += numOfRemoved;
+        return numOfRemoved;
+    }
+
+    /*
+     * Adds back the bricks that are alive in the rewound state but were destroyed since.
+     * Bricks are only destroyed during a board, so a rewind never removes one.
+     */
+    private void restoreBricks() {
+        GameObjectCollection gameObjects = gameObjects();
+        for (int i = 0; i < this.brickLattice.numOfBricks(); i++) {
+            if (this.seekSnapshot.isBrickAlive(i) && !this.liveSnapshot.isBrickAlive(i)) {
+                gameObjects.addGameObject(this.brickLattice.brick(i), Layer.STATIC_OBJECTS);
+                this.visibilityCuller.addStatic(this.brickLattice.brick(i));
                 this.bricksCounter.increment();
-                x += (brickWidth + Constants.STATIC_OBJECT_SPACE);
+                this.bricksDestroyed--;
+            }
+        }
+    }
+
+    /*
+     * Moves the main ball back to its rewound state, and replaces the live pucks with the pucks of
+     * the rewound state.
+     */
+    private void restoreBalls() {
+        this.mainBall.setCenter(this.seekSnapshot.ballCenter(0));
+        this.mainBall.setVelocity(this.seekSnapshot.ballVelocity(0));
+        for (GameObject puck : this.entityRegistry.liveEntities(EntityType.PUCK).toArray(new GameObject[0])) {
+            removeGameObject(puck, Layer.DEFAULT);
+        }
+        for (int i = 1; i < this.seekSnapshot.numOfBalls(); i++) {
+            createPuck(this.seekSnapshot.ballCenter(i), this.seekSnapshot.ballVelocity(i));
+        }
+    }
+
+    /*
+     * Creates a puck ball at the given center, moving at the given velocity.
+     */
+    private void createPuck(Vector2 center, Vector2 velocity) {
+        Renderable puckImage = this.spriteReader.readImage(Constants.PUCK_BALL_IMAGE_PATH, true);
+        Sound collisionSound = readCollisionSound();
+        Ball puck = new Ball(Vector2.ZERO, new Vector2(Constants.BALL_SIZE * Constants.PUCK_SIZE_FACTOR,
+                Constants.BALL_SIZE * Constants.PUCK_SIZE_FACTOR), puckImage, collisionSound);
+        puck.setCenter(center);
+        puck.setVelocity(velocity);
+        addGameObject(puck, Layer.DEFAULT);
+    }
+
+    /*
+     * Registers the live bricks of the current board on the server, and marks the others destroyed.
+     */
+    private void registerServerBricks() {
+        int brickCols = this.brickLattice.brickCols();
+        for (int i = 0; i < this.brickLattice.numOfBricks(); i++) {
+            if (this.liveSnapshot.isBrickAlive(i)) {
+                this.deltaEncoder.registerBrick(this.brickLattice.brick(i), i / brickCols, i % brickCols);
+            } else {
+                this.deltaEncoder.markBrickDestroyed(i / brickCols, i % brickCols);
             }
-            y += (Constants.BRICK_HEIGHT + Constants.STATIC_OBJECT_SPACE);
-            x = Constants.STATIC_OBJECT_SPACE;
         }
     }
 
+    /*
+     * Starts preloading the level following the current one, if there is one.
+     */
+    private void preloadNextLevel() {
+        if (this.currentLevel + 1 < this.campaign.size()) {
+            this.levelPreloader.preload(this.campaign.get(this.currentLevel + 1));
+        }
+    }
+
+    /*
+     * Moves to the next level of the campaign by swapping in its preloaded bricks.
+     * If no level was preloaded, or waiting for it was interrupted, the level is built right away.
+     * The main ball is returned to the center of the window, and the level after the new one
+     * starts preloading.
+     */
+    private void advanceLevel() {
+        long startTime = System.nanoTime();
+        PreparedLevel nextLevel = this.levelPreloader.take();
+        if (nextLevel == null) {
+            nextLevel = this.levelBuilder.buildWithAssets(this.campaign.get(this.currentLevel + 1));
+        }
+        this.currentLevel++;
+        if (this.gameServer != null) {
+            trackServerBoard(nextLevel.levelSpec());
+        }
+        addLevelBricks(nextLevel);
+        if (this.gameServer != null) {
+            sendServerSnapshot();
+        }
+        setBallVelocity(this.mainBall);
+        this.mainBall.setCenter(this.windowDimension.mult(Constants.HALF_FACTOR));
+        preloadNextLevel();
+        this.lastLevelSwapNanos = System.nanoTime() - startTime;
+    }
+
+    /*
+     * Starts tracking a new board with a new delta encoder, registering the live dynamic objects.
+     * The clients are only sent the board by sendServerSnapshot, once its bricks are registered too.
+     */
+    private void trackServerBoard(LevelSpec levelSpec) {
+        this.deltaEncoder = new DeltaEncoder(levelSpec.brickRows(), levelSpec.brickCols());
+        for (GameObject obj : gameObjects()) {
+            this.deltaEncoder.onObjectAdded(obj);
+        }
+    }
+
+    /*
+     * Sends every client a snapshot of the board the delta encoder tracks, so the destroyed bricks
+     * marked while registering the board reach them.
+     */
+    private void sendServerSnapshot() {
+        this.gameServer.restart(this.deltaEncoder);
+    }
+
+    /*
+     * Creates the levels of the campaign, each one bigger than the level before it.
+     * The seed of every level is drawn from the campaign seed, so one seed reproduces all boards.
+     * Every level draws its strategies with its own weights and composite depth.
+     */
+    private static List<LevelSpec> createCampaign(int brickRows, int brickCols, long campaignSeed) {
+        List<LevelSpec> campaign = new ArrayList<>();
+        SplittableRandom campaignRandom = new SplittableRandom(campaignSeed);
+        for (int i = 0; i < Constants.NUM_OF_LEVELS; i++) {
+            StrategyWeights weights = new StrategyWeights(Constants.LEVEL_BRICK_STRATEGY_WEIGHTS.get(i),
+                    Constants.DEFAULT_COMPOSITE_STRATEGY_WEIGHTS, Constants.LEVEL_COMPOSITE_DEPTHS.get(i));
+            campaign.add(new LevelSpec(i, brickRows + i * Constants.LEVEL_ROWS_INCREMENT,
+                    brickCols + i * Constants.LEVEL_COLS_INCREMENT, Constants.BRICK_IMAGE_PATH,
+                    campaignRandom.nextLong(), weights));
+        }
+        return campaign;
+    }
+
     /**
      * The main method to start the Bricker game.
      * This method initializes the game by creating an instance of the BrickerGameManager class
@@ -319,6 +1502,7 @@ public class BrickerGameManager extends GameManager {
      * and number of brick columns.
      * The number of brick rows and columns can be provided as command-line arguments. If no arguments
      * are provided, the default values specified in the Constants class are used.
+     * A third argument runs the game as a server for thin clients on the given loopback port.
      * The game is then started by invoking the run method of the BrickerGameManager instance.
      *
      * @param args an array of command-line arguments specifying the number of brick rows and columns
@@ -326,12 +1510,19 @@ public class BrickerGameManager extends GameManager {
     public static void main(String[] args) {
         int brickRows = Constants.DEFAULT_BRICK_ROWS;
         int brickCols = Constants.DEFAULT_BRICK_COLS;
-        if (args.length == Constants.NUN_OF_VALID_ARGS) {
+        int serverPort = Constants.NO_SERVER_PORT;
+        if (args.length == Constants.NUN_OF_VALID_ARGS || args.length == Constants.NUM_OF_SERVER_ARGS) {
             brickRows = Integer.parseInt(args[0]);
             brickCols = Integer.parseInt(args[1]);
         }
-        new BrickerGameManager(Constants.GAME_WINDOW_TITLE,
+        if (args.length == Constants.NUM_OF_SERVER_ARGS) {
+            serverPort = Integer.parseInt(args[2]);
+        }
+        BrickerGameManager game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE,
                 new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT),
-                brickRows, brickCols).run();
+                brickRows, brickCols, serverPort);
+        game.enableKeyCapture();
+        game.enableIdleMode(Constants.IDLE_TIMEOUT_NANOS);
+        game.run();
     }
 }
@@ -1,5 +1,7 @@
 package bricker.main;
 
+import java.util.List;
+
 /**
  * Constants used throughout the Bricker game.
  */
@@ -176,7 +178,7 @@ public class Constants {
     /**
      * The total number of collision strategies.
      */
-    public static final int NUM_OF_STRATEGIES = 6;
+    public static final int NUM_OF_STRATEGIES = 7;
     /**
      * The index for the basic collision strategy.
      */
@@ -201,10 +203,46 @@ public class Constants {
      * The number of collisions required to reset the camera.
      */
     public static final int RESET_CAMERA_COLLISION_NUM = 4;
+    /**
+     * The index for the explosive collision strategy.
+     */
+    public static final int EXPLOSIVE_COLLISION_STRATEGY_INDEX = 5;
     /**
      * The index for the double collision strategy.
      */
-    public static final int DOUBLE_COLLISION_STRATEGY_INDEX = 5;
+    public static final int DOUBLE_COLLISION_STRATEGY_INDEX = 6;
+    /**
+     * The number of behaviors a double strategy draws, each drawn double adding as many more.
+     */
+    public static final int DOUBLE_STRATEGY_BEHAVIORS = 2;
+    /**
+     * The default weight of every strategy, by strategy index, for being assigned to a brick:
+     * half of the bricks are basic, and the special strategies share the other half evenly.
+     */
+    public static final List<Double> DEFAULT_BRICK_STRATEGY_WEIGHTS =
+            List.of(6.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0);
+    /**
+     * The default weight of every strategy, by strategy index, for being drawn by a double strategy.
+     */
+    public static final List<Double> DEFAULT_COMPOSITE_STRATEGY_WEIGHTS =
+            List.of(1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0);
+    /**
+     * The default number of doubles a double strategy may draw among its behaviors.
+     */
+    public static final int DEFAULT_COMPOSITE_DEPTH = 1;
+    /**
+     * The weight of every strategy for being assigned to a brick, one row per level of the campaign.
+     */
+    public static final List<List<Double>> LEVEL_BRICK_STRATEGY_WEIGHTS = List.of(
+            DEFAULT_BRICK_STRATEGY_WEIGHTS, DEFAULT_BRICK_STRATEGY_WEIGHTS, DEFAULT_BRICK_STRATEGY_WEIGHTS);
+    /**
+     * The number of doubles a double strategy may draw among its behaviors, one per level of the campaign.
+     */
+    public static final List<Integer> LEVEL_COMPOSITE_DEPTHS = List.of(1, 1, 1);
+    /**
+     * The number of rows and columns of bricks an explosive brick destroys around itself.
+     */
+    public static final int EXPLOSION_RADIUS = 1;
 
     /**
      * The factor by which the camera is widened.
@@ -234,4 +272,703 @@ public class Constants {
      * The movement speed.
      */
     public static final float MOVEMENT_SPEED = 300;
+
+    /**
+     * The number of valid arguments when running the game as a server.
+     */
+    public static final int NUM_OF_SERVER_ARGS = 3;
+    /**
+     * The port value meaning the game does not run a server.
+     */
+    public static final int NO_SERVER_PORT = -1;
+    /**
+     * The network kind of objects that are not sent to clients.
+     */
+    public static final int NET_KIND_UNTRACKED = -1;
+    /**
+     * The network kind of the main ball.
+     */
+    public static final int NET_KIND_MAIN_BALL = 0;
+    /**
+     * The network kind of puck balls.
+     */
+    public static final int NET_KIND_PUCK = 1;
+    /**
+     * The network kind of fallen hearts.
+     */
+    public static final int NET_KIND_HEART = 2;
+    /**
+     * The network kind of bonus paddles.
+     */
+    public static final int NET_KIND_BONUS_PADDLE = 3;
+    /**
+     * The frame type of a full game snapshot.
+     */
+    public static final byte NET_FRAME_SNAPSHOT = 0;
+    /**
+     * The frame type of a per-tick delta.
+     */
+    public static final byte NET_FRAME_DELTA = 1;
+    /**
+     * The upper bound on the size of the fixed fields of a delta or snapshot, in bytes.
+     */
+    public static final int NET_DELTA_HEADER_SIZE = 32;
+    /**
+     * The upper bound on the size of a single delta entry (id, kind and position), in bytes.
+     */
+    public static final int NET_MAX_ENTRY_SIZE = 10;
+    /**
+     * The number of quantization steps per pixel of sent positions.
+     */
+    public static final float NET_POSITION_QUANTIZATION = 4;
+    /**
+     * The initial size of the network buffers, in bytes.
+     */
+    public static final int NET_READ_BUFFER_SIZE = 4096;
+    /**
+     * The number of unsent bytes after which a slow client is disconnected.
+     */
+    public static final int NET_MAX_PENDING_BYTES = 1 << 20;
+    /**
+     * The index of the x coordinate in a mirrored client object.
+     */
+    public static final int NET_OBJECT_X_INDEX = 1;
+    /**
+     * The index of the y coordinate in a mirrored client object.
+     */
+    public static final int NET_OBJECT_Y_INDEX = 2;
+    /**
+     * The number of nanoseconds in a second.
+     */
+    public static final long NANOS_IN_SECOND = 1_000_000_000L;
+    /**
+     * The initial capacity of the broad phase arrays.
+     */
+    public static final int BROAD_PHASE_INITIAL_CAPACITY = 64;
+    /**
+     * The margin added around the swept bounds of moving objects, in pixels.
+     * Covers objects, like paddles, whose velocity changes during the frame.
+     */
+    public static final float BROAD_PHASE_MARGIN = 8;
+    /**
+     * The number of levels in the campaign.
+     */
+    public static final int NUM_OF_LEVELS = 3;
+    /**
+     * The number of rows of bricks added in every level of the campaign.
+     */
+    public static final int LEVEL_ROWS_INCREMENT = 2;
+    /**
+     * The number of columns of bricks added in every level of the campaign.
+     */
+    public static final int LEVEL_COLS_INCREMENT = 1;
+    /**
+     * The tag for identifying the particle system in the game.
+     */
+    public static final String PARTICLES_TAG = "Particles";
+    /**
+     * The maximal number of live particles.
+     */
+    public static final int PARTICLE_CAPACITY = 1 << 15;
+    /**
+     * The number of debris particles emitted when a brick is destroyed.
+     */
+    public static final int DEBRIS_PER_BRICK = 24;
+    /**
+     * The number of spark particles emitted when a brick is destroyed.
+     */
+    public static final int SPARKS_PER_BRICK = 12;
+    /**
+     * The maximal initial speed of debris particles in pixels per second.
+     */
+    public static final float DEBRIS_SPEED = 120;
+    /**
+     * The maximal initial speed of spark particles in pixels per second.
+     */
+    public static final float SPARK_SPEED = 260;
+    /**
+     * The maximal lifetime of debris particles in seconds.
+     */
+    public static final float DEBRIS_LIFETIME = 1.2f;
+    /**
+     * The maximal lifetime of spark particles in seconds.
+     */
+    public static final float SPARK_LIFETIME = 0.5f;
+    /**
+     * The downward acceleration of debris particles in pixels per second squared.
+     */
+    public static final float PARTICLE_GRAVITY = 400;
+    /**
+     * The fraction of velocity particles lose per second.
+     */
+    public static final float PARTICLE_DRAG = 1.5f;
+    /**
+     * The size of debris particles in pixels.
+     */
+    public static final int DEBRIS_SIZE = 3;
+    /**
+     * The size of spark particles in pixels.
+     */
+    public static final int SPARK_SIZE = 2;
+    /**
+     * The RGB color of debris particles.
+     */
+    public static final int DEBRIS_COLOR_RGB = 0xB5651D;
+    /**
+     * The RGB color of spark particles.
+     */
+    public static final int SPARK_COLOR_RGB = 0xFFD54F;
+    /**
+     * A full circle in radians.
+     */
+    public static final float FULL_CIRCLE_RADIANS = (float) (2 * Math.PI);
+    /**
+     * The shift keeping the top 24 bits of a random long, to build a random float.
+     */
+    public static final int RANDOM_FLOAT_SHIFT = 40;
+    /**
+     * The unit turning 24 random bits into a float in [0, 1).
+     */
+    public static final float RANDOM_FLOAT_UNIT = 1f / (1 << 24);
+    /**
+     * The number of bricks a level builder chunk aims for, rounded to whole rows.
+     */
+    public static final int BRICKS_PER_BUILD_CHUNK = 4096;
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    public static final long NANOS_IN_MILLISECOND = 1_000_000L;
+    /**
+     * The rows of the boards built by the level build benchmark (10^4 to 10^6 bricks).
+     */
+    public static final List<Integer> BENCHMARK_BOARD_ROWS = List.of(100, 1000, 10000);
+    /**
+     * The columns of the boards built by the level build benchmark.
+     */
+    public static final int BENCHMARK_BOARD_COLS = 100;
+    /**
+     * The number of times every benchmark measurement is repeated.
+     */
+    public static final int BENCHMARK_REPETITIONS = 5;
+    /**
+     * The log2 of the number of slots of the game tick timing wheel.
+     */
+    public static final int TICK_WHEEL_SLOTS_LOG2 = 8;
+    /**
+     * The log2 of the number of slots of a per-source event timing wheel.
+     */
+    public static final int EVENT_WHEEL_SLOTS_LOG2 = 4;
+    /**
+     * The margin around the view inside which objects are still rendered, in pixels.
+     */
+    public static final float CULL_MARGIN = 32;
+    /**
+     * The size of a cell of the culling grid, in pixels.
+     */
+    public static final float CULL_CELL_SIZE = 64;
+    /**
+     * The directory game event logs are written to.
+     */
+    public static final String EVENT_LOG_DIRECTORY = "event_logs";
+    /**
+     * The separator between the parts of an event source made of several names.
+     */
+    public static final String EVENT_SOURCE_SEPARATOR = "/";
+    /**
+     * The prefix of game event log file names, followed by the game start time.
+     */
+    public static final String EVENT_LOG_FILE_PREFIX = "game-";
+    /**
+     * The suffix of game event log file names.
+     */
+    public static final String EVENT_LOG_FILE_SUFFIX = ".jsonl";
+    /**
+     * The log2 of the number of events the event ring buffer holds.
+     */
+    public static final int EVENT_RING_CAPACITY_LOG2 = 14;
+    /**
+     * The maximal number of events the log writer drains at once.
+     */
+    public static final int EVENT_LOG_DRAIN_BATCH = 1024;
+    /**
+     * The time the log writer sleeps when there are no events, in nanoseconds.
+     */
+    public static final long EVENT_LOG_IDLE_NANOS = 2_000_000L;
+    /**
+     * The size of the event log file buffer, in bytes.
+     */
+    public static final int EVENT_LOG_BUFFER_SIZE = 1 << 16;
+    /**
+     * The value of a camera change event when a camera was set.
+     */
+    public static final int CAMERA_SET_EVENT_VALUE = 1;
+    /**
+     * The value of a camera change event when the camera was reset.
+     */
+    public static final int CAMERA_RESET_EVENT_VALUE = 0;
+    /**
+     * The value of a game over event when the game was won.
+     */
+    public static final int WIN_EVENT_VALUE = 1;
+    /**
+     * The value of a game over event when the game was lost.
+     */
+    public static final int LOSE_EVENT_VALUE = 0;
+    /**
+     * The value of game events that carry no value.
+     */
+    public static final int NO_EVENT_VALUE = 0;
+    /**
+     * The format of coordinates in JSON-lines event logs.
+     */
+    public static final String EVENT_LOG_COORDINATE_FORMAT = "%.1f";
+    /**
+     * The path of the file game results are stored in.
+     */
+    public static final String HIGH_SCORE_FILE_PATH = "high_scores/scores.dat";
+    /**
+     * The number of best results kept in memory.
+     */
+    public static final int HIGH_SCORE_TOP_CAPACITY = 10;
+    /**
+     * The first bytes of a high score file.
+     */
+    public static final int HIGH_SCORE_FILE_MAGIC = 0x42524B53;
+    /**
+     * The version of the high score file format.
+     */
+    public static final int HIGH_SCORE_FILE_VERSION = 1;
+    /**
+     * The size of the header of a high score file: the magic number and the version.
+     */
+    public static final int HIGH_SCORE_HEADER_SIZE = 2 * Integer.BYTES;
+    /**
+     * The size of a high score record: its fields followed by their checksum.
+     */
+    public static final int HIGH_SCORE_RECORD_SIZE = 2 * Long.BYTES + 5 * Integer.BYTES;
+    /**
+     * The number of bytes the mapping of a high score file grows by.
+     */
+    public static final int HIGH_SCORE_FILE_GROWTH = 1 << 16;
+    /**
+     * The time closing a high score store waits for pending writes, in milliseconds.
+     */
+    public static final long HIGH_SCORE_CLOSE_TIMEOUT_MILLIS = 1000;
+    /**
+     * The prompt showing the best result, followed by its number of bricks destroyed.
+     */
+    public static final String BEST_SCORE_PROMPT = "Best: %d bricks. ";
+    /**
+     * The path of the asset bundle holding the sprite atlas.
+     */
+    public static final String ASSET_BUNDLE_PATH = "assets/sprites.bundle";
+    /**
+     * The first bytes of an asset bundle file.
+     */
+    public static final int ASSET_BUNDLE_MAGIC = 0x42524B41;
+    /**
+     * The version of the asset bundle file format.
+     */
+    public static final int ASSET_BUNDLE_VERSION = 1;
+    /**
+     * The size of the header of an asset bundle: magic, version, atlas size and number of sprites.
+     */
+    public static final int ASSET_BUNDLE_HEADER_SIZE = 5 * Integer.BYTES;
+    /**
+     * The number of atlas rows copied by a single task when loading an asset bundle.
+     */
+    public static final int ASSET_BUNDLE_ROWS_PER_BAND = 64;
+    /**
+     * The minimal width of the sprite atlas, in pixels.
+     */
+    public static final int ATLAS_WIDTH = 1024;
+    /**
+     * The mask of the color channels of an ARGB pixel.
+     */
+    public static final int RGB_MASK = 0x00FFFFFF;
+    /**
+     * The images packed into the asset bundle as they are.
+     */
+    public static final List<String> BUNDLED_OPAQUE_IMAGE_PATHS = List.of(
+            BACKGROUND_IMAGE_PATH, PADDLE_IMAGE_PATH, BRICK_IMAGE_PATH);
+    /**
+     * The images packed into the asset bundle with the color of their top left pixel transparent.
+     */
+    public static final List<String> BUNDLED_TRANSPARENT_IMAGE_PATHS = List.of(
+            BALL_IMAGE_PATH, PUCK_BALL_IMAGE_PATH, HEART_IMAGE_PATH);
+    /**
+     * The log2 of the number of key events the input queue holds.
+     */
+    public static final int INPUT_QUEUE_CAPACITY_LOG2 = 10;
+    /**
+     * The number of key codes the input timeline tracks, covering the KeyEvent codes of the keyboard.
+     */
+    public static final int MAX_KEY_CODE = 1 << 10;
+    /**
+     * The number of pucks a puck brick spawns.
+     */
+    public static final int PUCKS_PER_COLLISION = 2;
+    /**
+     * The frame time the entity governor keeps the game under, in nanoseconds (75% of a 60 Hz frame).
+     */
+    public static final long FRAME_BUDGET_NANOS = 12_500_000L;
+    /**
+     * The weight of the last frame in the moving average of the frame time.
+     */
+    public static final float FRAME_TIME_SMOOTHING = 0.1f;
+    /**
+     * The part of the frame budget the average frame time must fall under before the governor
+     * stops degrading the game.
+     */
+    public static final float BUDGET_RECOVERY_FACTOR = 0.8f;
+    /**
+     * The maximal number of live pucks.
+     */
+    public static final int MAX_LIVE_PUCKS = 64;
+    /**
+     * The maximal number of live falling hearts.
+     */
+    public static final int MAX_LIVE_FALLEN_HEARTS = 16;
+    /**
+     * The maximal number of live bonus paddles.
+     */
+    public static final int MAX_LIVE_BONUS_PADDLES = 1;
+    /**
+     * The maximal number of spawns waiting for room.
+     */
+    public static final int MAX_DEFERRED_SPAWNS = 64;
+    /**
+     * The maximal number of deferred spawns released on a single frame.
+     */
+    public static final int MAX_RELEASED_SPAWNS_PER_FRAME = 4;
+    /**
+     * The number of pucks under which pucks are never merged.
+     */
+    public static final int MIN_PUCKS_BEFORE_MERGING = 8;
+    /**
+     * The maximal number of puck pairs merged on a single frame.
+     */
+    public static final int MAX_PUCK_MERGES_PER_FRAME = 8;
+    /**
+     * The maximal distance between the centers of two pucks that are merged, in pixels.
+     */
+    public static final float PUCK_MERGE_DISTANCE = 120;
+    /**
+     * The size of the off-heap storage of the rewind buffer, in bytes.
+     */
+    public static final int REWIND_BUFFER_BYTES = 4 * 1024 * 1024;
+    /**
+     * The maximal number of ticks the rewind buffer keeps, a minute of play at 60 frames per second.
+     */
+    public static final int REWIND_MAX_FRAMES = 60 * 60;
+    /**
+     * The number of ticks between the keyframes of the rewind buffer.
+     */
+    public static final int REWIND_KEYFRAME_INTERVAL = 60;
+    /**
+     * The time a rewind goes back, in seconds.
+     */
+    public static final float REWIND_SECONDS = 3;
+    /**
+     * The time a tick of a performance scenario simulates, in seconds.
+     */
+    public static final float SCENARIO_TICK_SECONDS = 1f / 60;
+    /**
+     * The number of ticks a performance scenario runs before it is measured, so the JIT warms up.
+     */
+    public static final int SCENARIO_WARMUP_TICKS = 600;
+    /**
+     * The number of measured ticks of a performance scenario.
+     */
+    public static final int SCENARIO_MEASURED_TICKS = 3600;
+    /**
+     * The number of rows and columns of the board of the large board scenario.
+     */
+    public static final int SCENARIO_LARGE_BOARD_SIZE = 200;
+    /**
+     * The number of pucks the puck storm scenario tries to spawn every tick.
+     */
+    public static final int SCENARIO_PUCKS_PER_TICK = 4;
+    /**
+     * The number of hearts the falling hearts scenario tries to drop every tick.
+     */
+    public static final int SCENARIO_HEARTS_PER_TICK = 2;
+    /**
+     * The number of ticks between camera switches in the camera switching scenario.
+     */
+    public static final int SCENARIO_CAMERA_SWITCH_TICKS = 3;
+    /**
+     * The percentile of the frame times a scenario reports.
+     */
+    public static final double SCENARIO_FRAME_TIME_PERCENTILE = 0.99;
+    /**
+     * The path of the stored baseline the scenario results are compared with.
+     */
+    public static final String SCENARIO_BASELINE_PATH = "benchmarks/scenario_baseline.properties";
+    /**
+     * The argument of the scenario runner that stores its results as the new baseline.
+     */
+    public static final String SCENARIO_RECORD_BASELINE_ARG = "--record-baseline";
+    /**
+     * The relative change from the baseline beyond which a scenario metric is flagged as a regression.
+     */
+    public static final double SCENARIO_REGRESSION_THRESHOLD = 0.15;
+    /**
+     * The number of bytes in a mebibyte.
+     */
+    public static final double BYTES_IN_MEBIBYTE = 1024 * 1024;
+    /**
+     * The default rate of the simulation thread of the decoupled game, in ticks per second.
+     */
+    public static final int DEFAULT_SIMULATION_RATE = 120;
+    /**
+     * The default rate of the render thread of the decoupled game, in frames per second.
+     */
+    public static final int DEFAULT_RENDER_RATE = 60;
+    /**
+     * The number of ticks the simulation runs back to back to catch up before dropping the missed time.
+     */
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    /**
+     * The period over which the simulation and render rates are measured, in nanoseconds.
+     */
+    public static final long RATE_SAMPLE_PERIOD_NANOS = NANOS_IN_SECOND;
+    /**
+     * The number of buffers the render thread draws into.
+     */
+    public static final int RENDER_BUFFER_COUNT = 2;
+    /**
+     * The time between updates of the measured rates in the title of the decoupled game window.
+     */
+    public static final int RATE_TITLE_UPDATE_MILLIS = 1000;
+    /**
+     * The title of the decoupled game window, showing the measured rates and the dropped frames.
+     */
+    public static final String DECOUPLED_TITLE_FORMAT =
+            "%s - simulation %.0f Hz, render %.0f fps, %d dropped";
+    /**
+     * The number of arguments of the decoupled game that set the board and the rates.
+     */
+    public static final int NUM_OF_DECOUPLED_RATE_ARGS = 4;
+    /**
+     * The number of ticks an entity may stay out of the playfield before the audit reports it leaked.
+     */
+    public static final int LEAK_AUDIT_GRACE_TICKS = 120;
+    /**
+     * The distance beyond the edges of the window at which an entity is out of the playfield, in pixels.
+     */
+    public static final float LEAK_AUDIT_MARGIN = 50;
+    /**
+     * The time step of the games of the training environments, in seconds.
+     */
+    public static final float TRAINING_TICK_SECONDS = 1f / 60;
+    /**
+     * The number of ticks a training environment runs with the same action in one step.
+     */
+    public static final int TRAINING_TICKS_PER_STEP = 4;
+    /**
+     * The number of steps after which an episode of a training environment is cut short.
+     */
+    public static final int TRAINING_MAX_EPISODE_STEPS = 5000;
+    /**
+     * The reward subtracted for every heart lost in a training environment, where a brick is worth one.
+     */
+    public static final float TRAINING_HEART_PENALTY = 5;
+    /**
+     * The number of pucks whose positions are observed in a training environment.
+     */
+    public static final int TRAINING_OBSERVED_PUCKS = 8;
+    /**
+     * The index of the x coordinate of the paddle center in an observation row.
+     */
+    public static final int OBSERVATION_PADDLE_X = 0;
+    /**
+     * The index of the x coordinate of the main ball center in an observation row.
+     */
+    public static final int OBSERVATION_BALL_X = 1;
+    /**
+     * The index of the y coordinate of the main ball center in an observation row.
+     */
+    public static final int OBSERVATION_BALL_Y = 2;
+    /**
+     * The index of the horizontal velocity of the main ball in an observation row.
+     */
+    public static final int OBSERVATION_BALL_VELOCITY_X = 3;
+    /**
+     * The index of the vertical velocity of the main ball in an observation row.
+     */
+    public static final int OBSERVATION_BALL_VELOCITY_Y = 4;
+    /**
+     * The index of the number of observed pucks in an observation row.
+     */
+    public static final int OBSERVATION_NUM_OF_PUCKS = 5;
+    /**
+     * The index of the first puck in an observation row, followed by the x and y of every puck.
+     */
+    public static final int OBSERVATION_FIRST_PUCK = 6;
+    /**
+     * The number of floats in an observation row.
+     */
+    public static final int OBSERVATION_SIZE = OBSERVATION_FIRST_PUCK + 2 * TRAINING_OBSERVED_PUCKS;
+    /**
+     * The number of steps the training benchmark runs before measuring.
+     */
+    public static final int TRAINING_BENCHMARK_WARMUP_STEPS = 200;
+    /**
+     * The number of steps the training benchmark measures.
+     */
+    public static final int TRAINING_BENCHMARK_MEASURED_STEPS = 1000;
+    /**
+     * The default largest number of environments the training benchmark runs.
+     */
+    public static final int TRAINING_BENCHMARK_MAX_ENVIRONMENTS = 64;
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    public static final long NANOS_IN_MICROSECOND = 1_000L;
+    /**
+     * The system property that runs AWT without a display.
+     */
+    public static final String AWT_HEADLESS_PROPERTY = "java.awt.headless";
+    /**
+     * The time step of the offscreen game, in seconds.
+     */
+    public static final float CAPTURE_TICK_SECONDS = 1f / 60;
+    /**
+     * The default number of ticks the offscreen game runs.
+     */
+    public static final int DEFAULT_CAPTURE_TICKS = 600;
+    /**
+     * The default number of ticks between the frames the offscreen game captures.
+     */
+    public static final int DEFAULT_CAPTURE_INTERVAL_TICKS = 6;
+    /**
+     * The default size of the captured images relative to the window.
+     */
+    public static final float DEFAULT_CAPTURE_SCALE = 1;
+    /**
+     * The number of arguments of the offscreen game that set the board, the ticks and the capture.
+     */
+    public static final int NUM_OF_CAPTURE_ARGS = 5;
+    /**
+     * The number of captured frames that can wait for the encoders before frames are dropped.
+     */
+    public static final int CAPTURE_QUEUE_CAPACITY = 8;
+    /**
+     * The directory the offscreen game writes its frames to.
+     */
+    public static final String CAPTURE_DIRECTORY = "captures";
+    /**
+     * The name of a captured frame file, by the number of its tick.
+     */
+    public static final String CAPTURE_FILE_FORMAT = "frame_%08d.png";
+    /**
+     * The image format of the captured frames.
+     */
+    public static final String CAPTURE_IMAGE_FORMAT = "png";
+    /**
+     * The number of ticks the broad phase benchmark measures, after as many warmup ticks.
+     */
+    public static final int BROAD_PHASE_BENCHMARK_TICKS = 2000;
+    /**
+     * The number of moving objects of the broad phase benchmark.
+     */
+    public static final int BROAD_PHASE_BENCHMARK_OBJECTS = 250;
+    /**
+     * The number of distinct contact normals a ball gathers in a tick (the four sides of a brick).
+     */
+    public static final int CONTACT_MANIFOLD_CAPACITY = 4;
+    /**
+     * The cosine above which two contact normals of a tick are taken as the same surface.
+     */
+    public static final float CONTACT_NORMAL_MERGE_COSINE = 0.99f;
+    /**
+     * The time deferred work gets in a frame whose critical step used up the frame budget (0.25 ms).
+     */
+    public static final long DEFERRED_MIN_SLICE_NANOS = 250_000L;
+    /**
+     * The most time deferred work may take in a frame (2 ms).
+     */
+    public static final long DEFERRED_MAX_SLICE_NANOS = 2_000_000L;
+    /**
+     * The number of objects the out of range sweep checks between two looks at its deadline.
+     */
+    public static final int SWEEP_DEADLINE_CHECK_INTERVAL = 64;
+    /**
+     * The name of the focus manager property holding the focused window of the application.
+     */
+    public static final String ACTIVE_WINDOW_PROPERTY = "activeWindow";
+    /**
+     * The time without input after which an interactive game goes idle (2 minutes).
+     */
+    public static final long IDLE_TIMEOUT_NANOS = 120 * NANOS_IN_SECOND;
+    /**
+     * The frame rate of a paused or idle game, only fast enough to notice input and focus.
+     */
+    public static final int IDLE_FRAME_RATE = 4;
+    /**
+     * The longest time step simulated on the first frame after a pause, so the paused time is not
+     * simulated.
+     */
+    public static final float MAX_RESUME_DELTA_SECONDS = 1f / 60;
+    /**
+     * The idle timeout of the idle benchmark (1 second).
+     */
+    public static final long IDLE_BENCHMARK_TIMEOUT_NANOS = NANOS_IN_SECOND;
+    /**
+     * The time every phase of the idle benchmark is measured for, in seconds.
+     */
+    public static final int IDLE_BENCHMARK_PHASE_SECONDS = 3;
+    /**
+     * The time between two scripted key presses in the active phase of the idle benchmark (100 ms).
+     */
+    public static final long IDLE_BENCHMARK_PRESS_INTERVAL_NANOS = 100_000_000L;
+    /**
+     * The rows of the board of the strip simulation benchmark (10^6 bricks with its columns).
+     */
+    public static final int STRIP_BENCHMARK_BRICK_ROWS = 1000;
+    /**
+     * The columns of the board of the strip simulation benchmark.
+     */
+    public static final int STRIP_BENCHMARK_BRICK_COLS = 1000;
+    /**
+     * The width of the bricks of the strip simulation benchmark, about the width of a level's bricks.
+     */
+    public static final float STRIP_BENCHMARK_BRICK_WIDTH = 40;
+    /**
+     * The number of balls of the strip simulation benchmark.
+     */
+    public static final int STRIP_BENCHMARK_BALLS = 512;
+    /**
+     * The number of ticks the strip simulation benchmark runs before measuring.
+     */
+    public static final int STRIP_BENCHMARK_WARMUP_TICKS = 500;
+    /**
+     * The number of ticks the strip simulation benchmark measures.
+     */
+    public static final int STRIP_BENCHMARK_MEASURED_TICKS = 2000;
+    /**
+     * The largest number of strips the strip simulation benchmark splits the board into.
+     */
+    public static final int STRIP_BENCHMARK_MAX_STRIPS = 16;
+    /**
+     * The number of bricks of the board of the rewind benchmark, a 200x200 board.
+     */
+    public static final int REWIND_BENCHMARK_BRICKS = 200 * 200;
+    /**
+     * The number of balls recorded by the rewind benchmark, the main ball and nine pucks.
+     */
+    public static final int REWIND_BENCHMARK_BALLS = 10;
+    /**
+     * The number of ticks the rewind benchmark records before measuring.
+     */
+    public static final int REWIND_BENCHMARK_WARMUP_TICKS = 20_000;
+    /**
+     * The number of ticks whose recording the rewind benchmark measures.
+     */
+    public static final int REWIND_BENCHMARK_MEASURED_TICKS = 20_000;
+    /**
+     * The number of seeks the rewind benchmark measures.
+     */
+    public static final int REWIND_BENCHMARK_SEEKS = 20_000;
 }
@@ -0,0 +1,286 @@
+package bricker.network;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.BonusPaddle;
+import bricker.gameobjects.FallenHeart;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the authoritative game state and encodes it as compact per-tick deltas.
+ * Bricks are identified by their row-major index in the brick grid, and every other
+ * dynamic object (balls, pucks, fallen hearts and bonus paddles) gets a running id when spawned.
+ * A delta only carries what changed since the previous tick: destroyed bricks, spawned and
+ * removed objects, and the positions of the balls that moved.
+ * Ids are written as variable length integers and positions are quantized into shorts.
+ */
+public class DeltaEncoder {
+    private final int brickRows;
+    private final int brickCols;
+    private final BitSet destroyedBricks;
+    private final Map<GameObject, Integer> brickIds;
+    private final Map<GameObject, Integer> objectIds;
+    private final Map<GameObject, Integer> lastBallPositions;
+    private final List<Integer> tickDestroyedBricks;
+    private final List<GameObject> tickSpawned;
+    private final List<Integer> tickRemoved;
+    private final List<GameObject> tickMovedBalls;
+    private int nextObjectId;
+    private int tick;
+
+    /**
+     * Constructor.
+     * @param brickRows the number of rows of bricks in the game
+     * @param brickCols the number of columns of bricks in the game
+     */
+    public DeltaEncoder(int brickRows, int brickCols) {
+        this.brickRows = brickRows;
+        this.brickCols = brickCols;
+        this.destroyedBricks = new BitSet(brickRows * brickCols);
+        this.brickIds = new IdentityHashMap<>();
+        this.objectIds = new IdentityHashMap<>();
+        this.lastBallPositions = new IdentityHashMap<>();
+        this.tickDestroyedBricks = new ArrayList<>();
+        this.tickSpawned = new ArrayList<>();
+        this.tickRemoved = new ArrayList<>();
+        this.tickMovedBalls = new ArrayList<>();
+    }
+
+    /**
+     * Registers a brick under its row-major index in the brick grid.
+     * @param brick the brick game object
+     * @param row the row of the brick
+     * @param col the column of the brick
+     */
+    public void registerBrick(GameObject brick, int row, int col) {
+        this.brickIds.put(brick, row * this.brickCols + col);
+    }
+
+    /**
+     * Marks a brick of the grid destroyed without announcing it as destroyed in the next tick,
+     * such as when tracking starts over a board that is already partly cleared.
+     * @param row the row of the brick
+     * @param col the column of the brick
+     */
+    public void markBrickDestroyed(int row, int col) {
+        this.destroyedBricks.set(row * this.brickCols + col);
+    }
+
+    /**
+     * Records that a game object was added to the game.
+     * Only dynamic objects the clients need to draw are tracked.
+     * @param gameObject the added game object
+     */
+    public void onObjectAdded(GameObject gameObject) {
+        if (kindOf(gameObject) == Constants.NET_KIND_UNTRACKED || this.objectIds.containsKey(gameObject)) {
+            return;
+        }
+        this.objectIds.put(gameObject, this.nextObjectId++);
+        this.tickSpawned.add(gameObject);
+    }
+
+    /**
+     * Records that a game object was removed from the game.
+     * @param gameObject the removed game object
+     */
+    public void onObjectRemoved(GameObject gameObject) {
+        Integer brickId = this.brickIds.remove(gameObject);
+        if (brickId != null) {
+            this.destroyedBricks.set(brickId);
+            this.tickDestroyedBricks.add(brickId);
+            return;
+        }
+        Integer objectId = this.objectIds.remove(gameObject);
+        if (objectId == null) {
+            return;
+        }
+        this.lastBallPositions.remove(gameObject);
+        // An object spawned and removed within the same tick never reaches the clients
+        if (!this.tickSpawned.remove(gameObject)) {
+            this.tickRemoved.add(objectId);
+        }
+    }
+
+    /**
+     * Collects the balls whose quantized position changed since the last encoded tick.
+     * Should be called once per tick, after the simulation step.
+     */
+    public void captureBallPositions() {
+        for (Map.Entry<GameObject, Integer> entry : this.objectIds.entrySet()) {
+            GameObject gameObject = entry.getKey();
+            if (!(gameObject instanceof Ball)) {
+                continue;
+            }
+            int packedPosition = packPosition(gameObject.getCenter());
+            Integer lastPosition = this.lastBallPositions.put(gameObject, packedPosition);
+            if (lastPosition == null || lastPosition != packedPosition) {
+                this.tickMovedBalls.add(gameObject);
+            }
+        }
+    }
+
+    /**
+     * Writes the delta of the current tick into the buffer and starts a new tick.
+     * Layout: tick, destroyed brick ids, spawned objects (id, kind, position),
+     * removed object ids, and moved balls (id, position). Every list is prefixed with its size.
+     * @param out the buffer to write into, must have at least maxDeltaSize() bytes remaining
+     */
+    public void encodeTick(ByteBuffer out) {
+        writeVarInt(out, this.tick);
+        writeVarInt(out, this.tickDestroyedBricks.size());
+        for (int brickId : this.tickDestroyedBricks) {
+            writeVarInt(out, brickId);
+        }
+        writeVarInt(out, this.tickSpawned.size());
+        for (GameObject gameObject : this.tickSpawned) {
+            writeObject(out, gameObject);
+        }
+        writeVarInt(out, this.tickRemoved.size());
+        for (int objectId : this.tickRemoved) {
+            writeVarInt(out, objectId);
+        }
+        // Spawned balls already carry their position
+        this.tickMovedBalls.removeAll(this.tickSpawned);
+        writeVarInt(out, this.tickMovedBalls.size());
+        for (GameObject ball : this.tickMovedBalls) {
+            writeVarInt(out, this.objectIds.get(ball));
+            writePosition(out, ball.getCenter());
+        }
+        this.tickDestroyedBricks.clear();
+        this.tickSpawned.clear();
+        this.tickRemoved.clear();
+        this.tickMovedBalls.clear();
+        this.tick++;
+    }
+
+    /**
+     * Writes a full snapshot for a newly connected client: board size, destroyed bricks bitmap,
+     * and every live tracked object.
+     * @param out the buffer to write into, must have at least maxSnapshotSize() bytes remaining
+     */
+    public void encodeSnapshot(ByteBuffer out) {
+        writeVarInt(out, this.tick);
+        writeVarInt(out, this.brickRows);
+        writeVarInt(out, this.brickCols);
+        byte[] destroyedBitmap = this.destroyedBricks.toByteArray();
+        writeVarInt(out, destroyedBitmap.length);
+        out.put(destroyedBitmap);
+        writeVarInt(out, this.objectIds.size());
+        for (GameObject gameObject : this.objectIds.keySet()) {
+            writeObject(out, gameObject);
+        }
+    }
+
+    /**
+     * Returns an upper bound on the encoded size of the current tick's delta.
+     * @return the maximal size in bytes
+     */
+    public int maxDeltaSize() {
+        int numOfEntries = this.tickDestroyedBricks.size() + this.tickSpawned.size() +
+                this.tickRemoved.size() + this.tickMovedBalls.size();
+        return Constants.NET_DELTA_HEADER_SIZE + numOfEntries * Constants.NET_MAX_ENTRY_SIZE;
+    }
+
+    /**
+     * Returns an upper bound on the encoded size of a full snapshot.
+     * @return the maximal size in bytes
+     */
+    public int maxSnapshotSize() {
+        return Constants.NET_DELTA_HEADER_SIZE + this.brickRows * this.brickCols / Byte.SIZE + 1 +
+                this.objectIds.size() * Constants.NET_MAX_ENTRY_SIZE;
+    }
+
+    /*
+     * Writes the id, kind and position of a tracked object.
+     */
+    private void writeObject(ByteBuffer out, GameObject gameObject) {
+        writeVarInt(out, this.objectIds.get(gameObject));
+        out.put((byte) kindOf(gameObject));
+        writePosition(out, gameObject.getCenter());
+    }
+
+    /*
+     * Returns the network kind of the game object, or NET_KIND_UNTRACKED.
+     */
+    private static int kindOf(GameObject gameObject) {
+        if (gameObject instanceof Ball) {
+            return gameObject.getTag().equals(Constants.MAIN_BALL_TAG) ?
+                    Constants.NET_KIND_MAIN_BALL : Constants.NET_KIND_PUCK;
+        }
+        if (gameObject instanceof FallenHeart) {
+            return Constants.NET_KIND_HEART;
+        }
+        if (gameObject instanceof BonusPaddle) {
+            return Constants.NET_KIND_BONUS_PADDLE;
+        }
+        return Constants.NET_KIND_UNTRACKED;
+    }
+
+    /*
+     * Quantizes a position and packs both coordinates into a single int.
+     */
+    private static int packPosition(Vector2 position) {
+        return (quantize(position.x()) << Short.SIZE) | (quantize(position.y()) & 0xFFFF);
+    }
+
+    /*
+     * Writes a quantized position as two shorts.
+     */
+    private static void writePosition(ByteBuffer out, Vector2 position) {
+        out.putShort(quantize(position.x()));
+        out.putShort(quantize(position.y()));
+    }
+
+    /*
+     * Quantizes a coordinate into a short, clamping it to the short range.
+     */
+    private static short quantize(float coordinate) {
+        int quantized = Math.round(coordinate * Constants.NET_POSITION_QUANTIZATION);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, quantized));
+    }
+
+    /*
+     * Writes a non-negative int using 7 bits per byte.
+     */
+    private static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a variable length int written by the encoder.
+     * @param in the buffer to read from
+     * @return the decoded value
+     */
+    public static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = in.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a quantized coordinate written by the encoder.
+     * @param in the buffer to read from
+     * @return the coordinate in pixels
+     */
+    public static float readCoordinate(ByteBuffer in) {
+        return in.getShort() / Constants.NET_POSITION_QUANTIZATION;
+    }
+}
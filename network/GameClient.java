@@ -0,0 +1,232 @@
+package bricker.network;
+
+import bricker.main.Constants;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a thin client of a GameServer running on the same machine.
+ * The client does not simulate anything: it sends paddle input and mirrors the server state
+ * by applying the snapshot and delta frames it receives.
+ * The mirrored state is the destroyed bricks bitmap and the kind and position of every live
+ * dynamic object, keyed by its network id.
+ */
+public class GameClient {
+    private final SocketChannel channel;
+    private final ByteBuffer inputBuffer;
+    private ByteBuffer receiveBuffer;
+    private final BitSet destroyedBricks;
+    private final Map<Integer, float[]> objects;
+    private int brickRows;
+    private int brickCols;
+    private int lastTick;
+    private long totalBytesReceived;
+    private int lastSentDirection;
+
+    /**
+     * Constructor.
+     * Connects to a server listening on the loopback interface.
+     * @param port the port of the server
+     * @throws IOException if the connection fails
+     */
+    public GameClient(int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.channel.configureBlocking(false);
+        this.channel.socket().setTcpNoDelay(true);
+        this.inputBuffer = ByteBuffer.allocate(Byte.BYTES);
+        this.receiveBuffer = ByteBuffer.allocate(Constants.NET_READ_BUFFER_SIZE);
+        this.destroyedBricks = new BitSet();
+        this.objects = new HashMap<>();
+    }
+
+    /**
+     * Sends the paddle direction to the server, if it changed since the last call.
+     * @param direction -1 for left, 1 for right, or 0
+     * @throws IOException if the connection is broken
+     */
+    public void sendPaddleDirection(int direction) throws IOException {
+        direction = Integer.signum(direction);
+        if (direction == this.lastSentDirection) {
+            return;
+        }
+        this.inputBuffer.clear();
+        this.inputBuffer.put((byte) direction).flip();
+        if (this.channel.write(this.inputBuffer) > 0) {
+            this.lastSentDirection = direction;
+        }
+    }
+
+    /**
+     * Reads every frame received so far and applies it to the mirrored state, without blocking.
+     * @return the number of frames applied
+     * @throws IOException if the connection is broken
+     */
+    public int poll() throws IOException {
+        int bytesRead;
+        while ((bytesRead = this.channel.read(this.receiveBuffer)) > 0) {
+            this.totalBytesReceived += bytesRead;
+            if (!this.receiveBuffer.hasRemaining()) {
+                growReceiveBuffer(this.receiveBuffer.capacity() * 2);
+            }
+        }
+        if (bytesRead < 0) {
+            throw new IOException("Server closed the connection");
+        }
+        this.receiveBuffer.flip();
+        int numOfFrames = 0;
+        while (this.receiveBuffer.remaining() >= Integer.BYTES) {
+            int frameSize = this.receiveBuffer.getInt(this.receiveBuffer.position());
+            if (this.receiveBuffer.remaining() < Integer.BYTES + frameSize) {
+                break;
+            }
+            this.receiveBuffer.position(this.receiveBuffer.position() + Integer.BYTES);
+            applyFrame(this.receiveBuffer);
+            numOfFrames++;
+        }
+        this.receiveBuffer.compact();
+        return numOfFrames;
+    }
+
+    /**
+     * Returns whether the brick with the given row-major index was destroyed.
+     * @param brickId the brick index
+     * @return true if the brick was destroyed
+     */
+    public boolean isBrickDestroyed(int brickId) {
+        return this.destroyedBricks.get(brickId);
+    }
+
+    /**
+     * Returns the live dynamic objects, mapping network id to {kind, x, y}.
+     * @return the mirrored objects
+     */
+    public Map<Integer, float[]> objects() {
+        return this.objects;
+    }
+
+    /**
+     * Returns the number of rows of bricks of the mirrored board.
+     * @return the number of rows
+     */
+    public int brickRows() {
+        return this.brickRows;
+    }
+
+    /**
+     * Returns the number of columns of bricks of the mirrored board.
+     * @return the number of columns
+     */
+    public int brickCols() {
+        return this.brickCols;
+    }
+
+    /**
+     * Returns the last server tick applied.
+     * @return the last tick
+     */
+    public int lastTick() {
+        return this.lastTick;
+    }
+
+    /**
+     * Returns the number of bytes received from the server.
+     * @return the received bytes
+     */
+    public long totalBytesReceived() {
+        return this.totalBytesReceived;
+    }
+
+    /**
+     * Closes the connection to the server.
+     */
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+            // The server is gone either way
+        }
+    }
+
+    /*
+     * Applies a single snapshot or delta frame.
+     */
+    private void applyFrame(ByteBuffer in) {
+        byte frameType = in.get();
+        this.lastTick = DeltaEncoder.readVarInt(in);
+        if (frameType == Constants.NET_FRAME_SNAPSHOT) {
+            applySnapshot(in);
+        } else {
+            applyDelta(in);
+        }
+    }
+
+    /*
+     * Replaces the mirrored state with a full snapshot.
+     */
+    private void applySnapshot(ByteBuffer in) {
+        this.brickRows = DeltaEncoder.readVarInt(in);
+        this.brickCols = DeltaEncoder.readVarInt(in);
+        byte[] destroyedBitmap = new byte[DeltaEncoder.readVarInt(in)];
+        in.get(destroyedBitmap);
+        this.destroyedBricks.clear();
+        this.destroyedBricks.or(BitSet.valueOf(destroyedBitmap));
+        this.objects.clear();
+        readObjects(in);
+    }
+
+    /*
+     * Applies the changes of a single tick.
+     */
+    private void applyDelta(ByteBuffer in) {
+        int numOfDestroyed = DeltaEncoder.readVarInt(in);
+        for (int i = 0; i < numOfDestroyed; i++) {
+            this.destroyedBricks.set(DeltaEncoder.readVarInt(in));
+        }
+        readObjects(in);
+        int numOfRemoved = DeltaEncoder.readVarInt(in);
+        for (int i = 0; i < numOfRemoved; i++) {
+            this.objects.remove(DeltaEncoder.readVarInt(in));
+        }
+        int numOfMoved = DeltaEncoder.readVarInt(in);
+        for (int i = 0; i < numOfMoved; i++) {
+            float[] object = this.objects.get(DeltaEncoder.readVarInt(in));
+            float x = DeltaEncoder.readCoordinate(in);
+            float y = DeltaEncoder.readCoordinate(in);
+            if (object != null) {
+                object[Constants.NET_OBJECT_X_INDEX] = x;
+                object[Constants.NET_OBJECT_Y_INDEX] = y;
+            }
+        }
+    }
+
+    /*
+     * Reads a size-prefixed list of spawned objects.
+     */
+    private void readObjects(ByteBuffer in) {
+        int numOfObjects = DeltaEncoder.readVarInt(in);
+        for (int i = 0; i < numOfObjects; i++) {
+            int objectId = DeltaEncoder.readVarInt(in);
+            float kind = in.get();
+            float x = DeltaEncoder.readCoordinate(in);
+            float y = DeltaEncoder.readCoordinate(in);
+            this.objects.put(objectId, new float[]{kind, x, y});
+        }
+    }
+
+    /*
+     * Replaces the receive buffer with a larger one, keeping the bytes read so far.
+     */
+    private void growReceiveBuffer(int capacity) {
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        this.receiveBuffer.flip();
+        grown.put(this.receiveBuffer);
+        this.receiveBuffer = grown;
+    }
+}
@@ -0,0 +1,317 @@
+package bricker.network;
+
+import bricker.main.Constants;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents an authoritative game server bound to the loopback interface.
+ * The server never blocks the game loop: it is driven once per tick through pollInput() and
+ * broadcastTick(), which use non-blocking NIO channels only.
+ * Clients send one byte per paddle input change (the movement direction: -1, 0 or 1), and receive
+ * a snapshot frame when connecting followed by one delta frame per tick.
+ * Each frame is prefixed by its length and type.
+ */
+public class GameServer {
+    private DeltaEncoder deltaEncoder;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final List<ClientSession> sessions;
+    private final ByteBuffer readBuffer;
+    private ByteBuffer frameBuffer;
+    private long totalBytesSent;
+    private long totalTicks;
+    private int bytesSentLastTick;
+    private long rateWindowStart;
+    private int rateWindowTicks;
+    private float ticksPerSecond;
+
+    /**
+     * Constructor.
+     * Opens a non-blocking server channel on the loopback interface.
+     * @param port the port to listen on, 0 for an ephemeral port
+     * @param deltaEncoder the encoder tracking the authoritative game state
+     * @throws IOException if the channel cannot be opened or bound
+     */
+    public GameServer(int port, DeltaEncoder deltaEncoder) throws IOException {
+        this.deltaEncoder = deltaEncoder;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.sessions = new ArrayList<>();
+        this.readBuffer = ByteBuffer.allocate(Constants.NET_READ_BUFFER_SIZE);
+        this.frameBuffer = ByteBuffer.allocate(Constants.NET_READ_BUFFER_SIZE);
+        this.rateWindowStart = System.nanoTime();
+    }
+
+    /**
+     * Accepts pending clients and reads their paddle input, without blocking.
+     * @throws IOException if the selector fails
+     */
+    public void pollInput() throws IOException {
+        this.selector.selectNow();
+        Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                acceptClient();
+            } else if (key.isReadable()) {
+                readInput((ClientSession) key.attachment());
+            }
+        }
+    }
+
+    /**
+     * Returns the combined paddle direction requested by all connected clients.
+     * @return -1 for left, 1 for right, or 0
+     */
+    public int remotePaddleDirection() {
+        int direction = 0;
+        for (ClientSession session : this.sessions) {
+            direction += session.paddleDirection;
+        }
+        return Integer.signum(direction);
+    }
+
+    /**
+     * Encodes the current tick's delta and sends it to every connected client.
+     * Clients whose socket cannot keep up are buffered up to a limit and then disconnected,
+     * since a delta stream with a missing frame cannot be applied.
+     */
+    public void broadcastTick() {
+        this.deltaEncoder.captureBallPositions();
+        ByteBuffer frame = encodeFrame(Constants.NET_FRAME_DELTA, this.deltaEncoder.maxDeltaSize(), true);
+        int frameSize = frame.remaining();
+        this.bytesSentLastTick = 0;
+        for (Iterator<ClientSession> iterator = this.sessions.iterator(); iterator.hasNext(); ) {
+            ClientSession session = iterator.next();
+            if (!session.send(frame.duplicate())) {
+                session.close();
+                iterator.remove();
+                continue;
+            }
+            this.bytesSentLastTick += frameSize;
+        }
+        this.totalBytesSent += this.bytesSentLastTick;
+        updateTickRate();
+    }
+
+    /**
+     * Starts tracking a new game, for example after the game was reset,
+     * and sends a fresh snapshot of it to every connected client.
+     * @param deltaEncoder the encoder tracking the new game
+     */
+    public void restart(DeltaEncoder deltaEncoder) {
+        this.deltaEncoder = deltaEncoder;
+        ByteBuffer snapshot = encodeFrame(Constants.NET_FRAME_SNAPSHOT,
+                this.deltaEncoder.maxSnapshotSize(), false);
+        for (Iterator<ClientSession> iterator = this.sessions.iterator(); iterator.hasNext(); ) {
+            ClientSession session = iterator.next();
+            if (!session.send(snapshot.duplicate())) {
+                session.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes sent to all clients on the last tick.
+     * @return the bytes sent on the last tick
+     */
+    public int bytesSentLastTick() {
+        return this.bytesSentLastTick;
+    }
+
+    /**
+     * Returns the average number of bytes sent per tick since the server started.
+     * @return the average bytes per tick
+     */
+    public float averageBytesPerTick() {
+        return this.totalTicks == 0 ? 0 : (float) this.totalBytesSent / this.totalTicks;
+    }
+
+    /**
+     * Returns the server tick rate measured over the last second.
+     * @return the ticks per second
+     */
+    public float ticksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Returns the number of connected clients.
+     * @return the number of sessions
+     */
+    public int numOfSessions() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * @return the local port
+     * @throws IOException if the address cannot be read
+     */
+    public int port() throws IOException {
+        return ((InetSocketAddress) this.serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Disconnects every client and closes the server channel.
+     */
+    public void close() {
+        for (ClientSession session : this.sessions) {
+            session.close();
+        }
+        this.sessions.clear();
+        try {
+            this.selector.close();
+            this.serverChannel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /*
+     * Accepts a new client and sends it a full snapshot of the game.
+     */
+    private void acceptClient() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        ClientSession session = new ClientSession(channel);
+        channel.register(this.selector, SelectionKey.OP_READ, session);
+        ByteBuffer snapshot = encodeFrame(Constants.NET_FRAME_SNAPSHOT,
+                this.deltaEncoder.maxSnapshotSize(), false);
+        if (session.send(snapshot)) {
+            this.sessions.add(session);
+        } else {
+            session.close();
+        }
+    }
+
+    /*
+     * Reads the paddle input bytes of a client, keeping only the latest direction.
+     */
+    private void readInput(ClientSession session) {
+        this.readBuffer.clear();
+        int bytesRead;
+        try {
+            bytesRead = session.channel.read(this.readBuffer);
+        } catch (IOException e) {
+            bytesRead = -1;
+        }
+        if (bytesRead < 0) {
+            session.close();
+            this.sessions.remove(session);
+            return;
+        }
+        if (bytesRead > 0) {
+            session.paddleDirection = Integer.signum(this.readBuffer.get(bytesRead - 1));
+        }
+    }
+
+    /*
+     * Encodes a delta or a snapshot into a frame prefixed by its length and type.
+     */
+    private ByteBuffer encodeFrame(byte frameType, int maxPayloadSize, boolean isDelta) {
+        int capacity = Integer.BYTES + Byte.BYTES + maxPayloadSize;
+        if (this.frameBuffer.capacity() < capacity) {
+            this.frameBuffer = ByteBuffer.allocate(Math.max(capacity, this.frameBuffer.capacity() * 2));
+        }
+        this.frameBuffer.clear();
+        this.frameBuffer.position(Integer.BYTES);
+        this.frameBuffer.put(frameType);
+        if (isDelta) {
+            this.deltaEncoder.encodeTick(this.frameBuffer);
+        } else {
+            this.deltaEncoder.encodeSnapshot(this.frameBuffer);
+        }
+        this.frameBuffer.putInt(0, this.frameBuffer.position() - Integer.BYTES);
+        this.frameBuffer.flip();
+        return this.frameBuffer;
+    }
+
+    /*
+     * Updates the tick counters and the tick rate measured over the last second.
+     */
+    private void updateTickRate() {
+        this.totalTicks++;
+        this.rateWindowTicks++;
+        long now = System.nanoTime();
+        long elapsed = now - this.rateWindowStart;
+        if (elapsed >= Constants.NANOS_IN_SECOND) {
+            this.ticksPerSecond = this.rateWindowTicks * (float) Constants.NANOS_IN_SECOND / elapsed;
+            this.rateWindowTicks = 0;
+            this.rateWindowStart = now;
+        }
+    }
+
+    /*
+     * A connected client, with its pending outgoing bytes and latest paddle direction.
+     */
+    private static class ClientSession {
+        private final SocketChannel channel;
+        private ByteBuffer pending;
+        private int paddleDirection;
+
+        private ClientSession(SocketChannel channel) {
+            this.channel = channel;
+            this.pending = ByteBuffer.allocate(0);
+        }
+
+        /*
+         * Writes the frame without blocking, keeping what the socket did not accept.
+         * Returns false if the client fell too far behind or the connection is broken.
+         */
+        private boolean send(ByteBuffer frame) {
+            try {
+                if (this.pending.hasRemaining()) {
+                    this.channel.write(this.pending);
+                }
+                if (!this.pending.hasRemaining()) {
+                    this.channel.write(frame);
+                }
+            } catch (IOException e) {
+                return false;
+            }
+            if (!frame.hasRemaining()) {
+                return true;
+            }
+            int pendingSize = this.pending.remaining() + frame.remaining();
+            if (pendingSize > Constants.NET_MAX_PENDING_BYTES) {
+                return false;
+            }
+            ByteBuffer merged = ByteBuffer.allocate(pendingSize);
+            merged.put(this.pending).put(frame).flip();
+            this.pending = merged;
+            return true;
+        }
+
+        private void close() {
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+                // The client is gone either way
+            }
+        }
+    }
+}
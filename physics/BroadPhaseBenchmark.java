@@ -0,0 +1,117 @@
+package bricker.physics;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reports the cost of finding the overlapping pairs of 250 moving objects, testing every pair like the
+ * engine's collision loop does, and with the sort-and-sweep broad phase.
+ */
+public class BroadPhaseBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private BroadPhaseBenchmark() {}
+
+    /**
+     * Finds the pairs in each way and prints the time and the pair tests per tick.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        GameObject[] objects = createObjects();
+        SweepAndPrune broadPhase = new SweepAndPrune();
+        for (GameObject gameObject : objects) {
+            broadPhase.add(gameObject);
+        }
+        long[] overlaps = new long[1];
+        double bruteForceNanos = measure(objects, () -> overlaps[0] += testEveryPair(objects));
+        System.out.printf("every pair: %.1f us/tick, %,d pair tests/tick%n",
+                bruteForceNanos / Constants.NANOS_IN_MICROSECOND, broadPhase.bruteForcePairs());
+        double sweepNanos = measure(objects, () -> broadPhase.update(Constants.SCENARIO_TICK_SECONDS));
+        System.out.printf("sort and sweep: %.1f us/tick, %,d pair tests/tick, %,d candidate pairs%n",
+                sweepNanos / Constants.NANOS_IN_MICROSECOND, broadPhase.pairTestsLastFrame(),
+                broadPhase.candidatePairsLastFrame());
+        if (overlaps[0] < 0) {
+            System.out.println(overlaps[0]);
+        }
+    }
+
+    /*
+     * Creates objects at random positions in the window, moving at the speed of a ball.
+     */
+    private static GameObject[] createObjects() {
+        SplittableRandom random = new SplittableRandom(Constants.BROAD_PHASE_BENCHMARK_OBJECTS);
+        GameObject[] objects = new GameObject[Constants.BROAD_PHASE_BENCHMARK_OBJECTS];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new GameObject(new Vector2((float) random.nextDouble(Constants.WINDOW_WIDTH),
+                    (float) random.nextDouble(Constants.WINDOW_HEIGHT)),
+                    new Vector2(Constants.BALL_SIZE, Constants.BALL_SIZE), null);
+            double angle = random.nextDouble(2 * Math.PI);
+            objects[i].setVelocity(new Vector2((float) (Constants.BALL_VELOCITY * Math.cos(angle)),
+                    (float) (Constants.BALL_VELOCITY * Math.sin(angle))));
+        }
+        return objects;
+    }
+
+    /*
+     * Tests the bounds of every pair of objects against each other, and returns the overlapping pairs.
+     */
+    private static int testEveryPair(GameObject[] objects) {
+        int numOfOverlaps = 0;
+        for (int i = 0; i < objects.length; i++) {
+            Vector2 first = objects[i].getTopLeftCorner();
+            Vector2 firstDimensions = objects[i].getDimensions();
+            for (int j = i + 1; j < objects.length; j++) {
+                Vector2 second = objects[j].getTopLeftCorner();
+                Vector2 secondDimensions = objects[j].getDimensions();
+                if (first.x() <= second.x() + secondDimensions.x() &&
+                        second.x() <= first.x() + firstDimensions.x() &&
+                        first.y() <= second.y() + secondDimensions.y() &&
+                        second.y() <= first.y() + firstDimensions.y()) {
+                    numOfOverlaps++;
+                }
+            }
+        }
+        return numOfOverlaps;
+    }
+
+    /*
+     * Moves the objects and finds their pairs, as many ticks to warm up as to measure, and returns the
+     * mean time of finding the pairs in a tick.
+     */
+    private static double measure(GameObject[] objects, Runnable findPairs) {
+        long elapsedNanos = 0;
+        for (int i = 0; i < 2 * Constants.BROAD_PHASE_BENCHMARK_TICKS; i++) {
+            for (GameObject gameObject : objects) {
+                gameObject.update(Constants.SCENARIO_TICK_SECONDS);
+                keepInsideWindow(gameObject);
+            }
+            long startNanos = System.nanoTime();
+            findPairs.run();
+            if (i >= Constants.BROAD_PHASE_BENCHMARK_TICKS) {
+                elapsedNanos += System.nanoTime() - startNanos;
+            }
+        }
+        return elapsedNanos / (double) Constants.BROAD_PHASE_BENCHMARK_TICKS;
+    }
+
+    /*
+     * Bounces an object back towards the window when it leaves it.
+     */
+    private static void keepInsideWindow(GameObject gameObject) {
+        Vector2 center = gameObject.getCenter();
+        Vector2 velocity = gameObject.getVelocity();
+        if (center.x() < 0 && velocity.x() < 0 || center.x() > Constants.WINDOW_WIDTH && velocity.x() > 0) {
+            gameObject.setVelocity(new Vector2(-velocity.x(), velocity.y()));
+            velocity = gameObject.getVelocity();
+        }
+        if (center.y() < 0 && velocity.y() < 0 || center.y() > Constants.WINDOW_HEIGHT && velocity.y() > 0) {
+            gameObject.setVelocity(new Vector2(velocity.x(), -velocity.y()));
+        }
+    }
+}
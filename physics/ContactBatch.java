@@ -0,0 +1,98 @@
+package bricker.physics;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the contacts of a tick, gathered while the engine collides the objects and resolved in
+ * one batch right after.
+ * Every ball gathers the normals of its contacts into a manifold and bounces once from all of them,
+ * so a ball landing on the seam between two bricks, or between a brick and a wall, does not flip twice
+ * and go straight through. Every brick hit during the tick runs its collision strategy once, however
+ * many balls or contacts hit it, after the balls have bounced.
+ */
+public class ContactBatch {
+    private final List<Ball> touchedBalls;
+    private final List<Brick> hitBricks;
+    private final List<GameObject> brickHitters;
+    private final Set<Brick> hitBrickSet;
+    private long numOfContacts;
+    private long numOfResponses;
+
+    /**
+     * Constructor.
+     */
+    public ContactBatch() {
+        this.touchedBalls = new ArrayList<>();
+        this.hitBricks = new ArrayList<>();
+        this.brickHitters = new ArrayList<>();
+        this.hitBrickSet = new HashSet<>();
+    }
+
+    /**
+     * Adds a ball that gathered its first contact of the tick.
+     * @param ball the ball
+     */
+    public void addBallContact(Ball ball) {
+        this.touchedBalls.add(ball);
+    }
+
+    /**
+     * Adds a contact of a brick. Only the first contact of a brick in a tick runs its strategy.
+     * A contact with a ball is counted once, by the ball that gathered it, not again here.
+     * @param brick the brick
+     * @param other the object that hit the brick
+     */
+    public void addBrickContact(Brick brick, GameObject other) {
+        if (!(other instanceof Ball)) {
+            this.numOfContacts++;
+        }
+        if (this.hitBrickSet.add(brick)) {
+            this.hitBricks.add(brick);
+            this.brickHitters.add(other);
+        }
+    }
+
+    /**
+     * Bounces every ball that had contacts in the tick once, then runs the collision strategy of every
+     * hit brick once, in the order they were first hit. A strategy may add or remove objects.
+     */
+    public void resolve() {
+        for (int i = 0; i < this.touchedBalls.size(); i++) {
+            this.numOfContacts += this.touchedBalls.get(i).resolveContacts();
+            this.numOfResponses++;
+        }
+        for (int i = 0; i < this.hitBricks.size(); i++) {
+            Brick brick = this.hitBricks.get(i);
+            brick.getCollisionStrategy().onCollision(brick, this.brickHitters.get(i));
+            this.numOfResponses++;
+        }
+        this.touchedBalls.clear();
+        this.hitBricks.clear();
+        this.brickHitters.clear();
+        this.hitBrickSet.clear();
+    }
+
+    /**
+     * Returns the number of contacts gathered since the batch was created, each counted once: the
+     * contacts of the balls, and the contacts of bricks with objects other than balls.
+     * @return the number of contacts
+     */
+    public long numOfContacts() {
+        return this.numOfContacts;
+    }
+
+    /**
+     * Returns the number of ball bounces and brick strategy runs the contacts were resolved into.
+     * @return the number of responses
+     */
+    public long numOfResponses() {
+        return this.numOfResponses;
+    }
+}
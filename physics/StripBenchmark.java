@@ -0,0 +1,46 @@
+package bricker.physics;
+
+import bricker.main.Constants;
+
+/**
+ * Reports the ticks per second of a strip simulation of a board of 10^6 bricks, split into a growing
+ * number of strips stepped by up to a worker per core, with the state every run ends in. The states
+ * are equal, since the result of a run does not depend on how the board is split.
+ */
+public class StripBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private StripBenchmark() {}
+
+    /**
+     * Runs the board with every number of strips, doubling up to the largest one, and prints the
+     * ticks per second and the end state of each run.
+     * @param args optionally the number of balls
+     */
+    public static void main(String[] args) {
+        int numOfBalls = args.length > 0 ? Integer.parseInt(args[0]) : Constants.STRIP_BENCHMARK_BALLS;
+        int numOfCores = Runtime.getRuntime().availableProcessors();
+        for (int numOfStrips = 1; numOfStrips <= Constants.STRIP_BENCHMARK_MAX_STRIPS; numOfStrips *= 2) {
+            StripSimulation simulation = new StripSimulation(Constants.STRIP_BENCHMARK_BRICK_ROWS,
+                    Constants.STRIP_BENCHMARK_BRICK_COLS, Constants.STRIP_BENCHMARK_BRICK_WIDTH, numOfBalls,
+                    numOfStrips, numOfCores, numOfBalls);
+            try {
+                simulation.run(Constants.STRIP_BENCHMARK_WARMUP_TICKS, Constants.SCENARIO_TICK_SECONDS);
+                long startNanos = System.nanoTime();
+                simulation.run(Constants.STRIP_BENCHMARK_MEASURED_TICKS, Constants.SCENARIO_TICK_SECONDS);
+                long elapsedNanos = System.nanoTime() - startNanos;
+                double ticksPerSecond = Constants.STRIP_BENCHMARK_MEASURED_TICKS *
+                        (double) Constants.NANOS_IN_SECOND / elapsedNanos;
+                System.out.printf("%d strips on %d workers: %,.0f ticks/s, %,d of %,d bricks destroyed, " +
+                                "%,d hand-offs, state %016x%n", numOfStrips, simulation.numOfWorkers(),
+                        ticksPerSecond, simulation.bricksDestroyed(), simulation.numOfBricks(),
+                        simulation.numOfHandoffs(), simulation.stateHash());
+            } finally {
+                simulation.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package bricker.physics;
+
+import bricker.main.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents a headless simulation of a giant board, with millions of bricks laid out like the bricks
+ * of a level and hundreds of balls, split across cores by the columns of the board.
+ * The playfield is split into vertical strips of whole brick columns. Every strip owns the bricks of
+ * its columns and the balls whose centers are inside it, and every worker thread steps its own
+ * strips, so a tick touches no structure shared between workers. A ball leaving its strip is handed
+ * off to the strip it entered through an outbox of the strip it left, which the receiver empties at
+ * the next tick boundary. The bricks destroyed and the hand-offs of every strip are merged into the
+ * totals at the end of the tick, while every worker waits at the tick barrier.
+ * A ball is a point bouncing off the borders of the field. It destroys the brick its center enters
+ * and bounces back from it, on the axes along which it entered the brick's cell. A strip resolves
+ * its balls in the order of their ids, and a ball only ever touches the bricks of the cell it is in,
+ * so the result of a run only depends on the seed, never on the number of strips or workers or on the
+ * thread schedule. Balls should move less than a brick per tick, or they may pass through bricks.
+ */
+public class StripSimulation {
+    private static final int INITIAL_OUTBOX_CAPACITY = 16;
+
+    private final int brickRows;
+    private final int brickCols;
+    private final float brickWidth;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final float fieldWidth;
+    private final float fieldHeight;
+    private final float[] positionsX;
+    private final float[] positionsY;
+    private final float[] previousX;
+    private final float[] previousY;
+    private final float[] velocitiesX;
+    private final float[] velocitiesY;
+    private final Strip[] strips;
+    private final int[] stripOfCol;
+    private final int numOfWorkers;
+    private final CyclicBarrier tickBarrier;
+    private final ExecutorService executor;
+    private float deltaTime;
+    private int parity;
+    private long numOfTicks;
+    private long bricksDestroyed;
+    private long numOfHandoffs;
+
+    /**
+     * Constructor. Places the balls at random in the field, moving at BALL_VELOCITY in random
+     * directions. A ball placed in a brick destroys it on the first tick.
+     * @param brickRows the number of rows of bricks
+     * @param brickCols the number of columns of bricks
+     * @param brickWidth the width of a brick
+     * @param numOfBalls the number of balls
+     * @param numOfStrips the number of strips the field is split into, at most one per column is used
+     * @param numOfWorkers the number of threads stepping the strips, at most one per strip is used
+     * @param seed the seed the balls are placed with
+     */
+    public StripSimulation(int brickRows, int brickCols, float brickWidth, int numOfBalls, int numOfStrips,
+                           int numOfWorkers, long seed) {
+        this.brickRows = brickRows;
+        this.brickCols = brickCols;
+        this.brickWidth = brickWidth;
+        this.cellWidth = brickWidth + Constants.STATIC_OBJECT_SPACE;
+        this.cellHeight = Constants.BRICK_HEIGHT + Constants.STATIC_OBJECT_SPACE;
+        this.fieldWidth = Constants.STATIC_OBJECT_SPACE + brickCols * this.cellWidth;
+        this.fieldHeight = Constants.STATIC_OBJECT_SPACE + brickRows * this.cellHeight +
+                Constants.WINDOW_HEIGHT;
+        this.positionsX = new float[numOfBalls];
+        this.positionsY = new float[numOfBalls];
+        this.previousX = new float[numOfBalls];
+        this.previousY = new float[numOfBalls];
+        this.velocitiesX = new float[numOfBalls];
+        this.velocitiesY = new float[numOfBalls];
+        int stripCount = Math.max(1, Math.min(numOfStrips, brickCols));
+        this.strips = new Strip[stripCount];
+        this.stripOfCol = new int[brickCols];
+        for (int i = 0; i < stripCount; i++) {
+            int firstCol = brickCols * i / stripCount;
+            int lastCol = brickCols * (i + 1) / stripCount;
+            this.strips[i] = new Strip(i, firstCol, lastCol - firstCol, brickRows, stripCount);
+            Arrays.fill(this.stripOfCol, firstCol, lastCol, i);
+        }
+        this.numOfWorkers = Math.max(1, Math.min(numOfWorkers, stripCount));
+        this.tickBarrier = new CyclicBarrier(this.numOfWorkers, this::mergeTick);
+        this.executor = Executors.newFixedThreadPool(this.numOfWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "strip-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        placeBalls(new SplittableRandom(seed));
+    }
+
+    /**
+     * Runs ticks of the simulation on the workers, and waits for them to finish.
+     * @param numOfTicks the number of ticks to run
+     * @param deltaTime the time a tick advances the balls by, in seconds
+     * @throws IllegalStateException if a worker failed
+     */
+    public void run(int numOfTicks, float deltaTime) {
+        this.deltaTime = deltaTime;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < this.numOfWorkers; worker++) {
+            int from = this.strips.length * worker / this.numOfWorkers;
+            int to = this.strips.length * (worker + 1) / this.numOfWorkers;
+            tasks.add(() -> {
+                runStrips(from, to, numOfTicks);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : this.executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to step strip", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Returns the number of ticks run.
+     * @return the number of ticks
+     */
+    public long numOfTicks() {
+        return this.numOfTicks;
+    }
+
+    /**
+     * Returns the number of bricks destroyed, merged from every strip.
+     * @return the number of destroyed bricks
+     */
+    public long bricksDestroyed() {
+        return this.bricksDestroyed;
+    }
+
+    /**
+     * Returns the number of times a ball was handed off to another strip.
+     * @return the number of hand-offs
+     */
+    public long numOfHandoffs() {
+        return this.numOfHandoffs;
+    }
+
+    /**
+     * Returns the number of bricks of the board, live or destroyed.
+     * @return the number of bricks
+     */
+    public long numOfBricks() {
+        return (long) this.brickRows * this.brickCols;
+    }
+
+    /**
+     * Returns the number of balls.
+     * @return the number of balls
+     */
+    public int numOfBalls() {
+        return this.positionsX.length;
+    }
+
+    /**
+     * Returns the number of strips the field is split into.
+     * @return the number of strips
+     */
+    public int numOfStrips() {
+        return this.strips.length;
+    }
+
+    /**
+     * Returns the number of threads stepping the strips.
+     * @return the number of workers
+     */
+    public int numOfWorkers() {
+        return this.numOfWorkers;
+    }
+
+    /**
+     * Returns a hash of the balls and the destroyed bricks, equal for two runs that ended in the same
+     * state. Should only be called between runs.
+     * @return the hash of the state
+     */
+    public long stateHash() {
+        long hash = this.bricksDestroyed;
+        for (int i = 0; i < this.positionsX.length; i++) {
+            hash = hash * 31 + Float.floatToIntBits(this.positionsX[i]);
+            hash = hash * 31 + Float.floatToIntBits(this.positionsY[i]);
+            hash = hash * 31 + Float.floatToIntBits(this.velocitiesX[i]);
+            hash = hash * 31 + Float.floatToIntBits(this.velocitiesY[i]);
+        }
+        return hash;
+    }
+
+    /*
+     * Places the balls at random, and posts each of them to the strip it starts in.
+     */
+    private void placeBalls(SplittableRandom random) {
+        for (int i = 0; i < this.positionsX.length; i++) {
+            this.positionsX[i] = (float) random.nextDouble(this.fieldWidth);
+            this.positionsY[i] = (float) random.nextDouble(this.fieldHeight);
+            this.previousX[i] = this.positionsX[i];
+            this.previousY[i] = this.positionsY[i];
+            double angle = random.nextDouble(2 * Math.PI);
+            this.velocitiesX[i] = (float) (Constants.BALL_VELOCITY * Math.cos(angle));
+            this.velocitiesY[i] = (float) (Constants.BALL_VELOCITY * Math.sin(angle));
+            Strip strip = this.strips[stripOf(this.positionsX[i])];
+            strip.post(this.parity, strip.index, i);
+        }
+    }
+
+    /*
+     * Steps the strips in [from, to) for the given number of ticks, waiting for every other worker at
+     * the end of each tick. A failing worker breaks the barrier, so the others fail instead of waiting.
+     */
+    private void runStrips(int from, int to, int numOfTicks) throws InterruptedException {
+        try {
+            for (int tick = 0; tick < numOfTicks; tick++) {
+                for (int i = from; i < to; i++) {
+                    stepStrip(this.strips[i]);
+                }
+                this.tickBarrier.await();
+            }
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Another strip worker failed", e);
+        } catch (RuntimeException e) {
+            this.tickBarrier.reset();
+            throw e;
+        }
+    }
+
+    /*
+     * Runs a tick of a strip: takes in the balls posted to it at the last tick boundary, in the order
+     * of their ids, resolves their bricks, moves them, and posts each to the strip it is then in.
+     */
+    private void stepStrip(Strip strip) {
+        int read = this.parity;
+        int write = 1 - read;
+        strip.takeBalls(this.strips, read);
+        Arrays.fill(strip.outboxSizes[write], 0);
+        for (int n = 0; n < strip.numOfBalls; n++) {
+            int ball = strip.balls[n];
+            resolveBrick(strip, ball);
+            moveBall(ball);
+            int destination = stripOf(this.positionsX[ball]);
+            strip.post(write, destination, ball);
+            if (destination != strip.index) {
+                strip.numOfHandoffs++;
+            }
+        }
+    }
+
+    /*
+     * Destroys the live brick the center of a ball is in, if any, and bounces the ball back to where
+     * it was, reversing its velocity on the axes along which it entered the brick's cell.
+     */
+    private void resolveBrick(Strip strip, int ball) {
+        float x = this.positionsX[ball] - Constants.STATIC_OBJECT_SPACE;
+        float y = this.positionsY[ball] - Constants.STATIC_OBJECT_SPACE;
+        if (x < 0 || y < 0) {
+            return;
+        }
+        int col = (int) (x / this.cellWidth);
+        int row = (int) (y / this.cellHeight);
+        if (col >= this.brickCols || row >= this.brickRows || x - col * this.cellWidth >= this.brickWidth ||
+                y - row * this.cellHeight >= Constants.BRICK_HEIGHT) {
+            return;
+        }
+        int brick = row * strip.numOfCols + col - strip.firstCol;
+        if (strip.isDestroyed[brick]) {
+            return;
+        }
+        strip.isDestroyed[brick] = true;
+        strip.bricksDestroyed++;
+        boolean isColChanged = (int) Math.floor((this.previousX[ball] - Constants.STATIC_OBJECT_SPACE) /
+                this.cellWidth) != col;
+        boolean isRowChanged = (int) Math.floor((this.previousY[ball] - Constants.STATIC_OBJECT_SPACE) /
+                this.cellHeight) != row;
+        if (isColChanged) {
+            this.velocitiesX[ball] = -this.velocitiesX[ball];
+        }
+        if (isRowChanged || !isColChanged) {
+            this.velocitiesY[ball] = -this.velocitiesY[ball];
+        }
+        this.positionsX[ball] = this.previousX[ball];
+        this.positionsY[ball] = this.previousY[ball];
+    }
+
+    /*
+     * Moves a ball by its velocity, bouncing it off the borders of the field.
+     */
+    private void moveBall(int ball) {
+        float x = this.positionsX[ball];
+        float y = this.positionsY[ball];
+        this.previousX[ball] = x;
+        this.previousY[ball] = y;
+        x += this.velocitiesX[ball] * this.deltaTime;
+        y += this.velocitiesY[ball] * this.deltaTime;
+        if (x < 0 || x > this.fieldWidth) {
+            x = x < 0 ? -x : 2 * this.fieldWidth - x;
+            this.velocitiesX[ball] = -this.velocitiesX[ball];
+        }
+        if (y < 0 || y > this.fieldHeight) {
+            y = y < 0 ? -y : 2 * this.fieldHeight - y;
+            this.velocitiesY[ball] = -this.velocitiesY[ball];
+        }
+        this.positionsX[ball] = x;
+        this.positionsY[ball] = y;
+    }
+
+    /*
+     * Returns the index of the strip holding the column a horizontal position is in.
+     */
+    private int stripOf(float x) {
+        int col = (int) ((x - Constants.STATIC_OBJECT_SPACE) / this.cellWidth);
+        return this.stripOfCol[Math.max(0, Math.min(this.brickCols - 1, col))];
+    }
+
+    /*
+     * Merges the counters of every strip into the totals and flips the outboxes, once all the strips
+     * ran the tick. Runs on the last worker to reach the barrier, before any worker starts the next tick.
+     */
+    private void mergeTick() {
+        for (Strip strip : this.strips) {
+            this.bricksDestroyed += strip.bricksDestroyed;
+            this.numOfHandoffs += strip.numOfHandoffs;
+            strip.bricksDestroyed = 0;
+            strip.numOfHandoffs = 0;
+        }
+        this.parity = 1 - this.parity;
+        this.numOfTicks++;
+    }
+
+    /*
+     * A strip of whole brick columns, with its bricks, the balls it holds this tick, and its outboxes:
+     * two sets, one read at this tick boundary while the other is written, of the balls posted to
+     * every strip. Only the worker stepping the strip writes to it.
+     */
+    private static class Strip {
+        private final int index;
+        private final int firstCol;
+        private final int numOfCols;
+        private final boolean[] isDestroyed;
+        private final int[][][] outboxes;
+        private final int[][] outboxSizes;
+        private int[] balls;
+        private int numOfBalls;
+        private int bricksDestroyed;
+        private int numOfHandoffs;
+
+        private Strip(int index, int firstCol, int numOfCols, int brickRows, int numOfStrips) {
+            this.index = index;
+            this.firstCol = firstCol;
+            this.numOfCols = numOfCols;
+            this.isDestroyed = new boolean[brickRows * numOfCols];
+            this.outboxes = new int[2][numOfStrips][INITIAL_OUTBOX_CAPACITY];
+            this.outboxSizes = new int[2][numOfStrips];
+            this.balls = new int[INITIAL_OUTBOX_CAPACITY];
+        }
+
+        /*
+         * Posts a ball to a strip, in the outboxes of the given parity.
+         */
+        private void post(int parity, int destination, int ball) {
+            int[] outbox = this.outboxes[parity][destination];
+            int size = this.outboxSizes[parity][destination];
+            if (size == outbox.length) {
+                outbox = Arrays.copyOf(outbox, size * 2);
+                this.outboxes[parity][destination] = outbox;
+            }
+            outbox[size] = ball;
+            this.outboxSizes[parity][destination] = size + 1;
+        }
+
+        /*
+         * Takes the balls every strip posted to this one in the outboxes of the given parity, sorted
+         * by id.
+         */
+        private void takeBalls(Strip[] strips, int parity) {
+            int numOfBalls = 0;
+            for (Strip source : strips) {
+                int size = source.outboxSizes[parity][this.index];
+                if (numOfBalls + size > this.balls.length) {
+                    int capacity = Math.max(2 * this.balls.length, numOfBalls + size);
+                    this.balls = Arrays.copyOf(this.balls, capacity);
+                }
+                System.arraycopy(source.outboxes[parity][this.index], 0, this.balls, numOfBalls, size);
+                numOfBalls += size;
+            }
+            Arrays.sort(this.balls, 0, numOfBalls);
+            this.numOfBalls = numOfBalls;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package bricker.physics;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Represents a sort-and-sweep broad phase for the moving objects of the DEFAULT layer.
+ * Once per frame, the bounds of every tracked object are swept by its velocity, sorted by their
+ * left edge and swept along the x axis, so only objects whose x intervals overlap are tested against
+ * each other. The sort order of the previous frame is kept, and since objects barely move between
+ * frames it is nearly sorted, which keeps the insertion sort close to linear.
+ * Pairs that may overlap are kept as a sorted array of pair keys, queried through mayCollide().
+ * danogl runs its own all-pairs loop over the layers and takes no pairs from outside, so the game does
+ * not route its collisions through the broad phase; BroadPhaseBenchmark compares its cost with the
+ * pair tests the engine makes.
+ */
+public class SweepAndPrune {
+    private final Map<GameObject, Proxy> proxies;
+    private Proxy[] order;
+    private int numOfProxies;
+    private long[] candidatePairs;
+    private int numOfCandidatePairs;
+    private int nextProxyId;
+    private boolean hasRemovedProxies;
+    private long pairTestsLastFrame;
+
+    /**
+     * Constructor.
+     */
+    public SweepAndPrune() {
+        this.proxies = new IdentityHashMap<>();
+        this.order = new Proxy[Constants.BROAD_PHASE_INITIAL_CAPACITY];
+        this.candidatePairs = new long[Constants.BROAD_PHASE_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Starts tracking a moving object.
+     * Until the next update() the object may collide with anything, so objects spawned in the
+     * middle of a frame do not miss their first collisions.
+     * @param gameObject the object to track
+     */
+    public void add(GameObject gameObject) {
+        if (this.proxies.containsKey(gameObject)) {
+            return;
+        }
+        Proxy proxy = new Proxy(gameObject, this.nextProxyId++);
+        this.proxies.put(gameObject, proxy);
+        if (this.numOfProxies == this.order.length) {
+            this.order = Arrays.copyOf(this.order, this.order.length * 2);
+        }
+        // New objects are appended and sink to their place on the next sort
+        this.order[this.numOfProxies++] = proxy;
+    }
+
+    /**
+     * Stops tracking an object.
+     * @param gameObject the object to stop tracking
+     */
+    public void remove(GameObject gameObject) {
+        Proxy proxy = this.proxies.remove(gameObject);
+        if (proxy != null) {
+            proxy.isRemoved = true;
+            this.hasRemovedProxies = true;
+        }
+    }
+
+    /**
+     * Refreshes the bounds of the tracked objects, re-sorts them and collects the pairs that may
+     * overlap during the coming frame.
+     * @param deltaTime the time the objects are about to move
+     */
+    public void update(float deltaTime) {
+        if (this.hasRemovedProxies) {
+            compactOrder();
+        }
+        for (int i = 0; i < this.numOfProxies; i++) {
+            this.order[i].refreshBounds(deltaTime);
+        }
+        insertionSort();
+        sweep();
+    }
+
+    /**
+     * Returns whether the broad phase allows the engine to test the two objects.
+     * Objects that are not tracked, or were added after the last update, are always allowed.
+     * @param first the first object
+     * @param second the second object
+     * @return false only if the two tracked objects cannot overlap this frame
+     */
+    public boolean mayCollide(GameObject first, GameObject second) {
+        Proxy firstProxy = this.proxies.get(first);
+        Proxy secondProxy = this.proxies.get(second);
+        if (firstProxy == null || secondProxy == null || firstProxy.isNew || secondProxy.isNew) {
+            return true;
+        }
+        return Arrays.binarySearch(this.candidatePairs, 0, this.numOfCandidatePairs,
+                pairKey(firstProxy.id, secondProxy.id)) >= 0;
+    }
+
+    /**
+     * Returns the number of interval tests made by the last sweep.
+     * @return the pair tests of the last frame
+     */
+    public long pairTestsLastFrame() {
+        return this.pairTestsLastFrame;
+    }
+
+    /**
+     * Returns the number of pairs a brute force broad phase would test for the tracked objects.
+     * @return n * (n - 1) / 2
+     */
+    public long bruteForcePairs() {
+        return (long) this.numOfProxies * (this.numOfProxies - 1) / 2;
+    }
+
+    /**
+     * Returns the number of pairs found to overlap by the last sweep.
+     * @return the candidate pairs of the last frame
+     */
+    public int candidatePairsLastFrame() {
+        return this.numOfCandidatePairs;
+    }
+
+    /**
+     * Returns the number of tracked objects.
+     * @return the number of tracked objects
+     */
+    public int numOfObjects() {
+        return this.numOfProxies;
+    }
+
+    /*
+     * Drops removed proxies from the sort order, keeping the order of the others.
+     */
+    private void compactOrder() {
+        int kept = 0;
+        for (int i = 0; i < this.numOfProxies; i++) {
+            if (!this.order[i].isRemoved) {
+                this.order[kept++] = this.order[i];
+            }
+        }
+        Arrays.fill(this.order, kept, this.numOfProxies, null);
+        this.numOfProxies = kept;
+        this.hasRemovedProxies = false;
+    }
+
+    /*
+     * Sorts the proxies by their left edge, starting from last frame's order.
+     */
+    private void insertionSort() {
+        for (int i = 1; i < this.numOfProxies; i++) {
+            Proxy current = this.order[i];
+            int j = i - 1;
+            while (j >= 0 && this.order[j].minX > current.minX) {
+                this.order[j + 1] = this.order[j];
+                j--;
+            }
+            this.order[j + 1] = current;
+        }
+    }
+
+    /*
+     * Sweeps the sorted proxies along the x axis and collects the pairs whose bounds overlap.
+     */
+    private void sweep() {
+        this.numOfCandidatePairs = 0;
+        this.pairTestsLastFrame = 0;
+        for (int i = 0; i < this.numOfProxies; i++) {
+            Proxy first = this.order[i];
+            for (int j = i + 1; j < this.numOfProxies && this.order[j].minX <= first.maxX; j++) {
+                Proxy second = this.order[j];
+                this.pairTestsLastFrame++;
+                if (first.minY <= second.maxY && second.minY <= first.maxY) {
+                    addCandidatePair(pairKey(first.id, second.id));
+                }
+            }
+        }
+        Arrays.sort(this.candidatePairs, 0, this.numOfCandidatePairs);
+    }
+
+    /*
+     * Appends a pair key, growing the array when needed.
+     */
+    private void addCandidatePair(long key) {
+        if (this.numOfCandidatePairs == this.candidatePairs.length) {
+            this.candidatePairs = Arrays.copyOf(this.candidatePairs, this.candidatePairs.length * 2);
+        }
+        this.candidatePairs[this.numOfCandidatePairs++] = key;
+    }
+
+    /*
+     * Returns a key identifying an unordered pair of proxy ids.
+     */
+    private static long pairKey(int firstId, int secondId) {
+        int low = Math.min(firstId, secondId);
+        int high = Math.max(firstId, secondId);
+        return ((long) low << Integer.SIZE) | (high & 0xFFFFFFFFL);
+    }
+
+    /*
+     * A tracked object with its swept bounds.
+     */
+    private static class Proxy {
+        private final GameObject gameObject;
+        private final int id;
+        private float minX;
+        private float maxX;
+        private float minY;
+        private float maxY;
+        private boolean isNew;
+        private boolean isRemoved;
+
+        private Proxy(GameObject gameObject, int id) {
+            this.gameObject = gameObject;
+            this.id = id;
+            this.isNew = true;
+        }
+
+        /*
+         * Computes the bounds of the object over the coming frame, padded by a small margin.
+         */
+        private void refreshBounds(float deltaTime) {
+            Vector2 topLeftCorner = this.gameObject.getTopLeftCorner();
+            Vector2 dimensions = this.gameObject.getDimensions();
+            Vector2 velocity = this.gameObject.getVelocity();
+            float deltaX = velocity.x() * deltaTime;
+            float deltaY = velocity.y() * deltaTime;
+            this.minX = topLeftCorner.x() + Math.min(deltaX, 0) - Constants.BROAD_PHASE_MARGIN;
+            this.maxX = topLeftCorner.x() + dimensions.x() + Math.max(deltaX, 0) +
+                    Constants.BROAD_PHASE_MARGIN;
+            this.minY = topLeftCorner.y() + Math.min(deltaY, 0) - Constants.BROAD_PHASE_MARGIN;
+            this.maxY = topLeftCorner.y() + dimensions.y() + Math.max(deltaY, 0) +
+                    Constants.BROAD_PHASE_MARGIN;
+            this.isNew = false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package bricker.rendering;
+
+import danogl.gui.rendering.Renderable;
+
+/**
+ * Represents a renderable whose drawing depends on state the game keeps changing, such as the
+ * particles of a particle system. Renderers drawing on another thread than the game draw a capture
+ * of that state, which the game does not change, instead of the live renderable.
+ */
+public interface CapturableRenderable extends Renderable {
+
+    /**
+     * Copies the current state into a renderable the game does not change afterwards.
+     * Called on the game thread only.
+     * @param previous a renderable captured before that is no longer drawn, whose memory may be
+     *                 reused if it is of the kind this renderable captures into, or null
+     * @return the captured renderable
+     */
+    Renderable capture(Renderable previous);
+}
@@ -0,0 +1,313 @@
+package bricker.rendering;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Represents a culler that only lets the objects the current view can see be rendered.
+ * The view is the area of the active camera, or the window when there is none.
+ * Static objects (the bricks) are kept in a uniform grid, so finding the visible ones only visits
+ * the grid cells under the view. Moving objects are few and are tested against the view directly.
+ * Culled objects have their renderable detached and restored once they are visible again, and only
+ * objects whose visibility changed are touched, so the work per frame tracks the visible objects
+ * and not the size of the board.
+ * Only rendering is culled: hidden objects are still updated and collided like visible ones, since
+ * the course of the game must not depend on what the camera shows.
+ */
+public class VisibilityCuller {
+    private final Map<Long, List<Entry>> staticCells;
+    private final Map<GameObject, Entry> entries;
+    private final List<Entry> dynamicEntries;
+    private final Vector2 windowDimension;
+    private List<Entry> visibleEntries;
+    private List<Entry> nextVisibleEntries;
+    private int frame;
+    private boolean isIndexChanged;
+    private float lastViewMinX;
+    private float lastViewMinY;
+    private float lastViewMaxX;
+    private float lastViewMaxY;
+
+    /**
+     * Constructor.
+     * @param windowDimension the dimensions of the game window
+     */
+    public VisibilityCuller(Vector2 windowDimension) {
+        this.windowDimension = windowDimension;
+        this.staticCells = new HashMap<>();
+        this.entries = new IdentityHashMap<>();
+        this.dynamicEntries = new ArrayList<>();
+        this.visibleEntries = new ArrayList<>();
+        this.nextVisibleEntries = new ArrayList<>();
+    }
+
+    /**
+     * Adds an object that never moves, such as a brick, to the grid.
+     * The object is hidden until the next update finds it visible.
+     * @param gameObject the static object
+     */
+    public void addStatic(GameObject gameObject) {
+        Entry entry = register(gameObject, true);
+        if (entry == null) {
+            return;
+        }
+        forEachCell(entry, (key) ->
+                this.staticCells.computeIfAbsent(key, k -> new ArrayList<>()).add(entry));
+    }
+
+    /**
+     * Adds a moving object, tested against the view on every update.
+     * @param gameObject the moving object
+     */
+    public void addDynamic(GameObject gameObject) {
+        Entry entry = register(gameObject, false);
+        if (entry != null) {
+            this.dynamicEntries.add(entry);
+        }
+    }
+
+    /**
+     * Stops culling an object that left the game, giving it back its renderable if it was hidden, so
+     * it is drawn again if it is added back, such as a brick restored by a rewind.
+     * @param gameObject the removed object
+     */
+    public void remove(GameObject gameObject) {
+        Entry entry = this.entries.remove(gameObject);
+        if (entry == null) {
+            return;
+        }
+        entry.setVisible(true);
+        entry.isRemoved = true;
+        if (entry.isStatic) {
+            forEachCell(entry, (key) -> {
+                List<Entry> cell = this.staticCells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                }
+            });
+        } else {
+            this.dynamicEntries.remove(entry);
+        }
+        this.isIndexChanged = true;
+    }
+
+    /**
+     * Updates which objects are rendered according to the current view.
+     * Should be called once per frame, after the objects and the camera moved.
+     * @param camera the active camera, or null if there is none
+     */
+    public void update(Camera camera) {
+        float viewMinX = Constants.MIN_COORDINATE_VALUE;
+        float viewMinY = Constants.MIN_COORDINATE_VALUE;
+        float viewMaxX = this.windowDimension.x();
+        float viewMaxY = this.windowDimension.y();
+        if (camera != null) {
+            Vector2 cameraTopLeftCorner = camera.getTopLeftCorner();
+            Vector2 cameraDimensions = camera.getDimensions();
+            viewMinX = cameraTopLeftCorner.x();
+            viewMinY = cameraTopLeftCorner.y();
+            viewMaxX = viewMinX + cameraDimensions.x();
+            viewMaxY = viewMinY + cameraDimensions.y();
+        }
+        viewMinX -= Constants.CULL_MARGIN;
+        viewMinY -= Constants.CULL_MARGIN;
+        viewMaxX += Constants.CULL_MARGIN;
+        viewMaxY += Constants.CULL_MARGIN;
+        boolean isViewChanged = viewMinX != this.lastViewMinX || viewMinY != this.lastViewMinY ||
+                viewMaxX != this.lastViewMaxX || viewMaxY != this.lastViewMaxY;
+        if (isViewChanged || this.isIndexChanged) {
+            collectVisibleStatic(viewMinX, viewMinY, viewMaxX, viewMaxY);
+        } else {
+            collectStillVisibleStatic();
+        }
+        for (Entry entry : this.dynamicEntries) {
+            if (entry.intersects(viewMinX, viewMinY, viewMaxX, viewMaxY)) {
+                markVisible(entry);
+            }
+        }
+        // Hide what was visible last frame and was not marked this frame
+        for (Entry entry : this.visibleEntries) {
+            if (entry.visibleFrame != this.frame && !entry.isRemoved) {
+                entry.setVisible(false);
+            }
+        }
+        List<Entry> swap = this.visibleEntries;
+        this.visibleEntries = this.nextVisibleEntries;
+        this.nextVisibleEntries = swap;
+        this.nextVisibleEntries.clear();
+        this.lastViewMinX = viewMinX;
+        this.lastViewMinY = viewMinY;
+        this.lastViewMaxX = viewMaxX;
+        this.lastViewMaxY = viewMaxY;
+        this.isIndexChanged = false;
+        this.frame++;
+    }
+
+    /**
+     * Returns the number of objects rendered on the last frame.
+     * @return the number of visible objects
+     */
+    public int numOfVisibleObjects() {
+        return this.visibleEntries.size();
+    }
+
+    /**
+     * Returns the number of objects the culler manages.
+     * @return the number of culled and visible objects
+     */
+    public int numOfObjects() {
+        return this.entries.size();
+    }
+
+    /*
+     * Creates the entry of an object and hides it, or returns null if it is already managed.
+     */
+    private Entry register(GameObject gameObject, boolean isStatic) {
+        if (this.entries.containsKey(gameObject)) {
+            return null;
+        }
+        Entry entry = new Entry(gameObject, isStatic);
+        this.entries.put(gameObject, entry);
+        entry.setVisible(false);
+        this.isIndexChanged = true;
+        return entry;
+    }
+
+    /*
+     * Marks every static object in the grid cells under the view that intersects the view.
+     */
+    private void collectVisibleStatic(float viewMinX, float viewMinY, float viewMaxX, float viewMaxY) {
+        int firstCellX = cellOf(viewMinX);
+        int lastCellX = cellOf(viewMaxX);
+        int firstCellY = cellOf(viewMinY);
+        int lastCellY = cellOf(viewMaxY);
+        for (int cellX = firstCellX; cellX <= lastCellX; cellX++) {
+            for (int cellY = firstCellY; cellY <= lastCellY; cellY++) {
+                List<Entry> cell = this.staticCells.get(cellKey(cellX, cellY));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell) {
+                    if (entry.intersects(viewMinX, viewMinY, viewMaxX, viewMaxY)) {
+                        markVisible(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Keeps the static objects visible when neither the view nor the grid changed.
+     */
+    private void collectStillVisibleStatic() {
+        for (Entry entry : this.visibleEntries) {
+            if (entry.isStatic && !entry.isRemoved) {
+                markVisible(entry);
+            }
+        }
+    }
+
+    /*
+     * Marks an object visible on this frame, showing it if it was hidden.
+     */
+    private void markVisible(Entry entry) {
+        if (entry.visibleFrame == this.frame) {
+            return;
+        }
+        entry.visibleFrame = this.frame;
+        entry.setVisible(true);
+        this.nextVisibleEntries.add(entry);
+    }
+
+    /*
+     * Runs the action on the key of every grid cell the static object overlaps.
+     */
+    private static void forEachCell(Entry entry, LongConsumer action) {
+        for (int cellX = cellOf(entry.minX); cellX <= cellOf(entry.maxX); cellX++) {
+            for (int cellY = cellOf(entry.minY); cellY <= cellOf(entry.maxY); cellY++) {
+                action.accept(cellKey(cellX, cellY));
+            }
+        }
+    }
+
+    /*
+     * Returns the grid cell of a coordinate.
+     */
+    private static int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate / Constants.CULL_CELL_SIZE);
+    }
+
+    /*
+     * Returns the key of a grid cell.
+     */
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << Integer.SIZE) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /*
+     * A culled object with the renderable it was hidden with and, for static objects, its fixed bounds.
+     */
+    private static class Entry {
+        private final GameObject gameObject;
+        private Renderable renderable;
+        private final boolean isStatic;
+        private float minX;
+        private float minY;
+        private float maxX;
+        private float maxY;
+        private int visibleFrame;
+        private boolean isVisible;
+        private boolean isRemoved;
+
+        private Entry(GameObject gameObject, boolean isStatic) {
+            this.gameObject = gameObject;
+            this.isStatic = isStatic;
+            this.visibleFrame = -1;
+            this.isVisible = true;
+            refreshBounds();
+        }
+
+        private void refreshBounds() {
+            Vector2 topLeftCorner = this.gameObject.getTopLeftCorner();
+            Vector2 dimensions = this.gameObject.getDimensions();
+            this.minX = topLeftCorner.x();
+            this.minY = topLeftCorner.y();
+            this.maxX = this.minX + dimensions.x();
+            this.maxY = this.minY + dimensions.y();
+        }
+
+        private boolean intersects(float viewMinX, float viewMinY, float viewMaxX, float viewMaxY) {
+            if (!this.isStatic) {
+                refreshBounds();
+            }
+            return this.minX <= viewMaxX && viewMinX <= this.maxX &&
+                    this.minY <= viewMaxY && viewMinY <= this.maxY;
+        }
+
+        private void setVisible(boolean isVisible) {
+            if (this.isVisible == isVisible) {
+                return;
+            }
+            this.isVisible = isVisible;
+            Renderable current = this.gameObject.renderer().getRenderable();
+            if (!isVisible) {
+                // Hides the renderable the object has now, the game may have swapped it since it was added
+                this.renderable = current;
+                this.gameObject.renderer().setRenderable(null);
+            } else if (current == null) {
+                // A renderable the game set while the object was hidden is kept
+                this.gameObject.renderer().setRenderable(this.renderable);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package bricker.rewind;
+
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * Represents the state of the game the rewind buffer records: which bricks of the current level are
+ * alive, the positions and velocities of the balls, and the hearts counter.
+ * A snapshot is mutable and reused from tick to tick, so recording and seeking do not allocate.
+ * The first ball is the main ball, and the others are pucks.
+ */
+public class GameSnapshot {
+    private final float[] ballsX;
+    private final float[] ballsY;
+    private final float[] ballVelocitiesX;
+    private final float[] ballVelocitiesY;
+    private long[] aliveBricks;
+    private int numOfBricks;
+    private int numOfBalls;
+    private int hearts;
+    private float time;
+
+    /**
+     * Constructor.
+     * @param maxBalls the maximal number of balls a snapshot holds
+     */
+    public GameSnapshot(int maxBalls) {
+        this.ballsX = new float[maxBalls];
+        this.ballsY = new float[maxBalls];
+        this.ballVelocitiesX = new float[maxBalls];
+        this.ballVelocitiesY = new float[maxBalls];
+        this.aliveBricks = new long[0];
+    }
+
+    /**
+     * Starts a new board in which all the bricks are alive.
+     * @param numOfBricks the number of bricks of the board
+     */
+    public void resetBricks(int numOfBricks) {
+        int numOfWords = wordsFor(numOfBricks);
+        if (this.aliveBricks.length < numOfWords) {
+            this.aliveBricks = new long[numOfWords];
+        }
+        Arrays.fill(this.aliveBricks, 0, numOfWords, -1L);
+        int numOfTailBits = numOfBricks % Long.SIZE;
+        if (numOfTailBits != 0) {
+            this.aliveBricks[numOfWords - 1] = (1L << numOfTailBits) - 1;
+        }
+        Arrays.fill(this.aliveBricks, numOfWords, this.aliveBricks.length, 0);
+        this.numOfBricks = numOfBricks;
+    }
+
+    /**
+     * Marks a brick destroyed.
+     * @param brickIndex the row-major index of the brick
+     */
+    public void destroyBrick(int brickIndex) {
+        this.aliveBricks[brickIndex / Long.SIZE] &= ~(1L << brickIndex);
+    }
+
+    /**
+     * Returns whether a brick is alive.
+     * @param brickIndex the row-major index of the brick
+     * @return true if the brick was not destroyed
+     */
+    public boolean isBrickAlive(int brickIndex) {
+        return (this.aliveBricks[brickIndex / Long.SIZE] & (1L << brickIndex)) != 0;
+    }
+
+    /**
+     * Returns the number of bricks of the board.
+     * @return the number of bricks, destroyed or not
+     */
+    public int numOfBricks() {
+        return this.numOfBricks;
+    }
+
+    /**
+     * Copies the bitset of the alive bricks into an array, one bit per brick in row-major order.
+     * @param destination the array to copy the bitset into
+     * @param offset the index of the first word to write
+     * @param numOfWords the number of words to write, the words past the board are cleared
+     * @return the number of bricks of the board
+     */
+    public int copyAliveBricks(long[] destination, int offset, int numOfWords) {
+        int numOfCopiedWords = Math.min(numOfWords, wordsFor(this.numOfBricks));
+        System.arraycopy(this.aliveBricks, 0, destination, offset, numOfCopiedWords);
+        Arrays.fill(destination, offset + numOfCopiedWords, offset + numOfWords, 0);
+        return this.numOfBricks;
+    }
+
+    /**
+     * Copies the whole state of another snapshot into this one.
+     * @param other the snapshot to copy
+     */
+    public void copyFrom(GameSnapshot other) {
+        resetBricks(other.numOfBricks);
+        System.arraycopy(other.aliveBricks, 0, this.aliveBricks, 0, wordsFor(other.numOfBricks));
+        clearBalls();
+        for (int i = 0; i < other.numOfBalls; i++) {
+            addBall(other.ballsX[i], other.ballsY[i], other.ballVelocitiesX[i], other.ballVelocitiesY[i]);
+        }
+        this.hearts = other.hearts;
+        this.time = other.time;
+    }
+
+    /**
+     * Removes all the balls from the snapshot.
+     */
+    public void clearBalls() {
+        this.numOfBalls = 0;
+    }
+
+    /**
+     * Adds a ball to the snapshot, if there is room for it.
+     * @param center the center of the ball
+     * @param velocity the velocity of the ball
+     */
+    public void addBall(Vector2 center, Vector2 velocity) {
+        addBall(center.x(), center.y(), velocity.x(), velocity.y());
+    }
+
+    /**
+     * Returns the number of balls in the snapshot.
+     * @return the number of balls
+     */
+    public int numOfBalls() {
+        return this.numOfBalls;
+    }
+
+    /**
+     * Returns the center of a ball.
+     * @param ballIndex the index of the ball, 0 for the main ball
+     * @return the center of the ball
+     */
+    public Vector2 ballCenter(int ballIndex) {
+        return new Vector2(this.ballsX[ballIndex], this.ballsY[ballIndex]);
+    }
+
+    /**
+     * Returns the velocity of a ball.
+     * @param ballIndex the index of the ball, 0 for the main ball
+     * @return the velocity of the ball
+     */
+    public Vector2 ballVelocity(int ballIndex) {
+        return new Vector2(this.ballVelocitiesX[ballIndex], this.ballVelocitiesY[ballIndex]);
+    }
+
+    /**
+     * Sets the hearts counter.
+     * @param hearts the number of hearts
+     */
+    public void setHearts(int hearts) {
+        this.hearts = hearts;
+    }
+
+    /**
+     * Returns the hearts counter.
+     * @return the number of hearts
+     */
+    public int hearts() {
+        return this.hearts;
+    }
+
+    /**
+     * Sets the time of the snapshot since the board started.
+     * @param time the time in seconds
+     */
+    public void setTime(float time) {
+        this.time = time;
+    }
+
+    /**
+     * Returns the time of the snapshot since the board started.
+     * @return the time in seconds
+     */
+    public float time() {
+        return this.time;
+    }
+
+    /*
+     * Adds a ball from its coordinates, if there is room for it.
+     */
+    void addBall(float x, float y, float velocityX, float velocityY) {
+        if (this.numOfBalls == this.ballsX.length) {
+            return;
+        }
+        this.ballsX[this.numOfBalls] = x;
+        this.ballsY[this.numOfBalls] = y;
+        this.ballVelocitiesX[this.numOfBalls] = velocityX;
+        this.ballVelocitiesY[this.numOfBalls] = velocityY;
+        this.numOfBalls++;
+    }
+
+    /*
+     * Returns the bitset of the alive bricks, one bit per brick in row-major order.
+     */
+    long[] aliveBricks() {
+        return this.aliveBricks;
+    }
+
+    /*
+     * Returns the x coordinate of the center of a ball.
+     */
+    float ballX(int ballIndex) {
+        return this.ballsX[ballIndex];
+    }
+
+    /*
+     * Returns the y coordinate of the center of a ball.
+     */
+    float ballY(int ballIndex) {
+        return this.ballsY[ballIndex];
+    }
+
+    /*
+     * Returns the x velocity of a ball.
+     */
+    float ballVelocityX(int ballIndex) {
+        return this.ballVelocitiesX[ballIndex];
+    }
+
+    /*
+     * Returns the y velocity of a ball.
+     */
+    float ballVelocityY(int ballIndex) {
+        return this.ballVelocitiesY[ballIndex];
+    }
+
+    /*
+     * Returns the number of words of a bitset of the given number of bricks.
+     */
+    static int wordsFor(int numOfBricks) {
+        return (numOfBricks + Long.SIZE - 1) / Long.SIZE;
+    }
+}
@@ -0,0 +1,95 @@
+package bricker.rewind;
+
+import bricker.main.Constants;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reports the time the rewind buffer takes to record a tick and to seek to a recorded tick.
+ * A 200x200 board with ten moving balls is recorded tick after tick, a brick destroyed on every tick,
+ * as in the busiest games. Every record is timed, and then seeks back a random time within what the
+ * buffer keeps, as rewinds do, which decode a keyframe and up to a keyframe interval of deltas each.
+ */
+public class RewindBenchmark {
+    private static final double PERCENTILE_99 = 0.99;
+    private static final double NANOS_IN_MICRO = 1000.0;
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private RewindBenchmark() {}
+
+    /**
+     * Measures recording and seeking, and prints the mean and 99th percentile time of each.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        RewindBuffer rewindBuffer = new RewindBuffer(Constants.REWIND_BUFFER_BYTES,
+                Constants.REWIND_MAX_FRAMES, Constants.REWIND_KEYFRAME_INTERVAL);
+        GameSnapshot snapshot = new GameSnapshot(Constants.REWIND_BENCHMARK_BALLS);
+        snapshot.resetBricks(Constants.REWIND_BENCHMARK_BRICKS);
+        Random random = new Random(0);
+        int[] destroyedBricks = new int[1];
+        recordTicks(rewindBuffer, snapshot, destroyedBricks, random, Constants.REWIND_BENCHMARK_WARMUP_TICKS);
+        report("record", recordTicks(rewindBuffer, snapshot, destroyedBricks, random,
+                Constants.REWIND_BENCHMARK_MEASURED_TICKS));
+        long[] seekNanos = new long[Constants.REWIND_BENCHMARK_SEEKS];
+        long numOfTicks = rewindBuffer.newestTick() - rewindBuffer.oldestTick() + 1;
+        float keptSeconds = numOfTicks * Constants.SCENARIO_TICK_SECONDS;
+        GameSnapshot seekSnapshot = new GameSnapshot(Constants.REWIND_BENCHMARK_BALLS);
+        for (int i = 0; i < seekNanos.length; i++) {
+            long tick = rewindBuffer.tickBefore(random.nextFloat() * keptSeconds);
+            long startNanos = System.nanoTime();
+            boolean isFound = rewindBuffer.seek(tick, seekSnapshot);
+            seekNanos[i] = System.nanoTime() - startNanos;
+            if (!isFound) {
+                throw new IllegalStateException("Tick " + tick + " is not in the buffer");
+            }
+        }
+        report("seek", seekNanos);
+        System.out.printf("%,d ticks kept in %,d bytes%n", numOfTicks, rewindBuffer.capacityBytes());
+    }
+
+    /*
+     * Moves the balls, destroys a random brick and records the tick, the given number of times.
+     * Returns the time every record took.
+     */
+    private static long[] recordTicks(RewindBuffer rewindBuffer, GameSnapshot snapshot, int[] destroyedBricks,
+                                      Random random, int numOfTicks) {
+        long[] recordNanos = new long[numOfTicks];
+        for (int tick = 0; tick < numOfTicks; tick++) {
+            snapshot.setTime(snapshot.time() + Constants.SCENARIO_TICK_SECONDS);
+            snapshot.setHearts(Constants.INIT_HEARTS_NUM);
+            snapshot.clearBalls();
+            for (int i = 0; i < Constants.REWIND_BENCHMARK_BALLS; i++) {
+                snapshot.addBall(new Vector2(random.nextFloat() * Constants.WINDOW_WIDTH,
+                                random.nextFloat() * Constants.WINDOW_HEIGHT),
+                        new Vector2(random.nextFloat(), random.nextFloat()).mult(Constants.BALL_VELOCITY));
+            }
+            destroyedBricks[0] = random.nextInt(Constants.REWIND_BENCHMARK_BRICKS);
+            snapshot.destroyBrick(destroyedBricks[0]);
+            long startNanos = System.nanoTime();
+            rewindBuffer.record(snapshot, destroyedBricks, destroyedBricks.length);
+            recordNanos[tick] = System.nanoTime() - startNanos;
+        }
+        return recordNanos;
+    }
+
+    /*
+     * Prints the mean and 99th percentile of the measured times, in microseconds.
+     */
+    private static void report(String operation, long[] nanos) {
+        long totalNanos = 0;
+        for (long operationNanos : nanos) {
+            totalNanos += operationNanos;
+        }
+        long[] sortedNanos = nanos.clone();
+        Arrays.sort(sortedNanos);
+        long p99Nanos = sortedNanos[(int) (PERCENTILE_99 * (sortedNanos.length - 1))];
+        System.out.printf("%s: %.2f us mean, %.2f us p99 over %,d calls%n", operation,
+                totalNanos / NANOS_IN_MICRO / nanos.length, p99Nanos / NANOS_IN_MICRO, nanos.length);
+    }
+}
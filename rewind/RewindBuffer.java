@@ -0,0 +1,292 @@
+package bricker.rewind;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a fixed-size, off-heap ring buffer of the recent states of the game.
+ * Every tick is recorded as a frame. Most frames are deltas, holding the balls, the hearts and the
+ * bricks destroyed during the tick. Every few ticks a keyframe holds the whole brick bitset instead,
+ * so seeking to a tick only decodes the keyframe before it and the deltas between them, and never
+ * replays the game from its start.
+ * Frames are written one after the other into a direct buffer allocated once, wrapping around to
+ * its start, and the oldest frames are dropped as newer frames overwrite them, so the memory used
+ * is fixed no matter how long the game runs.
+ */
+public class RewindBuffer {
+    private static final byte KEYFRAME = 0;
+    private static final byte DELTA_FRAME = 1;
+    private static final int FRAME_HEADER_SIZE = Byte.BYTES + Float.BYTES + 3 * Integer.BYTES;
+    private static final int BALL_SIZE = 4 * Float.BYTES;
+
+    private final ByteBuffer frames;
+    private final int maxFrames;
+    private final int keyframeInterval;
+    private final int[] frameOffsets;
+    private final int[] frameLengths;
+    private final float[] frameTimes;
+    private final boolean[] isKeyframe;
+    private long oldestTick;
+    private long newestTick;
+    private int writePosition;
+    private int ticksSinceKeyframe;
+
+    /**
+     * Constructor.
+     * Allocates all the memory the buffer will ever use.
+     * @param capacityBytes the size of the off-heap frame storage, in bytes
+     * @param maxFrames the maximal number of ticks kept
+     * @param keyframeInterval the number of ticks between keyframes
+     */
+    public RewindBuffer(int capacityBytes, int maxFrames, int keyframeInterval) {
+        this.frames = ByteBuffer.allocateDirect(capacityBytes);
+        this.maxFrames = maxFrames;
+        this.keyframeInterval = keyframeInterval;
+        this.frameOffsets = new int[maxFrames];
+        this.frameLengths = new int[maxFrames];
+        this.frameTimes = new float[maxFrames];
+        this.isKeyframe = new boolean[maxFrames];
+        clear();
+    }
+
+    /**
+     * Drops every recorded frame, for example when a new board starts.
+     */
+    public void clear() {
+        this.oldestTick = 0;
+        this.newestTick = -1;
+        this.writePosition = 0;
+        this.ticksSinceKeyframe = this.keyframeInterval;
+    }
+
+    /**
+     * Records the state of the game at the end of a tick.
+     * @param snapshot the current state of the game
+     * @param destroyedBricks the indices of the bricks destroyed during the tick
+     * @param numOfDestroyedBricks the number of indices in destroyedBricks
+     * @return the recorded tick, or -1 if the frame is bigger than the whole buffer
+     */
+    public long record(GameSnapshot snapshot, int[] destroyedBricks, int numOfDestroyedBricks) {
+        boolean isKey = this.ticksSinceKeyframe >= this.keyframeInterval;
+        int numOfWords = GameSnapshot.wordsFor(snapshot.numOfBricks());
+        int frameLength = FRAME_HEADER_SIZE + snapshot.numOfBalls() * BALL_SIZE +
+                (isKey ? numOfWords * Long.BYTES : numOfDestroyedBricks * Integer.BYTES);
+        if (frameLength > this.frames.capacity()) {
+            return -1;
+        }
+        long tick = this.newestTick + 1;
+        if (this.writePosition + frameLength > this.frames.capacity()) {
+            // The end of the storage is left unused, and the frames still there are the oldest
+            evictOverlappingFrames(tick, this.writePosition,
+                    this.frames.capacity() - this.writePosition);
+            this.writePosition = 0;
+        }
+        evictOverlappingFrames(tick, this.writePosition, frameLength);
+        int position = this.writePosition;
+        this.frames.put(position, isKey ? KEYFRAME : DELTA_FRAME);
+        position += Byte.BYTES;
+        this.frames.putFloat(position, snapshot.time());
+        position += Float.BYTES;
+        this.frames.putInt(position, snapshot.hearts());
+        position += Integer.BYTES;
+        this.frames.putInt(position, snapshot.numOfBalls());
+        position += Integer.BYTES;
+        this.frames.putInt(position, isKey ? snapshot.numOfBricks() : numOfDestroyedBricks);
+        position += Integer.BYTES;
+        for (int i = 0; i < snapshot.numOfBalls(); i++) {
+            this.frames.putFloat(position, snapshot.ballX(i));
+            this.frames.putFloat(position + Float.BYTES, snapshot.ballY(i));
+            this.frames.putFloat(position + 2 * Float.BYTES, snapshot.ballVelocityX(i));
+            this.frames.putFloat(position + 3 * Float.BYTES, snapshot.ballVelocityY(i));
+            position += BALL_SIZE;
+        }
+        if (isKey) {
+            long[] aliveBricks = snapshot.aliveBricks();
+            for (int i = 0; i < numOfWords; i++) {
+                this.frames.putLong(position, aliveBricks[i]);
+                position += Long.BYTES;
+            }
+            this.ticksSinceKeyframe = 0;
+        } else {
+            for (int i = 0; i < numOfDestroyedBricks; i++) {
+                this.frames.putInt(position, destroyedBricks[i]);
+                position += Integer.BYTES;
+            }
+        }
+        this.ticksSinceKeyframe++;
+        int slot = slotOf(tick);
+        this.frameOffsets[slot] = this.writePosition;
+        this.frameLengths[slot] = frameLength;
+        this.frameTimes[slot] = snapshot.time();
+        this.isKeyframe[slot] = isKey;
+        this.writePosition += frameLength;
+        this.newestTick = tick;
+        return tick;
+    }
+
+    /**
+     * Rebuilds the state of the game at a recorded tick, from the keyframe before it and the
+     * deltas that follow the keyframe.
+     * @param tick the tick to rebuild
+     * @param snapshot the snapshot to rebuild the state into
+     * @return true if the state was rebuilt, false if the tick is no longer or not yet recorded
+     */
+    public boolean seek(long tick, GameSnapshot snapshot) {
+        if (tick < this.oldestTick || tick > this.newestTick) {
+            return false;
+        }
+        long keyframeTick = tick;
+        while (!this.isKeyframe[slotOf(keyframeTick)]) {
+            keyframeTick--;
+            if (keyframeTick < this.oldestTick) {
+                return false;
+            }
+        }
+        for (long frameTick = keyframeTick; frameTick <= tick; frameTick++) {
+            applyFrame(slotOf(frameTick), snapshot, frameTick == tick);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the newest recorded tick that is at least the given time before the newest tick,
+     * or the oldest tick that can be rebuilt if not that much time was recorded.
+     * @param seconds the time to go back, in seconds
+     * @return the tick to seek to, or -1 if no tick can be rebuilt
+     */
+    public long tickBefore(float seconds) {
+        if (this.newestTick < this.oldestTick) {
+            return -1;
+        }
+        float targetTime = this.frameTimes[slotOf(this.newestTick)] - seconds;
+        long earliestTick = earliestSeekableTick();
+        for (long tick = this.newestTick; tick > earliestTick; tick--) {
+            if (this.frameTimes[slotOf(tick)] <= targetTime) {
+                return tick;
+            }
+        }
+        return earliestTick;
+    }
+
+    /**
+     * Drops the frames recorded after a tick, so recording continues from it after a rewind.
+     * @param tick the tick to keep as the newest one
+     */
+    public void truncateAfter(long tick) {
+        if (tick < this.oldestTick || tick >= this.newestTick) {
+            return;
+        }
+        int slot = slotOf(tick);
+        this.newestTick = tick;
+        this.writePosition = this.frameOffsets[slot] + this.frameLengths[slot];
+        long keyframeTick = tick;
+        while (!this.isKeyframe[slotOf(keyframeTick)] && keyframeTick > this.oldestTick) {
+            keyframeTick--;
+        }
+        this.ticksSinceKeyframe = (int) (tick - keyframeTick) + 1;
+    }
+
+    /**
+     * Returns the oldest recorded tick.
+     * @return the oldest tick
+     */
+    public long oldestTick() {
+        return this.oldestTick;
+    }
+
+    /**
+     * Returns the newest recorded tick.
+     * @return the newest tick, or -1 if nothing was recorded
+     */
+    public long newestTick() {
+        return this.newestTick;
+    }
+
+    /**
+     * Returns the size of the off-heap frame storage.
+     * @return the capacity in bytes
+     */
+    public int capacityBytes() {
+        return this.frames.capacity();
+    }
+
+    /*
+     * Drops the oldest frames that the frame about to be written would overwrite, or that would
+     * exceed the maximal number of frames.
+     */
+    private void evictOverlappingFrames(long tick, int start, int length) {
+        while (this.oldestTick <= this.newestTick) {
+            int slot = slotOf(this.oldestTick);
+            int oldestStart = this.frameOffsets[slot];
+            int oldestEnd = oldestStart + this.frameLengths[slot];
+            boolean isOverlapping = oldestStart < start + length && start < oldestEnd;
+            if (!isOverlapping && tick - this.oldestTick < this.maxFrames) {
+                return;
+            }
+            this.oldestTick++;
+        }
+        this.oldestTick = tick;
+    }
+
+    /*
+     * Applies a single frame to the snapshot. Keyframes replace the brick bitset, deltas destroy
+     * their bricks, and the balls and hearts are only decoded for the target frame.
+     */
+    private void applyFrame(int slot, GameSnapshot snapshot, boolean isTarget) {
+        int position = this.frameOffsets[slot];
+        boolean isKey = this.frames.get(position) == KEYFRAME;
+        position += Byte.BYTES;
+        float time = this.frames.getFloat(position);
+        position += Float.BYTES;
+        int hearts = this.frames.getInt(position);
+        position += Integer.BYTES;
+        int numOfBalls = this.frames.getInt(position);
+        position += Integer.BYTES;
+        int numOfBricks = this.frames.getInt(position);
+        position += Integer.BYTES;
+        if (isTarget) {
+            snapshot.setTime(time);
+            snapshot.setHearts(hearts);
+            snapshot.clearBalls();
+            for (int i = 0; i < numOfBalls; i++) {
+                snapshot.addBall(this.frames.getFloat(position + i * BALL_SIZE),
+                        this.frames.getFloat(position + i * BALL_SIZE + Float.BYTES),
+                        this.frames.getFloat(position + i * BALL_SIZE + 2 * Float.BYTES),
+                        this.frames.getFloat(position + i * BALL_SIZE + 3 * Float.BYTES));
+            }
+        }
+        position += numOfBalls * BALL_SIZE;
+        if (isKey) {
+            snapshot.resetBricks(numOfBricks);
+            long[] aliveBricks = snapshot.aliveBricks();
+            for (int i = 0; i < GameSnapshot.wordsFor(numOfBricks); i++) {
+                aliveBricks[i] = this.frames.getLong(position);
+                position += Long.BYTES;
+            }
+        } else {
+            for (int i = 0; i < numOfBricks; i++) {
+                snapshot.destroyBrick(this.frames.getInt(position));
+                position += Integer.BYTES;
+            }
+        }
+    }
+
+    /*
+     * Returns the oldest tick that can be rebuilt, which is the oldest recorded keyframe,
+     * or -1 if there is none.
+     */
+    private long earliestSeekableTick() {
+        for (long tick = this.oldestTick; tick <= this.newestTick; tick++) {
+            if (this.isKeyframe[slotOf(tick)]) {
+                return tick;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Returns the index slot of a tick.
+     */
+    private int slotOf(long tick) {
+        return (int) (tick % this.maxFrames);
+    }
+}
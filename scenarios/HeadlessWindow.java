@@ -0,0 +1,125 @@
+package bricker.scenarios;
+
+import danogl.gui.UserInputListener;
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Represents a window that is never shown, so the game can run without a display.
+ * The window controller reports the window dimensions, answers yes to every dialog, and records
+ * the requests to reset the game for the scenario runner to carry out, and the frame rate the game
+ * asks for. The input listener reports no pressed keys, since scenarios drive the game directly.
+ * Both are dynamic proxies, so every other method of the interfaces does nothing and returns a
+ * default value.
+ */
+public class HeadlessWindow {
+    private final Vector2 windowDimensions;
+    private final WindowController windowController;
+    private final UserInputListener inputListener;
+    private boolean isResetRequested;
+    private volatile int targetFramerate;
+
+    /**
+     * Constructor.
+     * @param windowDimensions the dimensions the window reports
+     */
+    public HeadlessWindow(Vector2 windowDimensions) {
+        this.windowDimensions = windowDimensions;
+        this.windowController = (WindowController) Proxy.newProxyInstance(
+                WindowController.class.getClassLoader(), new Class<?>[] {WindowController.class},
+                (proxy, method, args) -> onWindowCall(method, args));
+        this.inputListener = (UserInputListener) Proxy.newProxyInstance(
+                UserInputListener.class.getClassLoader(), new Class<?>[] {UserInputListener.class},
+                (proxy, method, args) -> defaultValue(method));
+    }
+
+    /**
+     * Returns the window controller of the window.
+     * @return the window controller
+     */
+    public WindowController windowController() {
+        return this.windowController;
+    }
+
+    /**
+     * Returns the input listener of the window.
+     * @return an input listener reporting no pressed keys
+     */
+    public UserInputListener inputListener() {
+        return this.inputListener;
+    }
+
+    /**
+     * Returns whether the game asked to be reset since the last call, clearing the request.
+     * @return true if the game should be initialized again
+     */
+    public boolean takeResetRequest() {
+        boolean isResetRequested = this.isResetRequested;
+        this.isResetRequested = false;
+        return isResetRequested;
+    }
+
+    /**
+     * Returns the frame rate the game last asked the window to run at.
+     * @return the target frame rate, or 0 if the game never set one
+     */
+    public int targetFramerate() {
+        return this.targetFramerate;
+    }
+
+    /**
+     * Returns the default value of the return type of a method, which a proxy of the game's window
+     * interfaces answers the calls it does not handle with.
+     * @param method the called method
+     * @return false, zero, an empty set or null, depending on the return type
+     */
+    public static Object defaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == float.class) {
+            return 0f;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        if (returnType == Set.class) {
+            return Collections.emptySet();
+        }
+        return null;
+    }
+
+    /*
+     * Answers a call to the window controller.
+     */
+    private Object onWindowCall(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getWindowDimensions":
+                return this.windowDimensions;
+            case "openYesNoDialog":
+                return true;
+            case "resetGame":
+                this.isResetRequested = true;
+                return null;
+            case "setTargetFramerate":
+                this.targetFramerate = (Integer) args[0];
+                return null;
+            case "getTargetFramerate":
+                return this.targetFramerate;
+            default:
+                return defaultValue(method);
+        }
+    }
+}
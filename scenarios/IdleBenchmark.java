@@ -0,0 +1,93 @@
+package bricker.scenarios;
+
+import bricker.input.ScriptedInput;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reports the CPU the game thread uses while the game is played, and once it went idle.
+ * Runs the game headless in a loop paced like the engine's, at the frame rate the game asks the
+ * window for. While played, a script presses a key the game does not bind every few frames; then
+ * the input stops, and the game is measured again once it went idle.
+ */
+public class IdleBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private IdleBenchmark() {}
+
+    /**
+     * Measures the played and the idle phase, and prints the CPU use and tick rate of each.
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Vector2 windowDimensions = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        HeadlessWindow window = new HeadlessWindow(windowDimensions);
+        BrickerGameManager game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE, windowDimensions,
+                Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS);
+        game.setRecordingEnabled(false);
+        game.enableIdleMode(Constants.IDLE_BENCHMARK_TIMEOUT_NANOS);
+        game.initializeGame(null, null, window.inputListener(), window.windowController());
+        long phaseNanos = Constants.IDLE_BENCHMARK_PHASE_SECONDS * Constants.NANOS_IN_SECOND;
+        int numOfPresses = (int) (phaseNanos / Constants.IDLE_BENCHMARK_PRESS_INTERVAL_NANOS);
+        long[] offsetsNanos = new long[2 * numOfPresses];
+        int[] keyCodes = new int[2 * numOfPresses];
+        boolean[] isPressed = new boolean[2 * numOfPresses];
+        for (int i = 0; i < offsetsNanos.length; i++) {
+            offsetsNanos[i] = (i + 1) / 2 * Constants.IDLE_BENCHMARK_PRESS_INTERVAL_NANOS;
+            keyCodes[i] = KeyEvent.VK_SHIFT;
+            isPressed[i] = i % 2 == 0;
+        }
+        game.playInputScript(new ScriptedInput(offsetsNanos, keyCodes, isPressed));
+        report("played", runFrames(game, window, phaseNanos));
+        while (!game.isSuspended()) {
+            runFrames(game, window, Constants.IDLE_BENCHMARK_PRESS_INTERVAL_NANOS);
+        }
+        report("idle", runFrames(game, window, phaseNanos));
+        game.shutdown();
+    }
+
+    /*
+     * Runs frames for the given time, sleeping between them like the engine does, and returns the
+     * number of frames, the wall time and the CPU time of the game thread.
+     */
+    private static long[] runFrames(BrickerGameManager game, HeadlessWindow window, long durationNanos) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long startCpuNanos = threads.getCurrentThreadCpuTime();
+        long startNanos = System.nanoTime();
+        long nextFrameNanos = startNanos;
+        long numOfFrames = 0;
+        while (System.nanoTime() - startNanos < durationNanos) {
+            if (window.takeResetRequest()) {
+                game.initializeGame(null, null, window.inputListener(), window.windowController());
+            }
+            int framerate = window.targetFramerate() > 0 ? window.targetFramerate() :
+                    Constants.DEFAULT_RENDER_RATE;
+            game.update(1f / framerate);
+            numOfFrames++;
+            nextFrameNanos += Constants.NANOS_IN_SECOND / framerate;
+            while (nextFrameNanos - System.nanoTime() > 0) {
+                LockSupport.parkNanos(nextFrameNanos - System.nanoTime());
+            }
+        }
+        return new long[] {numOfFrames, System.nanoTime() - startNanos,
+                threads.getCurrentThreadCpuTime() - startCpuNanos};
+    }
+
+    /*
+     * Prints the tick rate and CPU use of a phase.
+     */
+    private static void report(String phase, long[] measurement) {
+        double seconds = measurement[1] / (double) Constants.NANOS_IN_SECOND;
+        System.out.printf("%s: %.1f ticks/s, %.2f%% CPU%n", phase, measurement[0] / seconds,
+                100.0 * measurement[2] / measurement[1]);
+    }
+}
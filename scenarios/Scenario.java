@@ -0,0 +1,160 @@
+package bricker.scenarios;
+
+import bricker.brick_strategies.ChangeCameraCollisionStrategy;
+import bricker.budget.EntityType;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.FallenHeart;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.collisions.Layer;
+import danogl.gui.WindowController;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.util.Random;
+
+/**
+ * The named gameplay scenarios of the performance regression suite.
+ * Every scenario is seeded, so its board and the entities it spawns are the same on every run.
+ * Besides the plain game, a scenario may drive the game on every tick, spawning entities or
+ * switching the camera the way the worst cases of play do.
+ */
+public enum Scenario {
+    /**
+     * The default 7 by 8 board.
+     */
+    DEFAULT_BOARD(Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS, 1),
+    /**
+     * A board of 200 by 200 bricks.
+     */
+    LARGE_BOARD(Constants.SCENARIO_LARGE_BOARD_SIZE, Constants.SCENARIO_LARGE_BOARD_SIZE, 2),
+    /**
+     * The default board under a storm of pucks, spawned faster than the entity governor lets in.
+     */
+    PUCK_STORM(Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS, 3) {
+        @Override
+        void drive(BrickerGameManager game, WindowController windowController, GameObject mainBall,
+                   Random random, int tick) {
+            for (int i = 0; i < Constants.SCENARIO_PUCKS_PER_TICK; i++) {
+                Vector2 center = randomUpperPosition(windowController, random);
+                double angle = random.nextDouble() * Math.PI;
+                Vector2 velocity = new Vector2((float) Math.cos(angle), (float) Math.sin(angle))
+                        .mult(Constants.BALL_VELOCITY);
+                game.entityGovernor().trySpawn(EntityType.PUCK, () -> {
+                    float puckSize = Constants.BALL_SIZE * Constants.PUCK_SIZE_FACTOR;
+                    Ball puck = new Ball(Vector2.ZERO, new Vector2(puckSize, puckSize), null, null);
+                    puck.setCenter(center);
+                    puck.setVelocity(velocity);
+                    game.addGameObject(puck, Layer.DEFAULT);
+                });
+            }
+        }
+    },
+    /**
+     * The default board with many hearts falling at once.
+     * The dropped hearts count on a counter of their own, so they do not keep the game alive.
+     */
+    FALLING_HEARTS(Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS, 4) {
+        private Counter droppedHeartsCounter;
+
+        @Override
+        void prepare() {
+            this.droppedHeartsCounter = new Counter(Constants.INIT_HEARTS_NUM);
+        }
+
+        @Override
+        void drive(BrickerGameManager game, WindowController windowController, GameObject mainBall,
+                   Random random, int tick) {
+            for (int i = 0; i < Constants.SCENARIO_HEARTS_PER_TICK; i++) {
+                Vector2 center = randomUpperPosition(windowController, random);
+                game.entityGovernor().trySpawn(EntityType.FALLEN_HEART, () -> {
+                    FallenHeart heart = new FallenHeart(Vector2.ZERO,
+                            new Vector2(Constants.UI_OBJECT_SIZE, Constants.UI_OBJECT_SIZE), null,
+                            this.droppedHeartsCounter, game);
+                    heart.setCenter(center);
+                    game.addGameObject(heart, Layer.DEFAULT);
+                });
+            }
+        }
+    },
+    /**
+     * The default board with the camera switched to follow the main ball and back every few ticks.
+     */
+    CAMERA_SWITCHING(Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS, 5) {
+        @Override
+        void drive(BrickerGameManager game, WindowController windowController, GameObject mainBall,
+                   Random random, int tick) {
+            if (tick % Constants.SCENARIO_CAMERA_SWITCH_TICKS != 0) {
+                return;
+            }
+            if (game.camera() != null) {
+                game.setCamera(null);
+                return;
+            }
+            // The collision of a camera brick with the main ball, without destroying a brick
+            new ChangeCameraCollisionStrategy(game, windowController, (brick, other) -> { })
+                    .onCollision(mainBall, mainBall);
+        }
+    };
+
+    private final int brickRows;
+    private final int brickCols;
+    private final long seed;
+
+    /*
+     * Constructor.
+     */
+    Scenario(int brickRows, int brickCols, long seed) {
+        this.brickRows = brickRows;
+        this.brickCols = brickCols;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the number of rows of bricks of the first board.
+     * @return the number of rows
+     */
+    public int brickRows() {
+        return this.brickRows;
+    }
+
+    /**
+     * Returns the number of columns of bricks of the first board.
+     * @return the number of columns
+     */
+    public int brickCols() {
+        return this.brickCols;
+    }
+
+    /**
+     * Returns the seed of the game and of the entities the scenario spawns.
+     * @return the seed
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    /*
+     * Resets the state the scenario keeps across ticks, before every run, so a run does not start
+     * from where the previous one ended. Does nothing by default.
+     */
+    void prepare() {
+    }
+
+    /*
+     * Drives the game before a tick. Does nothing by default.
+     */
+    void drive(BrickerGameManager game, WindowController windowController, GameObject mainBall,
+               Random random, int tick) {
+    }
+
+    /*
+     * Returns a random position in the upper half of the window.
+     */
+    private static Vector2 randomUpperPosition(WindowController windowController, Random random) {
+        Vector2 windowDimensions = windowController.getWindowDimensions();
+        return new Vector2(random.nextFloat() * windowDimensions.x(),
+                random.nextFloat() * windowDimensions.y() * Constants.HALF_FACTOR);
+    }
+}
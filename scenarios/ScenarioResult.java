@@ -0,0 +1,144 @@
+package bricker.scenarios;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Represents the measurements of a run of a performance scenario.
+ * Results are stored in a baseline file as properties keyed by the scenario name, and a result is
+ * compared with its baseline metric by metric.
+ */
+public class ScenarioResult {
+    private static final String TICKS_PER_SECOND_KEY = ".ticksPerSecond";
+    private static final String FRAME_TIME_PERCENTILE_KEY = ".p99FrameNanos";
+    private static final String ALLOCATION_RATE_KEY = ".allocatedBytesPerSecond";
+    private static final String PEAK_HEAP_KEY = ".peakHeapBytes";
+
+    private final Scenario scenario;
+    private final double ticksPerSecond;
+    private final long p99FrameNanos;
+    private final double allocatedBytesPerSecond;
+    private final long peakHeapBytes;
+
+    /**
+     * Constructor.
+     * @param scenario the scenario that was run
+     * @param ticksPerSecond the number of game ticks simulated per second of game thread time
+     * @param p99FrameNanos the 99th percentile of the tick times, in nanoseconds
+     * @param allocatedBytesPerSecond the bytes the game thread allocated per second of ticks
+     * @param peakHeapBytes the peak size of the used heap during the run
+     */
+    public ScenarioResult(Scenario scenario, double ticksPerSecond, long p99FrameNanos,
+                          double allocatedBytesPerSecond, long peakHeapBytes) {
+        this.scenario = scenario;
+        this.ticksPerSecond = ticksPerSecond;
+        this.p99FrameNanos = p99FrameNanos;
+        this.allocatedBytesPerSecond = allocatedBytesPerSecond;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    /**
+     * Reads the result of a scenario from a baseline.
+     * @param scenario the scenario
+     * @param baseline the stored baseline
+     * @return the stored result, or null if the baseline has no result of the scenario
+     */
+    public static ScenarioResult fromProperties(Scenario scenario, Properties baseline) {
+        String prefix = scenario.name();
+        if (baseline.getProperty(prefix + TICKS_PER_SECOND_KEY) == null) {
+            return null;
+        }
+        return new ScenarioResult(scenario,
+                Double.parseDouble(baseline.getProperty(prefix + TICKS_PER_SECOND_KEY)),
+                Long.parseLong(baseline.getProperty(prefix + FRAME_TIME_PERCENTILE_KEY)),
+                Double.parseDouble(baseline.getProperty(prefix + ALLOCATION_RATE_KEY)),
+                Long.parseLong(baseline.getProperty(prefix + PEAK_HEAP_KEY)));
+    }
+
+    /**
+     * Writes the result into a baseline, replacing the previous result of the scenario.
+     * @param baseline the baseline to write into
+     */
+    public void toProperties(Properties baseline) {
+        String prefix = this.scenario.name();
+        baseline.setProperty(prefix + TICKS_PER_SECOND_KEY, Double.toString(this.ticksPerSecond));
+        baseline.setProperty(prefix + FRAME_TIME_PERCENTILE_KEY, Long.toString(this.p99FrameNanos));
+        baseline.setProperty(prefix + ALLOCATION_RATE_KEY, Double.toString(this.allocatedBytesPerSecond));
+        baseline.setProperty(prefix + PEAK_HEAP_KEY, Long.toString(this.peakHeapBytes));
+    }
+
+    /**
+     * Compares the result with the baseline result of the same scenario.
+     * A metric regresses when it is worse than the baseline by more than the threshold: fewer ticks
+     * per second, or a longer frame time, a higher allocation rate or a bigger heap.
+     * @param baseline the baseline result
+     * @param threshold the relative change allowed, such as 0.15 for 15%
+     * @return a description of every regressed metric, empty if none regressed
+     */
+    public List<String> regressionsFrom(ScenarioResult baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        if (this.ticksPerSecond < baseline.ticksPerSecond * (1 - threshold)) {
+            regressions.add(describe("ticks per second", this.ticksPerSecond, baseline.ticksPerSecond));
+        }
+        if (this.p99FrameNanos > baseline.p99FrameNanos * (1 + threshold)) {
+            regressions.add(describe("p99 frame time", this.p99FrameNanos, baseline.p99FrameNanos));
+        }
+        if (this.allocatedBytesPerSecond > baseline.allocatedBytesPerSecond * (1 + threshold)) {
+            regressions.add(describe("allocation rate", this.allocatedBytesPerSecond,
+                    baseline.allocatedBytesPerSecond));
+        }
+        if (this.peakHeapBytes > baseline.peakHeapBytes * (1 + threshold)) {
+            regressions.add(describe("peak heap", this.peakHeapBytes, baseline.peakHeapBytes));
+        }
+        return regressions;
+    }
+
+    /**
+     * Returns the scenario that was run.
+     * @return the scenario
+     */
+    public Scenario scenario() {
+        return this.scenario;
+    }
+
+    /**
+     * Returns the number of game ticks simulated per second of game thread time.
+     * @return the ticks per second
+     */
+    public double ticksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Returns the 99th percentile of the tick times.
+     * @return the frame time in nanoseconds
+     */
+    public long p99FrameNanos() {
+        return this.p99FrameNanos;
+    }
+
+    /**
+     * Returns the bytes the game thread allocated per second of ticks.
+     * @return the allocation rate in bytes per second
+     */
+    public double allocatedBytesPerSecond() {
+        return this.allocatedBytesPerSecond;
+    }
+
+    /**
+     * Returns the peak size of the used heap during the run.
+     * @return the peak heap in bytes
+     */
+    public long peakHeapBytes() {
+        return this.peakHeapBytes;
+    }
+
+    /*
+     * Describes a regressed metric with its change from the baseline.
+     */
+    private String describe(String metric, double value, double baselineValue) {
+        return String.format("%s %s: %.4g, baseline %.4g (%+.1f%%)", this.scenario.name(), metric, value,
+                baselineValue, (value / baselineValue - 1) * 100);
+    }
+}
@@ -0,0 +1,211 @@
+package bricker.scenarios;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Runs the gameplay scenarios headless and reports, for each one, the ticks per second, the p99
+ * frame time, the allocation rate and the peak heap, so that regressions of whole frames show up
+ * where microbenchmarks do not.
+ * The results are compared with the stored baseline, and any metric that got worse than the
+ * baseline by more than the regression threshold is flagged, making the run exit with status 1.
+ * A scenario missing from the baseline cannot be compared, so it is flagged as well, making the run
+ * exit with status 2 unless a regression was found.
+ * Running with --record-baseline stores the results as the new baseline instead.
+ * Other arguments select scenarios by name, and all the scenarios run when none is given.
+ * The main paddle follows the main ball on every tick, so a scenario is not cut short by lost hearts.
+ */
+public class ScenarioRunner {
+    private static final int REGRESSION_EXIT_STATUS = 1;
+    private static final int MISSING_BASELINE_EXIT_STATUS = 2;
+
+    /**
+     * Constructor.
+     * private and empty, the runner is only run through main.
+     */
+    private ScenarioRunner() {}
+
+    /**
+     * Runs the selected scenarios, prints their results, and compares them with the baseline or
+     * records them as the new baseline.
+     * @param args the names of the scenarios to run, and optionally --record-baseline
+     * @throws IOException if the baseline cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        boolean isRecordingBaseline = Arrays.asList(args).contains(Constants.SCENARIO_RECORD_BASELINE_ARG);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.equals(Constants.SCENARIO_RECORD_BASELINE_ARG)) {
+                scenarios.add(Scenario.valueOf(arg));
+            }
+        }
+        if (scenarios.isEmpty()) {
+            scenarios.addAll(Arrays.asList(Scenario.values()));
+        }
+        Path baselinePath = Path.of(Constants.SCENARIO_BASELINE_PATH);
+        Properties baseline = loadBaseline(baselinePath);
+        List<String> regressions = new ArrayList<>();
+        List<String> missingBaselines = new ArrayList<>();
+        System.out.printf("%-18s %12s %12s %14s %12s%n", "scenario", "ticks/s", "p99 ms", "alloc MiB/s",
+                "peak MiB");
+        for (Scenario scenario : scenarios) {
+            ScenarioResult result = run(scenario);
+            System.out.printf("%-18s %12.0f %12.3f %14.1f %12.1f%n", scenario.name(),
+                    result.ticksPerSecond(),
+                    result.p99FrameNanos() / (double) Constants.NANOS_IN_MILLISECOND,
+                    result.allocatedBytesPerSecond() / Constants.BYTES_IN_MEBIBYTE,
+                    result.peakHeapBytes() / Constants.BYTES_IN_MEBIBYTE);
+            ScenarioResult baselineResult = ScenarioResult.fromProperties(scenario, baseline);
+            if (isRecordingBaseline) {
+                result.toProperties(baseline);
+            } else if (baselineResult != null) {
+                regressions.addAll(result.regressionsFrom(baselineResult,
+                        Constants.SCENARIO_REGRESSION_THRESHOLD));
+            } else {
+                missingBaselines.add(scenario.name());
+            }
+        }
+        if (isRecordingBaseline) {
+            saveBaseline(baselinePath, baseline);
+            System.out.println("Recorded the baseline in " + baselinePath);
+            return;
+        }
+        for (String regression : regressions) {
+            System.out.println("REGRESSION " + regression);
+        }
+        for (String scenarioName : missingBaselines) {
+            System.out.println("NO BASELINE " + scenarioName + " is not in " + baselinePath +
+                    ", run with " + Constants.SCENARIO_RECORD_BASELINE_ARG + " to record it");
+        }
+        if (!regressions.isEmpty()) {
+            System.exit(REGRESSION_EXIT_STATUS);
+        }
+        if (!missingBaselines.isEmpty()) {
+            System.exit(MISSING_BASELINE_EXIT_STATUS);
+        }
+    }
+
+    /**
+     * Runs a scenario headless: warms it up, then measures its ticks.
+     * Only the ticks of the game are measured, not the way the scenario drives it.
+     * @param scenario the scenario to run
+     * @return the measurements of the run
+     */
+    public static ScenarioResult run(Scenario scenario) {
+        Vector2 windowDimensions = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        HeadlessWindow window = new HeadlessWindow(windowDimensions);
+        BrickerGameManager game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE, windowDimensions,
+                scenario.brickRows(), scenario.brickCols(), Constants.NO_SERVER_PORT, scenario.seed());
+        game.setRecordingEnabled(false);
+        Random random = new Random(scenario.seed());
+        scenario.prepare();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        long[] frameNanos = new long[Constants.SCENARIO_MEASURED_TICKS];
+        long allocatedBytes = 0;
+        game.initializeGame(null, null, window.inputListener(), window.windowController());
+        GameObject[] mainObjects = findMainObjects(game);
+        int numOfTicks = Constants.SCENARIO_WARMUP_TICKS + Constants.SCENARIO_MEASURED_TICKS;
+        for (int tick = 0; tick < numOfTicks; tick++) {
+            if (tick == Constants.SCENARIO_WARMUP_TICKS) {
+                heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            }
+            if (window.takeResetRequest()) {
+                game.initializeGame(null, null, window.inputListener(), window.windowController());
+                mainObjects = findMainObjects(game);
+            }
+            followBall(mainObjects[0], mainObjects[1]);
+            scenario.drive(game, window.windowController(), mainObjects[0], random, tick);
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long startTime = System.nanoTime();
+            game.update(Constants.SCENARIO_TICK_SECONDS);
+            long tickNanos = System.nanoTime() - startTime;
+            if (tick >= Constants.SCENARIO_WARMUP_TICKS) {
+                frameNanos[tick - Constants.SCENARIO_WARMUP_TICKS] = tickNanos;
+                allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            }
+        }
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+        game.shutdown();
+        long totalNanos = Arrays.stream(frameNanos).sum();
+        double measuredSeconds = Math.max(totalNanos, 1) / (double) Constants.NANOS_IN_SECOND;
+        Arrays.sort(frameNanos);
+        long p99FrameNanos = frameNanos[(int) Math.ceil(frameNanos.length *
+                Constants.SCENARIO_FRAME_TIME_PERCENTILE) - 1];
+        return new ScenarioResult(scenario, frameNanos.length / measuredSeconds, p99FrameNanos,
+                allocatedBytes / measuredSeconds, peakHeapBytes);
+    }
+
+    /*
+     * Returns the main ball and the main paddle of the game.
+     */
+    private static GameObject[] findMainObjects(BrickerGameManager game) {
+        GameObject[] mainObjects = new GameObject[2];
+        for (GameObject gameObject : game.gameObjects()) {
+            if (gameObject.getTag().equals(Constants.MAIN_BALL_TAG)) {
+                mainObjects[0] = gameObject;
+            } else if (gameObject.getTag().equals(Constants.MAIN_PADDLE_TAG)) {
+                mainObjects[1] = gameObject;
+            }
+        }
+        return mainObjects;
+    }
+
+    /*
+     * Moves the paddle under the ball, so the ball is never lost.
+     */
+    private static void followBall(GameObject mainBall, GameObject mainPaddle) {
+        mainPaddle.setCenter(new Vector2(mainBall.getCenter().x(), mainPaddle.getCenter().y()));
+    }
+
+    /*
+     * Reads the stored baseline, or returns an empty one if none was recorded.
+     */
+    private static Properties loadBaseline(Path baselinePath) throws IOException {
+        Properties baseline = new Properties();
+        if (Files.isRegularFile(baselinePath)) {
+            try (InputStream in = Files.newInputStream(baselinePath)) {
+                baseline.load(in);
+            }
+        }
+        return baseline;
+    }
+
+    /*
+     * Stores the baseline, creating its directory if needed.
+     */
+    private static void saveBaseline(Path baselinePath, Properties baseline) throws IOException {
+        Path directory = baselinePath.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (OutputStream out = Files.newOutputStream(baselinePath)) {
+            baseline.store(out, "Scenario baseline");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package bricker.scheduling;
+
+import bricker.main.Constants;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Represents the central scheduler of timed and event-count game effects.
+ * Effects are kept in timing wheels: one advanced once per game tick, and one per event source
+ * (for example a ball) advanced every time the source reports an event (for example a collision).
+ * This replaces game objects that exist only to poll a counter in their update, so pending
+ * effects cost nothing on frames where they are not due.
+ */
+public class EffectScheduler {
+    private final TimingWheel tickWheel;
+    private final Map<Object, TimingWheel> eventWheels;
+
+    /**
+     * Constructor.
+     */
+    public EffectScheduler() {
+        this.tickWheel = new TimingWheel(Constants.TICK_WHEEL_SLOTS_LOG2);
+        this.eventWheels = new IdentityHashMap<>();
+    }
+
+    /**
+     * Schedules an effect to run after the given number of game ticks.
+     * @param numOfTicks the number of ticks to wait, at least 1
+     * @param effect the effect to run
+     */
+    public void scheduleAfterTicks(int numOfTicks, Runnable effect) {
+        this.tickWheel.schedule(numOfTicks, effect);
+    }
+
+    /**
+     * Schedules an effect to run once the event source reports the given number of events.
+     * @param eventSource the source whose events are counted
+     * @param numOfEvents the number of events to wait for, at least 1
+     * @param effect the effect to run
+     */
+    public void scheduleAfterEvents(Object eventSource, int numOfEvents, Runnable effect) {
+        this.eventWheels.computeIfAbsent(eventSource,
+                source -> new TimingWheel(Constants.EVENT_WHEEL_SLOTS_LOG2)).schedule(numOfEvents, effect);
+    }
+
+    /**
+     * Reports an event of the source, running the effects waiting for it.
+     * Sources without pending effects are ignored.
+     * @param eventSource the source of the event
+     */
+    public void onEvent(Object eventSource) {
+        TimingWheel eventWheel = this.eventWheels.get(eventSource);
+        if (eventWheel == null) {
+            return;
+        }
+        eventWheel.advance();
+        if (eventWheel.numOfPendingEffects() == 0) {
+            this.eventWheels.remove(eventSource, eventWheel);
+        }
+    }
+
+    /**
+     * Drops the pending effects of an event source, for example when it leaves the game.
+     * @param eventSource the source to forget
+     */
+    public void forget(Object eventSource) {
+        this.eventWheels.remove(eventSource);
+    }
+
+    /**
+     * Advances the game tick, running the effects that became due.
+     * Should be called once per game update.
+     */
+    public void tick() {
+        this.tickWheel.advance();
+    }
+
+    /**
+     * Returns the number of effects waiting to run.
+     * @return the number of pending effects
+     */
+    public int numOfPendingEffects() {
+        int numOfPendingEffects = this.tickWheel.numOfPendingEffects();
+        for (TimingWheel eventWheel : this.eventWheels.values()) {
+            numOfPendingEffects += eventWheel.numOfPendingEffects();
+        }
+        return numOfPendingEffects;
+    }
+}
@@ -0,0 +1,96 @@
+package bricker.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a hashed timing wheel of delayed effects.
+ * The wheel is a ring of slots, each holding the effects due when the cursor reaches it.
+ * Effects delayed by more than one revolution are kept with the number of revolutions left.
+ * Advancing the wheel by one step only visits the slot under the cursor, so its cost depends on the
+ * effects in that slot and not on the total number of scheduled effects.
+ * The unit of a step is up to the owner of the wheel: a game tick, a collision, etc.
+ */
+public class TimingWheel {
+    private final List<ScheduledEffect>[] slots;
+    private final int mask;
+    private List<ScheduledEffect> spareSlot;
+    private int cursor;
+    private int numOfPendingEffects;
+
+    /**
+     * Constructor.
+     * @param numOfSlotsLog2 the log2 of the number of slots of the wheel
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(int numOfSlotsLog2) {
+        int numOfSlots = 1 << numOfSlotsLog2;
+        this.slots = new List[numOfSlots];
+        for (int i = 0; i < numOfSlots; i++) {
+            this.slots[i] = new ArrayList<>();
+        }
+        this.mask = numOfSlots - 1;
+        this.spareSlot = new ArrayList<>();
+    }
+
+    /**
+     * Schedules an effect to run after the given number of steps.
+     * @param delay the number of steps to wait, at least 1
+     * @param effect the effect to run
+     */
+    public void schedule(int delay, Runnable effect) {
+        if (delay < 1) {
+            throw new IllegalArgumentException("Delay must be at least one step: " + delay);
+        }
+        int slot = (this.cursor + delay) & this.mask;
+        int revolutions = (delay - 1) / this.slots.length;
+        this.slots[slot].add(new ScheduledEffect(effect, revolutions));
+        this.numOfPendingEffects++;
+    }
+
+    /**
+     * Advances the wheel by one step and runs the effects that became due.
+     * Effects may schedule new effects while they run.
+     */
+    public void advance() {
+        this.cursor = (this.cursor + 1) & this.mask;
+        List<ScheduledEffect> slot = this.slots[this.cursor];
+        if (slot.isEmpty()) {
+            return;
+        }
+        // Effects scheduled by the effects that run go to a fresh list, not the one iterated
+        this.slots[this.cursor] = this.spareSlot;
+        for (ScheduledEffect scheduledEffect : slot) {
+            if (scheduledEffect.revolutions == 0) {
+                this.numOfPendingEffects--;
+                scheduledEffect.effect.run();
+            } else {
+                scheduledEffect.revolutions--;
+                this.slots[this.cursor].add(scheduledEffect);
+            }
+        }
+        slot.clear();
+        this.spareSlot = slot;
+    }
+
+    /**
+     * Returns the number of effects waiting to run.
+     * @return the number of pending effects
+     */
+    public int numOfPendingEffects() {
+        return this.numOfPendingEffects;
+    }
+
+    /*
+     * An effect waiting in a slot, with the number of revolutions left before it is due.
+     */
+    private static class ScheduledEffect {
+        private final Runnable effect;
+        private int revolutions;
+
+        private ScheduledEffect(Runnable effect, int revolutions) {
+            this.effect = effect;
+            this.revolutions = revolutions;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package bricker.scores;
+
+import bricker.main.Constants;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a persistent store of game results, kept in a memory-mapped append-only file.
+ * The file starts with a header and is followed by fixed-size records, each ending with a checksum
+ * of its fields, so a record is only valid once it was written completely.
+ * When the store is opened, the records are scanned until the first invalid one, which rebuilds
+ * the in-memory top results and drops a record torn by a crash in the middle of a write.
+ * New results update the top results immediately and are appended by a background thread, so
+ * recording a result never stalls the game loop.
+ */
+public class HighScoreStore {
+    private final FileChannel channel;
+    private final ExecutorService writer;
+    private final int topCapacity;
+    private final List<ScoreRecord> topScores;
+    private final CRC32 checksum;
+    private final boolean isTornRecordRecovered;
+    private MappedByteBuffer mappedLog;
+    private int writePosition;
+    private volatile int numOfRecords;
+    private volatile IOException writeError;
+
+    /**
+     * Constructor.
+     * Opens or creates the score file and rebuilds the top results from its records.
+     * @param path the path of the score file
+     * @param topCapacity the number of top results kept in memory
+     * @throws IOException if the file cannot be opened, or is not a score file
+     */
+    public HighScoreStore(Path path, int topCapacity) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.topCapacity = topCapacity;
+        this.topScores = new ArrayList<>();
+        this.checksum = new CRC32();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long fileSize = this.channel.size();
+        this.mappedLog = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(fileSize, Constants.HIGH_SCORE_FILE_GROWTH));
+        if (fileSize == 0) {
+            this.mappedLog.putInt(0, Constants.HIGH_SCORE_FILE_MAGIC);
+            this.mappedLog.putInt(Integer.BYTES, Constants.HIGH_SCORE_FILE_VERSION);
+        } else if (fileSize < Constants.HIGH_SCORE_HEADER_SIZE ||
+                this.mappedLog.getInt(0) != Constants.HIGH_SCORE_FILE_MAGIC ||
+                this.mappedLog.getInt(Integer.BYTES) != Constants.HIGH_SCORE_FILE_VERSION) {
+            this.channel.close();
+            throw new IOException("Not a high score file: " + path);
+        }
+        this.isTornRecordRecovered = loadRecords();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "high-score-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records the result of a game without blocking.
+     * The top results are updated at once, and the result is appended to the file in the background.
+     * @param scoreRecord the result of the game
+     */
+    public void record(ScoreRecord scoreRecord) {
+        synchronized (this.topScores) {
+            addToTopScores(scoreRecord);
+        }
+        this.writer.execute(() -> append(scoreRecord));
+    }
+
+    /**
+     * Returns the best results recorded, from the best to the worst.
+     * @return a copy of the top results
+     */
+    public List<ScoreRecord> topScores() {
+        synchronized (this.topScores) {
+            return new ArrayList<>(this.topScores);
+        }
+    }
+
+    /**
+     * Returns the best result recorded.
+     * @return the best result, or null if no result was recorded
+     */
+    public ScoreRecord bestScore() {
+        synchronized (this.topScores) {
+            return this.topScores.isEmpty() ? null : this.topScores.get(0);
+        }
+    }
+
+    /**
+     * Returns the number of results stored in the file.
+     * @return the number of records
+     */
+    public int numOfRecords() {
+        return this.numOfRecords;
+    }
+
+    /**
+     * Returns whether a torn record, left by a write that did not complete, was dropped on opening.
+     * @return true if a torn record was recovered from
+     */
+    public boolean isTornRecordRecovered() {
+        return this.isTornRecordRecovered;
+    }
+
+    /**
+     * Returns the error that stopped the background writer, if any.
+     * @return the write error, or null
+     */
+    public IOException writeError() {
+        return this.writeError;
+    }
+
+    /**
+     * Waits for the pending results to be appended, flushes the file and closes it.
+     */
+    public void close() {
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(Constants.HIGH_SCORE_CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            this.mappedLog.force();
+            this.channel.close();
+        } catch (IOException e) {
+            if (this.writeError == null) {
+                this.writeError = e;
+            }
+        }
+    }
+
+    /*
+     * Scans the records after the header until the first invalid one, adding every valid record to
+     * the top results. Whatever follows the last valid record is cleared, and the next record is
+     * written over it. Returns whether a partly written record was found there.
+     */
+    private boolean loadRecords() {
+        int position = Constants.HIGH_SCORE_HEADER_SIZE;
+        int numOfRecords = 0;
+        while (position + Constants.HIGH_SCORE_RECORD_SIZE <= this.mappedLog.capacity()) {
+            ScoreRecord scoreRecord = readRecord(position);
+            if (scoreRecord == null) {
+                break;
+            }
+            addToTopScores(scoreRecord);
+            numOfRecords++;
+            position += Constants.HIGH_SCORE_RECORD_SIZE;
+        }
+        boolean isTornRecordFound = false;
+        for (int i = position; i < this.mappedLog.capacity(); i++) {
+            if (this.mappedLog.get(i) != 0) {
+                isTornRecordFound = true;
+                this.mappedLog.put(i, (byte) 0);
+            }
+        }
+        this.writePosition = position;
+        this.numOfRecords = numOfRecords;
+        return isTornRecordFound;
+    }
+
+    /*
+     * Reads the record at the position, or returns null if its checksum does not match.
+     */
+    private ScoreRecord readRecord(int position) {
+        int fieldsSize = Constants.HIGH_SCORE_RECORD_SIZE - Integer.BYTES;
+        if (this.mappedLog.getInt(position + fieldsSize) != fieldsChecksum(position, fieldsSize)) {
+            return null;
+        }
+        int offset = position;
+        long finishedAtMillis = this.mappedLog.getLong(offset);
+        offset += Long.BYTES;
+        int brickRows = this.mappedLog.getInt(offset);
+        offset += Integer.BYTES;
+        int brickCols = this.mappedLog.getInt(offset);
+        offset += Integer.BYTES;
+        long gameTimeMillis = this.mappedLog.getLong(offset);
+        offset += Long.BYTES;
+        int bricksDestroyed = this.mappedLog.getInt(offset);
+        offset += Integer.BYTES;
+        int heartsRemaining = this.mappedLog.getInt(offset);
+        return new ScoreRecord(finishedAtMillis, brickRows, brickCols, gameTimeMillis,
+                bricksDestroyed, heartsRemaining);
+    }
+
+    /*
+     * Appends a record to the file, growing the mapping when it is full.
+     * The checksum is written last, so a record interrupted midway is never read back as valid.
+     * Runs on the writer thread only.
+     */
+    private void append(ScoreRecord scoreRecord) {
+        if (this.writeError != null) {
+            return;
+        }
+        try {
+            ensureCapacity(this.writePosition + Constants.HIGH_SCORE_RECORD_SIZE);
+        } catch (IOException e) {
+            this.writeError = e;
+            return;
+        }
+        int position = this.writePosition;
+        this.mappedLog.position(position);
+        this.mappedLog.putLong(scoreRecord.finishedAtMillis())
+                .putInt(scoreRecord.brickRows())
+                .putInt(scoreRecord.brickCols())
+                .putLong(scoreRecord.gameTimeMillis())
+                .putInt(scoreRecord.bricksDestroyed())
+                .putInt(scoreRecord.heartsRemaining());
+        int fieldsSize = this.mappedLog.position() - position;
+        this.mappedLog.putInt(fieldsChecksum(position, fieldsSize));
+        this.writePosition = this.mappedLog.position();
+        this.numOfRecords++;
+    }
+
+    /*
+     * Maps a larger region of the file if the required size does not fit in the current mapping.
+     */
+    private void ensureCapacity(int requiredSize) throws IOException {
+        if (requiredSize <= this.mappedLog.capacity()) {
+            return;
+        }
+        this.mappedLog.force();
+        this.mappedLog = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                (long) this.mappedLog.capacity() + Constants.HIGH_SCORE_FILE_GROWTH);
+    }
+
+    /*
+     * Returns the checksum of the fields of the record at the position.
+     */
+    private int fieldsChecksum(int position, int fieldsSize) {
+        this.checksum.reset();
+        this.checksum.update(this.mappedLog.slice(position, fieldsSize));
+        return (int) this.checksum.getValue();
+    }
+
+    /*
+     * Inserts a result into the sorted top results, dropping the worst one if there are too many.
+     */
+    private void addToTopScores(ScoreRecord scoreRecord) {
+        int index = Collections.binarySearch(this.topScores, scoreRecord, ScoreRecord.BEST_FIRST);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index >= this.topCapacity) {
+            return;
+        }
+        this.topScores.add(index, scoreRecord);
+        if (this.topScores.size() > this.topCapacity) {
+            this.topScores.remove(this.topScores.size() - 1);
+        }
+    }
+}
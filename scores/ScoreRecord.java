@@ -0,0 +1,93 @@
+package bricker.scores;
+
+import java.util.Comparator;
+
+/**
+ * Represents the result of a single finished game.
+ * Results are ranked by the number of bricks destroyed, then by the hearts remaining, and then by
+ * the shortest game time.
+ */
+public class ScoreRecord {
+    /**
+     * Orders results from the best to the worst.
+     */
+    public static final Comparator<ScoreRecord> BEST_FIRST =
+            Comparator.comparingInt(ScoreRecord::bricksDestroyed).reversed()
+                    .thenComparing(Comparator.comparingInt(ScoreRecord::heartsRemaining).reversed())
+                    .thenComparingLong(ScoreRecord::gameTimeMillis)
+                    .thenComparingLong(ScoreRecord::finishedAtMillis);
+
+    private final long finishedAtMillis;
+    private final int brickRows;
+    private final int brickCols;
+    private final long gameTimeMillis;
+    private final int bricksDestroyed;
+    private final int heartsRemaining;
+
+    /**
+     * Constructor.
+     * @param finishedAtMillis the wall clock time the game finished at, in milliseconds
+     * @param brickRows the number of rows of bricks of the board
+     * @param brickCols the number of columns of bricks of the board
+     * @param gameTimeMillis the duration of the game, in milliseconds
+     * @param bricksDestroyed the number of bricks destroyed during the game
+     * @param heartsRemaining the number of hearts left at the end of the game
+     */
+    public ScoreRecord(long finishedAtMillis, int brickRows, int brickCols, long gameTimeMillis,
+                       int bricksDestroyed, int heartsRemaining) {
+        this.finishedAtMillis = finishedAtMillis;
+        this.brickRows = brickRows;
+        this.brickCols = brickCols;
+        this.gameTimeMillis = gameTimeMillis;
+        this.bricksDestroyed = bricksDestroyed;
+        this.heartsRemaining = heartsRemaining;
+    }
+
+    /**
+     * Returns the wall clock time the game finished at.
+     * @return the finish time, in milliseconds since the epoch
+     */
+    public long finishedAtMillis() {
+        return this.finishedAtMillis;
+    }
+
+    /**
+     * Returns the number of rows of bricks of the board.
+     * @return the number of rows
+     */
+    public int brickRows() {
+        return this.brickRows;
+    }
+
+    /**
+     * Returns the number of columns of bricks of the board.
+     * @return the number of columns
+     */
+    public int brickCols() {
+        return this.brickCols;
+    }
+
+    /**
+     * Returns the duration of the game.
+     * @return the game time, in milliseconds
+     */
+    public long gameTimeMillis() {
+        return this.gameTimeMillis;
+    }
+
+    /**
+     * Returns the number of bricks destroyed during the game.
+     * @return the bricks destroyed
+     */
+    public int bricksDestroyed() {
+        return this.bricksDestroyed;
+    }
+
+    /**
+     * Returns the number of hearts left at the end of the game.
+     * @return the hearts remaining
+     */
+    public int heartsRemaining() {
+        return this.heartsRemaining;
+    }
+}
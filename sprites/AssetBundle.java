@@ -0,0 +1,128 @@
+package bricker.sprites;
+
+import bricker.main.Constants;
+import danogl.gui.rendering.ImageRenderable;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a bundle of the game's sprites, packed into a single pre-decoded texture atlas.
+ * The bundle file is written at build time by AssetBundleBuilder. It holds a table of the sprites
+ * and their place in the atlas, followed by the raw ARGB pixels of the atlas, so loading it takes a
+ * single memory mapping and a copy of the pixels, done in parallel bands of rows, instead of
+ * decoding every PNG and JPEG file on its own.
+ * Every sprite is a view into the atlas image, so sprites share its pixels.
+ */
+public class AssetBundle {
+    private final BufferedImage atlas;
+    private final Map<String, ImageRenderable> opaqueSprites;
+    private final Map<String, ImageRenderable> transparentSprites;
+    private final long loadNanos;
+
+    private AssetBundle(BufferedImage atlas, Map<String, ImageRenderable> opaqueSprites,
+                        Map<String, ImageRenderable> transparentSprites, long loadNanos) {
+        this.atlas = atlas;
+        this.opaqueSprites = opaqueSprites;
+        this.transparentSprites = transparentSprites;
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Loads a bundle file written by AssetBundleBuilder.
+     * @param path the path of the bundle file
+     * @return the loaded bundle
+     * @throws IOException if the file cannot be read, or is not an asset bundle
+     */
+    public static AssetBundle load(Path path) throws IOException {
+        long startTime = System.nanoTime();
+        MappedByteBuffer mappedBundle;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mappedBundle = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mappedBundle.capacity() < Constants.ASSET_BUNDLE_HEADER_SIZE ||
+                mappedBundle.getInt() != Constants.ASSET_BUNDLE_MAGIC ||
+                mappedBundle.getInt() != Constants.ASSET_BUNDLE_VERSION) {
+            throw new IOException("Not an asset bundle: " + path);
+        }
+        int atlasWidth = mappedBundle.getInt();
+        int atlasHeight = mappedBundle.getInt();
+        int numOfSprites = mappedBundle.getInt();
+        BufferedImage atlas = new BufferedImage(atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        Map<String, ImageRenderable> opaqueSprites = new HashMap<>();
+        Map<String, ImageRenderable> transparentSprites = new HashMap<>();
+        for (int i = 0; i < numOfSprites; i++) {
+            byte[] pathBytes = new byte[mappedBundle.getShort()];
+            mappedBundle.get(pathBytes);
+            boolean isTransparent = mappedBundle.get() != 0;
+            BufferedImage sprite = atlas.getSubimage(mappedBundle.getInt(), mappedBundle.getInt(),
+                    mappedBundle.getInt(), mappedBundle.getInt());
+            (isTransparent ? transparentSprites : opaqueSprites).put(
+                    new String(pathBytes, StandardCharsets.UTF_8), new ImageRenderable(sprite));
+        }
+        if (mappedBundle.remaining() != atlasWidth * atlasHeight * Integer.BYTES) {
+            throw new IOException("Truncated asset bundle: " + path);
+        }
+        copyPixels(mappedBundle.slice().asIntBuffer(), atlas, atlasWidth, atlasHeight);
+        return new AssetBundle(atlas, opaqueSprites, transparentSprites, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns the sprite of an image file, as the game's ImageReader would read it.
+     * @param imagePath the path of the image file the sprite was packed from
+     * @param useTopLeftPixelAsTransparentColor whether the color of the top left pixel is transparent
+     * @return the sprite, or null if the image is not in the bundle
+     */
+    public ImageRenderable image(String imagePath, boolean useTopLeftPixelAsTransparentColor) {
+        return (useTopLeftPixelAsTransparentColor ? this.transparentSprites : this.opaqueSprites)
+                .get(imagePath);
+    }
+
+    /**
+     * Returns the number of sprites in the bundle.
+     * @return the number of sprites
+     */
+    public int numOfSprites() {
+        return this.opaqueSprites.size() + this.transparentSprites.size();
+    }
+
+    /**
+     * Returns the texture atlas all the sprites are drawn from.
+     * @return the atlas image
+     */
+    public BufferedImage atlas() {
+        return this.atlas;
+    }
+
+    /**
+     * Returns the time it took to load the bundle.
+     * @return the load time in nanoseconds
+     */
+    public long loadNanos() {
+        return this.loadNanos;
+    }
+
+    /*
+     * Copies the mapped pixels into the atlas raster, one band of rows per task.
+     */
+    private static void copyPixels(IntBuffer pixels, BufferedImage atlas, int atlasWidth, int atlasHeight) {
+        int[] raster = ((DataBufferInt) atlas.getRaster().getDataBuffer()).getData();
+        int numOfBands = (atlasHeight + Constants.ASSET_BUNDLE_ROWS_PER_BAND - 1) /
+                Constants.ASSET_BUNDLE_ROWS_PER_BAND;
+        IntStream.range(0, numOfBands).parallel().forEach(band -> {
+            int firstPixel = band * Constants.ASSET_BUNDLE_ROWS_PER_BAND * atlasWidth;
+            int lastRow = Math.min(atlasHeight, (band + 1) * Constants.ASSET_BUNDLE_ROWS_PER_BAND);
+            pixels.get(firstPixel, raster, firstPixel, lastRow * atlasWidth - firstPixel);
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package bricker.sprites;
+
+import bricker.main.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents the build step packing the game's sprites into an asset bundle.
+ * Every sprite is decoded once, with the transparency the game reads it with, and the sprites are
+ * packed into shelves of a single atlas, tallest first. The atlas is written with its raw pixels,
+ * so the game does not decode any image file when it starts.
+ */
+public class AssetBundleBuilder {
+    private final List<Sprite> sprites;
+
+    /**
+     * Constructor.
+     */
+    public AssetBundleBuilder() {
+        this.sprites = new ArrayList<>();
+    }
+
+    /**
+     * Decodes an image file and adds it to the bundle.
+     * @param imagePath the path of the image file, which is also the name of the sprite
+     * @param useTopLeftPixelAsTransparentColor whether the color of the top left pixel is transparent
+     * @throws IOException if the image cannot be decoded
+     */
+    public void addImage(String imagePath, boolean useTopLeftPixelAsTransparentColor) throws IOException {
+        BufferedImage image = ImageIO.read(new File(imagePath));
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + imagePath);
+        }
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        if (useTopLeftPixelAsTransparentColor) {
+            clearColor(pixels, pixels[0]);
+        }
+        this.sprites.add(new Sprite(imagePath, useTopLeftPixelAsTransparentColor, image.getWidth(),
+                image.getHeight(), pixels));
+    }
+
+    /**
+     * Packs the added sprites into an atlas and writes the bundle file.
+     * @param path the path of the bundle file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        int atlasWidth = Constants.ATLAS_WIDTH;
+        for (Sprite sprite : this.sprites) {
+            atlasWidth = Math.max(atlasWidth, sprite.width);
+        }
+        int atlasHeight = packShelves(atlasWidth);
+        int[] atlas = new int[atlasWidth * atlasHeight];
+        for (Sprite sprite : this.sprites) {
+            for (int row = 0; row < sprite.height; row++) {
+                System.arraycopy(sprite.pixels, row * sprite.width, atlas,
+                        (sprite.y + row) * atlasWidth + sprite.x, sprite.width);
+            }
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(Constants.ASSET_BUNDLE_MAGIC);
+            output.writeInt(Constants.ASSET_BUNDLE_VERSION);
+            output.writeInt(atlasWidth);
+            output.writeInt(atlasHeight);
+            output.writeInt(this.sprites.size());
+            for (Sprite sprite : this.sprites) {
+                byte[] pathBytes = sprite.imagePath.getBytes(StandardCharsets.UTF_8);
+                output.writeShort(pathBytes.length);
+                output.write(pathBytes);
+                output.writeBoolean(sprite.isTransparent);
+                output.writeInt(sprite.x);
+                output.writeInt(sprite.y);
+                output.writeInt(sprite.width);
+                output.writeInt(sprite.height);
+            }
+            for (int pixel : atlas) {
+                output.writeInt(pixel);
+            }
+        }
+    }
+
+    /**
+     * Builds the bundle of the game's sprites.
+     * @param args optionally, the path of the bundle file to write
+     * @throws IOException if a sprite cannot be decoded or the bundle cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        AssetBundleBuilder builder = new AssetBundleBuilder();
+        for (String imagePath : Constants.BUNDLED_OPAQUE_IMAGE_PATHS) {
+            builder.addImage(imagePath, false);
+        }
+        for (String imagePath : Constants.BUNDLED_TRANSPARENT_IMAGE_PATHS) {
+            builder.addImage(imagePath, true);
+        }
+        Path path = Path.of(args.length > 0 ? args[0] : Constants.ASSET_BUNDLE_PATH);
+        builder.write(path);
+        System.out.printf("Packed %d sprites into %s (%d bytes)%n", builder.sprites.size(), path,
+                Files.size(path));
+    }
+
+    /*
+     * Places the sprites on shelves, tallest first, and returns the height of the atlas.
+     */
+    private int packShelves(int atlasWidth) {
+        List<Sprite> bySize = new ArrayList<>(this.sprites);
+        bySize.sort(Comparator.comparingInt((Sprite sprite) -> sprite.height).reversed());
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (Sprite sprite : bySize) {
+            if (shelfX + sprite.width > atlasWidth) {
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            sprite.x = shelfX;
+            sprite.y = shelfY;
+            shelfX += sprite.width;
+            shelfHeight = Math.max(shelfHeight, sprite.height);
+        }
+        return Math.max(1, shelfY + shelfHeight);
+    }
+
+    /*
+     * Makes every pixel of the given color fully transparent, ignoring alpha.
+     */
+    private static void clearColor(int[] pixels, int color) {
+        int rgb = color & Constants.RGB_MASK;
+        for (int i = 0; i < pixels.length; i++) {
+            if ((pixels[i] & Constants.RGB_MASK) == rgb) {
+                pixels[i] = 0;
+            }
+        }
+    }
+
+    /*
+     * A decoded sprite and its place in the atlas.
+     */
+    private static class Sprite {
+        private final String imagePath;
+        private final boolean isTransparent;
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+        private int x;
+        private int y;
+
+        private Sprite(String imagePath, boolean isTransparent, int width, int height, int[] pixels) {
+            this.imagePath = imagePath;
+            this.isTransparent = isTransparent;
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package bricker.sprites;
+
+import bricker.main.Constants;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reports the time it takes to load the game's sprites, decoding every image file on its own
+ * as the game did before the asset bundle, and loading the bundle.
+ * The bundle must have been built by AssetBundleBuilder first.
+ */
+public class AssetLoadBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private AssetLoadBenchmark() {}
+
+    /**
+     * Loads the sprites both ways a few times and prints the best load times.
+     * @param args optionally, the path of the bundle file
+     * @throws IOException if an image or the bundle cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        Path bundlePath = Path.of(args.length > 0 ? args[0] : Constants.ASSET_BUNDLE_PATH);
+        long bestFilesNanos = Long.MAX_VALUE;
+        long bestBundleNanos = Long.MAX_VALUE;
+        for (int i = 0; i < Constants.BENCHMARK_REPETITIONS; i++) {
+            long startTime = System.nanoTime();
+            for (String imagePath : Constants.BUNDLED_OPAQUE_IMAGE_PATHS) {
+                ImageIO.read(new File(imagePath));
+            }
+            for (String imagePath : Constants.BUNDLED_TRANSPARENT_IMAGE_PATHS) {
+                ImageIO.read(new File(imagePath));
+            }
+            bestFilesNanos = Math.min(bestFilesNanos, System.nanoTime() - startTime);
+            bestBundleNanos = Math.min(bestBundleNanos, AssetBundle.load(bundlePath).loadNanos());
+        }
+        System.out.printf("Image files: %.2f ms%n",
+                bestFilesNanos / (double) Constants.NANOS_IN_MILLISECOND);
+        System.out.printf("Asset bundle: %.2f ms%n",
+                bestBundleNanos / (double) Constants.NANOS_IN_MILLISECOND);
+    }
+}
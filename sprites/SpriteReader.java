@@ -0,0 +1,52 @@
+package bricker.sprites;
+
+import danogl.gui.ImageReader;
+import danogl.gui.rendering.Renderable;
+
+/**
+ * Represents the reader of the game's images.
+ * Images packed in the asset bundle are taken from its atlas, and any other image is read by the
+ * game's ImageReader, so the game still runs when the bundle was not built.
+ */
+public class SpriteReader {
+    private final ImageReader imageReader;
+    private final AssetBundle assetBundle;
+
+    /**
+     * Constructor.
+     * @param imageReader the ImageReader reading images missing from the bundle, or null if the game
+     *                    runs without a window and reads no images
+     * @param assetBundle the asset bundle, or null if there is none
+     */
+    public SpriteReader(ImageReader imageReader, AssetBundle assetBundle) {
+        this.imageReader = imageReader;
+        this.assetBundle = assetBundle;
+    }
+
+    /**
+     * Reads an image, from the asset bundle if it is packed in it.
+     * @param imagePath the path of the image file
+     * @param useTopLeftPixelAsTransparentColor whether the color of the top left pixel is transparent
+     * @return the renderable of the image, or null if there is no image reader and it is not bundled
+     */
+    public Renderable readImage(String imagePath, boolean useTopLeftPixelAsTransparentColor) {
+        if (this.assetBundle != null) {
+            Renderable sprite = this.assetBundle.image(imagePath, useTopLeftPixelAsTransparentColor);
+            if (sprite != null) {
+                return sprite;
+            }
+        }
+        if (this.imageReader == null) {
+            return null;
+        }
+        return this.imageReader.readImage(imagePath, useTopLeftPixelAsTransparentColor);
+    }
+
+    /**
+     * Returns the asset bundle the images are taken from.
+     * @return the asset bundle, or null if there is none
+     */
+    public AssetBundle assetBundle() {
+        return this.assetBundle;
+    }
+}
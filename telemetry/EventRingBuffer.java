@@ -0,0 +1,161 @@
+package bricker.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents a lock-free, fixed-capacity ring buffer of game events with a single producer
+ * (the game thread) and a single consumer (the log writer).
+ * Event fields are kept in parallel arrays indexed by slot, so publishing an event never allocates.
+ * The producer never waits: when the ring is full the event is dropped and counted as an overflow.
+ * Each side only writes its own sequence, and publishes it with an ordered store after the slot
+ * fields were written or read.
+ */
+public class EventRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final GameEventType[] types;
+    private final float[] positionsX;
+    private final float[] positionsY;
+    private final int[] values;
+    private final Object[] sources;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final AtomicLong overflows;
+
+    /**
+     * Constructor.
+     * @param capacityLog2 the log2 of the number of events the ring holds
+     */
+    public EventRingBuffer(int capacityLog2) {
+        this.capacity = 1 << capacityLog2;
+        this.mask = this.capacity - 1;
+        this.timestamps = new long[this.capacity];
+        this.types = new GameEventType[this.capacity];
+        this.positionsX = new float[this.capacity];
+        this.positionsY = new float[this.capacity];
+        this.values = new int[this.capacity];
+        this.sources = new Object[this.capacity];
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.overflows = new AtomicLong();
+    }
+
+    /**
+     * Publishes an event, or counts an overflow if the ring is full. Only called by the producer.
+     * @param timestamp the time of the event in nanoseconds
+     * @param type the type of the event
+     * @param x the x coordinate of the event
+     * @param y the y coordinate of the event
+     * @param value the value of the event, depending on its type
+     * @param source the object the event came from, or null
+     * @return true if the event was published, false if it was dropped
+     */
+    public boolean offer(long timestamp, GameEventType type, float x, float y, int value, Object source) {
+        long sequence = this.head.get();
+        if (sequence - this.tail.get() >= this.capacity) {
+            this.overflows.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (sequence & this.mask);
+        this.timestamps[slot] = timestamp;
+        this.types[slot] = type;
+        this.positionsX[slot] = x;
+        this.positionsY[slot] = y;
+        this.values[slot] = value;
+        this.sources[slot] = source;
+        this.head.lazySet(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands up to maxEvents published events to the reader, oldest first, and frees their slots.
+     * Only called by the consumer. The reader reads the fields of the slot it is given through the
+     * getters of this class.
+     * @param maxEvents the maximal number of events to drain
+     * @param reader the reader of the drained slots
+     * @return the number of drained events
+     */
+    public int drain(int maxEvents, IntConsumer reader) {
+        long sequence = this.tail.get();
+        int numOfEvents = (int) Math.min(maxEvents, this.head.get() - sequence);
+        for (int i = 0; i < numOfEvents; i++) {
+            int slot = (int) ((sequence + i) & this.mask);
+            reader.accept(slot);
+            this.sources[slot] = null;
+        }
+        this.tail.lazySet(sequence + numOfEvents);
+        return numOfEvents;
+    }
+
+    /**
+     * Returns the time of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the timestamp in nanoseconds
+     */
+    public long timestampAt(int slot) {
+        return this.timestamps[slot];
+    }
+
+    /**
+     * Returns the type of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the event type
+     */
+    public GameEventType typeAt(int slot) {
+        return this.types[slot];
+    }
+
+    /**
+     * Returns the x coordinate of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the x coordinate
+     */
+    public float xAt(int slot) {
+        return this.positionsX[slot];
+    }
+
+    /**
+     * Returns the y coordinate of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the y coordinate
+     */
+    public float yAt(int slot) {
+        return this.positionsY[slot];
+    }
+
+    /**
+     * Returns the value of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the value
+     */
+    public int valueAt(int slot) {
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the source of the event in the slot.
+     * @param slot the slot given to the reader
+     * @return the source, or null
+     */
+    public Object sourceAt(int slot) {
+        return this.sources[slot];
+    }
+
+    /**
+     * Returns the number of events dropped because the ring was full.
+     * @return the number of overflows
+     */
+    public long overflows() {
+        return this.overflows.get();
+    }
+
+    /**
+     * Returns the number of published events that were not drained yet.
+     * @return the number of pending events
+     */
+    public int size() {
+        return (int) (this.head.get() - this.tail.get());
+    }
+}
@@ -0,0 +1,259 @@
+package bricker.telemetry;
+
+import bricker.main.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents the structured event log of a single game.
+ * The game thread publishes events to a lock-free ring buffer and returns immediately, and a
+ * background writer thread drains the ring into a JSON-lines or binary file.
+ * Logging never blocks a frame: if the writer falls behind and the ring fills up, new events are
+ * dropped and counted as overflows.
+ */
+public class GameEventLog {
+    /**
+     * The formats a game event log can be written in.
+     */
+    public enum Format {
+        /**
+         * One JSON object per line.
+         */
+        JSON_LINES,
+        /**
+         * Fixed binary records: timestamp, type ordinal, x, y, value and the source name.
+         */
+        BINARY
+    }
+
+    private final EventRingBuffer ringBuffer;
+    private final Format format;
+    private final OutputStream output;
+    private final Writer jsonWriter;
+    private final DataOutputStream binaryOutput;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private final long startTime;
+    private final StringBuilder line;
+    private volatile boolean isRunning;
+    private volatile long writtenEvents;
+    private volatile IOException writeError;
+
+    /**
+     * Constructor.
+     * Opens the log file and starts the writer thread.
+     * @param path the path of the log file
+     * @param format the format of the log file
+     * @throws IOException if the file cannot be created
+     */
+    public GameEventLog(Path path, Format format) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.ringBuffer = new EventRingBuffer(Constants.EVENT_RING_CAPACITY_LOG2);
+        this.format = format;
+        this.output = new BufferedOutputStream(Files.newOutputStream(path),
+                Constants.EVENT_LOG_BUFFER_SIZE);
+        this.jsonWriter = format == Format.JSON_LINES ?
+                new OutputStreamWriter(this.output, StandardCharsets.UTF_8) : null;
+        this.binaryOutput = format == Format.BINARY ? new DataOutputStream(this.output) : null;
+        this.line = new StringBuilder();
+        this.startTime = System.nanoTime();
+        this.isRunning = true;
+        this.writerThread = new Thread(this::runWriter, "game-event-log");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        //Drain the log when the JVM exits without closing it, such as when the window is closed
+        this.shutdownHook = new Thread(this::close, "game-event-log-shutdown");
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }
+
+    /**
+     * Records an event without blocking. Only called from the game thread.
+     * @param type the type of the event
+     * @param x the x coordinate of the event
+     * @param y the y coordinate of the event
+     * @param value the value of the event, depending on its type
+     * @param source the object the event came from, or null
+     */
+    public void log(GameEventType type, float x, float y, int value, Object source) {
+        this.ringBuffer.offer(System.nanoTime() - this.startTime, type, x, y, value, source);
+    }
+
+    /**
+     * Returns the number of events dropped because the writer fell behind.
+     * @return the number of overflows
+     */
+    public long overflows() {
+        return this.ringBuffer.overflows();
+    }
+
+    /**
+     * Returns the number of events written to the file.
+     * @return the number of written events
+     */
+    public long writtenEvents() {
+        return this.writtenEvents;
+    }
+
+    /**
+     * Returns the error that stopped the writer, if any.
+     * @return the write error, or null
+     */
+    public IOException writeError() {
+        return this.writeError;
+    }
+
+    /**
+     * Stops the writer after it drained the remaining events, and closes the file.
+     * Also run on exit if the log was not closed before.
+     */
+    public void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+        } catch (IllegalStateException e) {
+            //The JVM is exiting, this is the shutdown hook itself
+        }
+        this.isRunning = false;
+        LockSupport.unpark(this.writerThread);
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * The writer loop: drains the ring in batches, sleeping briefly when it is empty,
+     * and flushes whenever it catches up.
+     */
+    private void runWriter() {
+        try {
+            while (this.isRunning || this.ringBuffer.size() > 0) {
+                int numOfEvents = this.ringBuffer.drain(Constants.EVENT_LOG_DRAIN_BATCH,
+                        this::writeEvent);
+                this.writtenEvents += numOfEvents;
+                if (this.writeError != null) {
+                    return;
+                }
+                if (numOfEvents == 0) {
+                    flush();
+                    LockSupport.parkNanos(Constants.EVENT_LOG_IDLE_NANOS);
+                }
+            }
+        } finally {
+            closeOutput();
+        }
+    }
+
+    /*
+     * Writes the event in the slot in the format of the log.
+     */
+    private void writeEvent(int slot) {
+        if (this.writeError != null) {
+            return;
+        }
+        try {
+            if (this.format == Format.JSON_LINES) {
+                writeJsonEvent(slot);
+            } else {
+                writeBinaryEvent(slot);
+            }
+        } catch (IOException e) {
+            this.writeError = e;
+        }
+    }
+
+    /*
+     * Writes the event in the slot as a single JSON line.
+     */
+    private void writeJsonEvent(int slot) throws IOException {
+        Object source = this.ringBuffer.sourceAt(slot);
+        this.line.setLength(0);
+        this.line.append("{\"t\":").append(this.ringBuffer.timestampAt(slot))
+                .append(",\"type\":\"").append(this.ringBuffer.typeAt(slot).name())
+                .append("\",\"x\":").append(formatCoordinate(this.ringBuffer.xAt(slot)))
+                .append(",\"y\":").append(formatCoordinate(this.ringBuffer.yAt(slot)))
+                .append(",\"value\":").append(this.ringBuffer.valueAt(slot));
+        if (source != null) {
+            this.line.append(",\"source\":\"").append(sourceName(source)).append('"');
+        }
+        this.line.append("}\n");
+        this.jsonWriter.append(this.line);
+    }
+
+    /*
+     * Writes the event in the slot as a binary record.
+     */
+    private void writeBinaryEvent(int slot) throws IOException {
+        Object source = this.ringBuffer.sourceAt(slot);
+        this.binaryOutput.writeLong(this.ringBuffer.timestampAt(slot));
+        this.binaryOutput.writeByte(this.ringBuffer.typeAt(slot).ordinal());
+        this.binaryOutput.writeFloat(this.ringBuffer.xAt(slot));
+        this.binaryOutput.writeFloat(this.ringBuffer.yAt(slot));
+        this.binaryOutput.writeInt(this.ringBuffer.valueAt(slot));
+        this.binaryOutput.writeUTF(source == null ? "" : sourceName(source));
+    }
+
+    /*
+     * Formats a coordinate with a single decimal digit.
+     */
+    private static String formatCoordinate(float coordinate) {
+        return String.format(Locale.ROOT, Constants.EVENT_LOG_COORDINATE_FORMAT, coordinate);
+    }
+
+    /*
+     * Returns the name an event source is logged under: a string as it is, the name of an enum
+     * constant, such as an entity type, or else the simple name of its class.
+     */
+    private static String sourceName(Object source) {
+        if (source instanceof String) {
+            return (String) source;
+        }
+        if (source instanceof Enum) {
+            return ((Enum<?>) source).name();
+        }
+        return source instanceof Class ? ((Class<?>) source).getSimpleName() :
+                source.getClass().getSimpleName();
+    }
+
+    /*
+     * Flushes the buffered output, recording the error if it fails.
+     */
+    private void flush() {
+        try {
+            if (this.jsonWriter != null) {
+                this.jsonWriter.flush();
+            } else {
+                this.binaryOutput.flush();
+            }
+        } catch (IOException e) {
+            this.writeError = e;
+        }
+    }
+
+    /*
+     * Flushes and closes the log file.
+     */
+    private void closeOutput() {
+        flush();
+        try {
+            this.output.close();
+        } catch (IOException e) {
+            if (this.writeError == null) {
+                this.writeError = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package bricker.telemetry;
+
+/**
+ * The types of game events recorded by the game event log.
+ */
+public enum GameEventType {
+    /**
+     * A brick was destroyed. The value is the number of bricks left, and the source is the
+     * collision strategy of the brick.
+     */
+    BRICK_DESTROYED,
+    /**
+     * A puck ball was spawned.
+     */
+    PUCK_SPAWNED,
+    /**
+     * A fallen heart was caught by the main paddle. The value is the number of hearts after it.
+     */
+    HEART_CAUGHT,
+    /**
+     * A heart was lost: the main ball fell, or a fallen heart left the window before it was caught.
+     * The value is the number of hearts after it.
+     */
+    HEART_LOST,
+    /**
+     * A bonus paddle was spawned.
+     */
+    BONUS_PADDLE_SPAWNED,
+    /**
+     * A bonus paddle expired and was removed.
+     */
+    BONUS_PADDLE_EXPIRED,
+    /**
+     * The camera changed. The value is 1 when a camera was set and 0 when it was reset.
+     */
+    CAMERA_CHANGED,
+    /**
+     * The game ended. The value is 1 for a win and 0 for a loss.
+     */
+    GAME_OVER,
+    /**
+     * The entity governor put off a spawn. The value is the number of live entities of its type, and
+     * the source is the type.
+     */
+    SPAWN_DEFERRED,
+    /**
+     * The entity governor dropped a spawn. The value is the number of live entities of its type, and
+     * the source is the type.
+     */
+    SPAWN_DROPPED,
+    /**
+     * The entity governor merged two pucks. The value is the number of live pucks.
+     */
+    PUCKS_MERGED,
+    /**
+     * The entity governor skipped a secondary effect to stay within the frame budget.
+     */
+    EFFECT_SKIPPED,
+    /**
+     * The game was rewound to a recent state. The value is the number of hearts after the rewind.
+     */
+    GAME_REWOUND,
+    /**
+     * The lifetime audit found an entity that left the playfield, or was added outside the default
+     * layer, without being removed. The value is the number of live entities of its type, and the
+     * source is the type and the reason, such as PUCK/OFF_PLAYFIELD.
+     */
+    ENTITY_LEAKED,
+    /**
+     * An explosive brick set off a chain reaction. The value is the number of bricks it destroyed.
+     */
+    CHAIN_REACTION,
+    /**
+     * The deferred work of a frame ran past its deadline. The value is the number of tasks left in
+     * the backlog.
+     */
+    DEFERRED_WORK_OVERRUN,
+    /**
+     * The game stopped simulating, since its window lost focus or nobody played for a while. The
+     * value is the ordinal of the idle state.
+     */
+    GAME_SUSPENDED,
+    /**
+     * The game started simulating again after a pause. The value is the length of the pause in
+     * milliseconds.
+     */
+    GAME_RESUMED,
+    /**
+     * A new game started, the first one of the log or one after the game was reset.
+     */
+    GAME_STARTED
+}
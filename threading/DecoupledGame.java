@@ -0,0 +1,195 @@
+package bricker.threading;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.scenarios.HeadlessWindow;
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+
+import javax.swing.JOptionPane;
+import javax.swing.Timer;
+import java.awt.Canvas;
+import java.awt.EventQueue;
+import java.awt.Frame;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Represents the Bricker game run with the simulation and the rendering on separate threads.
+ * The game runs headless on the simulation thread at a fixed rate, and a render thread draws the
+ * frames it publishes onto an AWT window at a rate of its own, so a slow frame on one side does not
+ * stall the other. The measured rates and the number of frames the renderer skipped are shown in
+ * the window title.
+ * Keys reach the game through its key event capture, and the images through the sprite atlas, so
+ * the atlas should be built with AssetBundleBuilder first. The game plays no sounds in this mode.
+ */
+public class DecoupledGame {
+    private final Vector2 windowDimensions;
+    private final BrickerGameManager game;
+    private final HeadlessWindow headlessWindow;
+    private final WindowController windowController;
+    private final SnapshotExchange exchange;
+    private final SimulationLoop simulationLoop;
+    private final SnapshotRenderer renderer;
+    private final Frame frame;
+    private final Timer titleTimer;
+
+    /**
+     * Constructor.
+     * @param brickRows the number of rows of bricks in the game
+     * @param brickCols the number of columns of bricks in the game
+     * @param simulationRate the simulation rate, in ticks per second
+     * @param renderRate the render rate, in frames per second
+     */
+    public DecoupledGame(int brickRows, int brickCols, int simulationRate, int renderRate) {
+        this.windowDimensions = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        this.game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE, this.windowDimensions, brickRows,
+                brickCols);
+        this.game.enableKeyCapture();
+        this.game.enableIdleMode(Constants.IDLE_TIMEOUT_NANOS);
+        this.headlessWindow = new HeadlessWindow(this.windowDimensions);
+        this.windowController = (WindowController) Proxy.newProxyInstance(
+                WindowController.class.getClassLoader(), new Class<?>[] {WindowController.class},
+                (proxy, method, args) -> onWindowCall(method, args));
+        this.exchange = new SnapshotExchange();
+        this.simulationLoop = new SimulationLoop(this.game, () -> this.game.initializeGame(null, null,
+                this.headlessWindow.inputListener(), this.windowController), this.exchange, simulationRate);
+        this.frame = new Frame(Constants.GAME_WINDOW_TITLE);
+        Canvas canvas = new Canvas();
+        canvas.setSize((int) this.windowDimensions.x(), (int) this.windowDimensions.y());
+        canvas.setIgnoreRepaint(true);
+        this.frame.add(canvas);
+        this.frame.setResizable(false);
+        this.frame.pack();
+        this.frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                stop();
+            }
+        });
+        this.renderer = new SnapshotRenderer(canvas, this.exchange, this.windowDimensions, renderRate,
+                this.game::isSuspended);
+        this.titleTimer = new Timer(Constants.RATE_TITLE_UPDATE_MILLIS, e -> this.frame.setTitle(
+                String.format(Constants.DECOUPLED_TITLE_FORMAT, Constants.GAME_WINDOW_TITLE,
+                        this.simulationLoop.ticksPerSecond(), this.renderer.framesPerSecond(),
+                        this.exchange.numOfDropped())));
+    }
+
+    /**
+     * Shows the window and starts the simulation and render threads.
+     */
+    public void start() {
+        this.frame.setVisible(true);
+        this.simulationLoop.start();
+        this.renderer.start();
+        this.titleTimer.start();
+    }
+
+    /**
+     * Stops both threads, releases the game and closes the window.
+     */
+    public void stop() {
+        closeWindow();
+        this.game.shutdown();
+    }
+
+    /**
+     * Returns the simulation loop, which measures the simulation rate.
+     * @return the simulation loop
+     */
+    public SimulationLoop simulationLoop() {
+        return this.simulationLoop;
+    }
+
+    /**
+     * Returns the renderer, which measures the render rate.
+     * @return the renderer
+     */
+    public SnapshotRenderer renderer() {
+        return this.renderer;
+    }
+
+    /**
+     * Returns the exchange handing the frames to the renderer, which counts the skipped frames.
+     * @return the snapshot exchange
+     */
+    public SnapshotExchange exchange() {
+        return this.exchange;
+    }
+
+    /*
+     * Answers a call of the game to its window controller. Called on the simulation thread, so a
+     * dialog, shown on the event dispatch thread, pauses the simulation while the renderer keeps drawing.
+     */
+    private Object onWindowCall(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getWindowDimensions":
+                return this.windowDimensions;
+            case "openYesNoDialog":
+                return askYesNo(args[0]);
+            case "resetGame":
+                this.simulationLoop.requestReset();
+                return null;
+            case "closeWindow":
+                closeWindow();
+                return null;
+            default:
+                return HeadlessWindow.defaultValue(method);
+        }
+    }
+
+    /*
+     * Shows a yes or no dialog on the event dispatch thread, as Swing requires, and waits for the answer.
+     * Answers no if the simulation thread is interrupted while waiting.
+     */
+    private boolean askYesNo(Object message) {
+        boolean[] isYes = new boolean[1];
+        try {
+            EventQueue.invokeAndWait(() -> isYes[0] = JOptionPane.showConfirmDialog(this.frame, message,
+                    Constants.GAME_WINDOW_TITLE, JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Failed to show the dialog", e.getCause());
+        }
+        return isYes[0];
+    }
+
+    /*
+     * Stops both threads and closes the window, once the game released what it holds or is about to.
+     */
+    private void closeWindow() {
+        this.simulationLoop.stop();
+        this.renderer.stop();
+        EventQueue.invokeLater(() -> {
+            this.titleTimer.stop();
+            this.frame.dispose();
+        });
+    }
+
+    /**
+     * Runs the decoupled game.
+     * The number of brick rows and columns can be given as the first two arguments, followed
+     * optionally by the simulation and render rates.
+     * @param args the optional brick rows, brick columns, simulation rate and render rate
+     */
+    public static void main(String[] args) {
+        int brickRows = Constants.DEFAULT_BRICK_ROWS;
+        int brickCols = Constants.DEFAULT_BRICK_COLS;
+        int simulationRate = Constants.DEFAULT_SIMULATION_RATE;
+        int renderRate = Constants.DEFAULT_RENDER_RATE;
+        if (args.length == Constants.NUN_OF_VALID_ARGS ||
+                args.length == Constants.NUM_OF_DECOUPLED_RATE_ARGS) {
+            brickRows = Integer.parseInt(args[0]);
+            brickCols = Integer.parseInt(args[1]);
+        }
+        if (args.length == Constants.NUM_OF_DECOUPLED_RATE_ARGS) {
+            simulationRate = Integer.parseInt(args[2]);
+            renderRate = Integer.parseInt(args[3]);
+        }
+        new DecoupledGame(brickRows, brickCols, simulationRate, renderRate).start();
+    }
+}
@@ -0,0 +1,252 @@
+package bricker.threading;
+
+import bricker.rendering.CapturableRenderable;
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * Represents what the renderer needs of a single simulated frame: the position, size and renderable
+ * of every drawn object, in drawing order, and the camera the frame is seen through.
+ * The simulation writes a snapshot while the renderer may be drawing another one, so the positions
+ * are copied into primitive arrays rather than read from the live objects. Snapshots are reused from
+ * frame to frame, and their arrays only grow, so capturing a frame does not allocate.
+ * Renderables whose state the game keeps changing, such as the particles, are captured into copies
+ * the snapshot keeps reusing; the others are shared with the game, which replaces rather than changes
+ * them, such as the hearts text.
+ */
+public class FrameSnapshot {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] topLeftX;
+    private float[] topLeftY;
+    private float[] width;
+    private float[] height;
+    private boolean[] isInCameraSpace;
+    private Renderable[] renderables;
+    private Renderable[] captures;
+    private int numOfObjects;
+    private boolean hasCamera;
+    private float cameraX;
+    private float cameraY;
+    private float cameraWidth;
+    private float cameraHeight;
+    private long tick;
+
+    /**
+     * Constructor.
+     */
+    public FrameSnapshot() {
+        this.topLeftX = new float[INITIAL_CAPACITY];
+        this.topLeftY = new float[INITIAL_CAPACITY];
+        this.width = new float[INITIAL_CAPACITY];
+        this.height = new float[INITIAL_CAPACITY];
+        this.isInCameraSpace = new boolean[INITIAL_CAPACITY];
+        this.renderables = new Renderable[INITIAL_CAPACITY];
+        this.captures = new Renderable[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Starts capturing a new frame.
+     * @param tick the number of the simulated tick
+     * @param camera the camera of the frame, or null to see the world as it is
+     */
+    public void begin(long tick, GameObject camera) {
+        Arrays.fill(this.renderables, 0, this.numOfObjects, null);
+        this.numOfObjects = 0;
+        this.tick = tick;
+        this.hasCamera = camera != null;
+        if (this.hasCamera) {
+            Vector2 cameraTopLeft = camera.getTopLeftCorner();
+            Vector2 cameraDimensions = camera.getDimensions();
+            this.cameraX = cameraTopLeft.x();
+            this.cameraY = cameraTopLeft.y();
+            this.cameraWidth = cameraDimensions.x();
+            this.cameraHeight = cameraDimensions.y();
+        }
+    }
+
+    /**
+     * Captures an object of the frame. Objects without a renderable are skipped.
+     * @param gameObject the object to capture
+     */
+    public void add(GameObject gameObject) {
+        Renderable renderable = gameObject.renderer().getRenderable();
+        if (renderable == null) {
+            return;
+        }
+        if (this.numOfObjects == this.renderables.length) {
+            grow();
+        }
+        Vector2 topLeftCorner = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        int i = this.numOfObjects++;
+        this.topLeftX[i] = topLeftCorner.x();
+        this.topLeftY[i] = topLeftCorner.y();
+        this.width[i] = dimensions.x();
+        this.height[i] = dimensions.y();
+        this.isInCameraSpace[i] = gameObject.getCoordinateSpace() == CoordinateSpace.CAMERA_COORDINATES;
+        if (renderable instanceof CapturableRenderable) {
+            this.captures[i] = ((CapturableRenderable) renderable).capture(this.captures[i]);
+            renderable = this.captures[i];
+        }
+        this.renderables[i] = renderable;
+    }
+
+    /**
+     * Returns the number of the simulated tick of the frame.
+     * @return the tick
+     */
+    public long tick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the number of captured objects.
+     * @return the number of objects
+     */
+    public int numOfObjects() {
+        return this.numOfObjects;
+    }
+
+    /**
+     * Returns the renderable of a captured object.
+     * @param i the index of the object, in drawing order
+     * @return the renderable
+     */
+    public Renderable renderable(int i) {
+        return this.renderables[i];
+    }
+
+    /**
+     * Returns the x coordinate of the top left corner of a captured object.
+     * @param i the index of the object
+     * @return the x coordinate
+     */
+    public float topLeftX(int i) {
+        return this.topLeftX[i];
+    }
+
+    /**
+     * Returns the y coordinate of the top left corner of a captured object.
+     * @param i the index of the object
+     * @return the y coordinate
+     */
+    public float topLeftY(int i) {
+        return this.topLeftY[i];
+    }
+
+    /**
+     * Returns the width of a captured object.
+     * @param i the index of the object
+     * @return the width
+     */
+    public float width(int i) {
+        return this.width[i];
+    }
+
+    /**
+     * Returns the height of a captured object.
+     * @param i the index of the object
+     * @return the height
+     */
+    public float height(int i) {
+        return this.height[i];
+    }
+
+    /**
+     * Returns whether a captured object is positioned relative to the window rather than the world,
+     * such as the background and the UI.
+     * @param i the index of the object
+     * @return true if the camera does not move the object
+     */
+    public boolean isInCameraSpace(int i) {
+        return this.isInCameraSpace[i];
+    }
+
+    /**
+     * Returns whether the frame is seen through a camera.
+     * @return true if there is a camera
+     */
+    public boolean hasCamera() {
+        return this.hasCamera;
+    }
+
+    /**
+     * Returns the x coordinate of the top left corner of the area the camera sees.
+     * @return the x coordinate
+     */
+    public float cameraX() {
+        return this.cameraX;
+    }
+
+    /**
+     * Returns the y coordinate of the top left corner of the area the camera sees.
+     * @return the y coordinate
+     */
+    public float cameraY() {
+        return this.cameraY;
+    }
+
+    /**
+     * Returns the width of the area the camera sees.
+     * @return the width
+     */
+    public float cameraWidth() {
+        return this.cameraWidth;
+    }
+
+    /**
+     * Returns the height of the area the camera sees.
+     * @return the height
+     */
+    public float cameraHeight() {
+        return this.cameraHeight;
+    }
+
+    /**
+     * Draws the captured objects in order over a black window, mapping the world through the camera
+     * if there is one.
+     * @param g the graphics to draw with, in window coordinates
+     * @param windowDimensions the dimensions of the game window
+     */
+    public void draw(Graphics2D g, Vector2 windowDimensions) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, (int) windowDimensions.x(), (int) windowDimensions.y());
+        float scaleX = 1;
+        float scaleY = 1;
+        if (this.hasCamera) {
+            scaleX = windowDimensions.x() / this.cameraWidth;
+            scaleY = windowDimensions.y() / this.cameraHeight;
+        }
+        for (int i = 0; i < this.numOfObjects; i++) {
+            Vector2 topLeftCorner = new Vector2(this.topLeftX[i], this.topLeftY[i]);
+            Vector2 dimensions = new Vector2(this.width[i], this.height[i]);
+            if (this.hasCamera && !this.isInCameraSpace[i]) {
+                topLeftCorner = new Vector2((topLeftCorner.x() - this.cameraX) * scaleX,
+                        (topLeftCorner.y() - this.cameraY) * scaleY);
+                dimensions = new Vector2(dimensions.x() * scaleX, dimensions.y() * scaleY);
+            }
+            this.renderables[i].render(g, topLeftCorner, dimensions, 0, false, false, 1);
+        }
+    }
+
+    /*
+     * Doubles the capacity of the arrays.
+     */
+    private void grow() {
+        int capacity = this.renderables.length * 2;
+        this.topLeftX = Arrays.copyOf(this.topLeftX, capacity);
+        this.topLeftY = Arrays.copyOf(this.topLeftY, capacity);
+        this.width = Arrays.copyOf(this.width, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.isInCameraSpace = Arrays.copyOf(this.isInCameraSpace, capacity);
+        this.renderables = Arrays.copyOf(this.renderables, capacity);
+        this.captures = Arrays.copyOf(this.captures, capacity);
+    }
+}
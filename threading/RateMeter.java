@@ -0,0 +1,43 @@
+package bricker.threading;
+
+import bricker.main.Constants;
+
+/**
+ * Represents a meter of how many times per second something happens, such as simulated ticks or
+ * rendered frames. The rate is recomputed once per sampling period by the thread recording the
+ * events, and can be read from any thread.
+ */
+public class RateMeter {
+    private long periodStartNanos;
+    private int numOfEventsInPeriod;
+    private volatile float ratePerSecond;
+
+    /**
+     * Constructor.
+     */
+    public RateMeter() {
+        this.periodStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Records an event.
+     * @param nowNanos the System.nanoTime() of the event
+     */
+    public void record(long nowNanos) {
+        this.numOfEventsInPeriod++;
+        long periodNanos = nowNanos - this.periodStartNanos;
+        if (periodNanos >= Constants.RATE_SAMPLE_PERIOD_NANOS) {
+            this.ratePerSecond = this.numOfEventsInPeriod * (float) Constants.NANOS_IN_SECOND / periodNanos;
+            this.numOfEventsInPeriod = 0;
+            this.periodStartNanos = nowNanos;
+        }
+    }
+
+    /**
+     * Returns the rate measured over the last sampling period.
+     * @return the number of events per second
+     */
+    public float ratePerSecond() {
+        return this.ratePerSecond;
+    }
+}
@@ -0,0 +1,140 @@
+package bricker.threading;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import danogl.GameObject;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents the thread simulating the game at a fixed rate, independently of rendering.
+ * Every tick advances the game by the same time step, then captures the frame into a snapshot and
+ * publishes it to the render thread. When the simulation falls behind it runs ticks back to back
+ * to catch up, up to a limit past which the missed time is dropped rather than simulated.
+ * While the game is suspended the loop ticks at the idle rate, only to notice input, and does not
+ * catch up the paused time afterwards.
+ * All the game state is only touched on this thread, so the game needs no locking.
+ */
+public class SimulationLoop {
+    private final BrickerGameManager game;
+    private final Runnable initializer;
+    private final SnapshotExchange exchange;
+    private final long tickNanos;
+    private final long idleTickNanos;
+    private final float tickSeconds;
+    private final RateMeter rateMeter;
+    private final Thread thread;
+    private volatile boolean isRunning;
+    private volatile boolean isResetRequested;
+    private long tick;
+
+    /**
+     * Constructor.
+     * @param game the game to simulate
+     * @param initializer initializes the game, on the simulation thread before the first tick and
+     *                    whenever a reset is requested
+     * @param exchange the exchange the frames are published to
+     * @param ticksPerSecond the simulation rate
+     */
+    public SimulationLoop(BrickerGameManager game, Runnable initializer, SnapshotExchange exchange,
+                          int ticksPerSecond) {
+        this.game = game;
+        this.initializer = initializer;
+        this.exchange = exchange;
+        this.tickNanos = Constants.NANOS_IN_SECOND / ticksPerSecond;
+        this.tickSeconds = 1f / ticksPerSecond;
+        this.idleTickNanos = Constants.NANOS_IN_SECOND / Constants.IDLE_FRAME_RATE;
+        this.rateMeter = new RateMeter();
+        this.thread = new Thread(this::run, "simulation");
+    }
+
+    /**
+     * Starts the simulation thread.
+     */
+    public void start() {
+        this.isRunning = true;
+        this.thread.start();
+    }
+
+    /**
+     * Stops the simulation after its current tick. Waits for the thread to end, unless called from
+     * the simulation thread itself.
+     */
+    public void stop() {
+        this.isRunning = false;
+        LockSupport.unpark(this.thread);
+        if (Thread.currentThread() == this.thread) {
+            return;
+        }
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks for the game to be initialized again before the next tick. Can be called from any thread.
+     */
+    public void requestReset() {
+        this.isResetRequested = true;
+    }
+
+    /**
+     * Returns the measured simulation rate.
+     * @return the number of ticks simulated per second
+     */
+    public float ticksPerSecond() {
+        return this.rateMeter.ratePerSecond();
+    }
+
+    /**
+     * Returns the number of simulated ticks.
+     * @return the number of ticks
+     */
+    public long numOfTicks() {
+        return this.tick;
+    }
+
+    /*
+     * Runs fixed time steps until stopped, sleeping between ticks when ahead of schedule, and longer
+     * while the game is suspended.
+     */
+    private void run() {
+        this.initializer.run();
+        publishFrame();
+        long nextTickNanos = System.nanoTime();
+        while (this.isRunning) {
+            if (this.isResetRequested) {
+                this.isResetRequested = false;
+                this.initializer.run();
+            }
+            this.game.update(this.tickSeconds);
+            this.tick++;
+            publishFrame();
+            long now = System.nanoTime();
+            this.rateMeter.record(now);
+            nextTickNanos += this.tickNanos;
+            if (this.game.isSuspended()) {
+                nextTickNanos = now + this.idleTickNanos;
+            } else if (now - nextTickNanos > Constants.MAX_CATCH_UP_TICKS * this.tickNanos) {
+                nextTickNanos = now;
+            }
+            while (this.isRunning && nextTickNanos - System.nanoTime() > 0) {
+                LockSupport.parkNanos(nextTickNanos - System.nanoTime());
+            }
+        }
+    }
+
+    /*
+     * Captures the objects of the game into the written snapshot, and publishes it.
+     */
+    private void publishFrame() {
+        FrameSnapshot snapshot = this.exchange.writeSnapshot();
+        snapshot.begin(this.tick, this.game.camera());
+        for (GameObject gameObject : this.game.gameObjects()) {
+            snapshot.add(gameObject);
+        }
+        this.exchange.publish();
+    }
+}
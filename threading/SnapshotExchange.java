@@ -0,0 +1,85 @@
+package bricker.threading;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a lock-free triple buffer handing frame snapshots from the simulation thread to the
+ * render thread.
+ * Of the three snapshots, the simulation owns one it writes into, the renderer owns one it draws,
+ * and the third is the latest published frame. Publishing and acquiring each swap a snapshot with
+ * the published one in a single atomic exchange, so neither thread ever waits for the other: the
+ * simulation overwrites a frame the renderer did not get to, and the renderer draws its frame again
+ * when no newer one was published.
+ */
+public class SnapshotExchange {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH_BIT = 0b100;
+
+    private final FrameSnapshot[] snapshots;
+    private final AtomicInteger published;
+    private int writeIndex;
+    private int readIndex;
+    private volatile long numOfPublished;
+    private volatile long numOfDropped;
+
+    /**
+     * Constructor.
+     */
+    public SnapshotExchange() {
+        this.snapshots = new FrameSnapshot[] {new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()};
+        this.readIndex = 0;
+        this.published = new AtomicInteger(1);
+        this.writeIndex = 2;
+    }
+
+    /**
+     * Returns the snapshot the simulation writes the next frame into.
+     * Called by the simulation thread only.
+     * @return the snapshot owned by the simulation
+     */
+    public FrameSnapshot writeSnapshot() {
+        return this.snapshots[this.writeIndex];
+    }
+
+    /**
+     * Publishes the written snapshot as the latest frame, and hands the simulation another snapshot
+     * to write into. Called by the simulation thread only.
+     */
+    public void publish() {
+        int previous = this.published.getAndSet(this.writeIndex | FRESH_BIT);
+        if ((previous & FRESH_BIT) != 0) {
+            this.numOfDropped++;
+        }
+        this.writeIndex = previous & INDEX_MASK;
+        this.numOfPublished++;
+    }
+
+    /**
+     * Returns the latest published frame, or the frame returned last time if none was published
+     * since. Called by the render thread only.
+     * @return the snapshot owned by the renderer until the next call
+     */
+    public FrameSnapshot acquireLatest() {
+        if ((this.published.get() & FRESH_BIT) != 0) {
+            this.readIndex = this.published.getAndSet(this.readIndex) & INDEX_MASK;
+        }
+        return this.snapshots[this.readIndex];
+    }
+
+    /**
+     * Returns the number of published frames.
+     * @return the number of frames
+     */
+    public long numOfPublished() {
+        return this.numOfPublished;
+    }
+
+    /**
+     * Returns the number of published frames that were replaced by a newer one before the renderer
+     * acquired them.
+     * @return the number of frames never drawn
+     */
+    public long numOfDropped() {
+        return this.numOfDropped;
+    }
+}
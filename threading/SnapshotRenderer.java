@@ -0,0 +1,104 @@
+package bricker.threading;
+
+import bricker.main.Constants;
+import danogl.util.Vector2;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Represents the thread drawing the latest published frame onto a canvas at its own rate.
+ * The renderer only reads snapshots, never the live game objects, so a slow frame on either side
+ * does not stall the other: a slow renderer skips frames, and a slow simulation has its last
+ * frame drawn again. While the given idle condition holds, such as the game being suspended, the
+ * renderer draws at the idle rate.
+ */
+public class SnapshotRenderer {
+    private final Canvas canvas;
+    private final SnapshotExchange exchange;
+    private final Vector2 windowDimensions;
+    private final long frameNanos;
+    private final long idleFrameNanos;
+    private final BooleanSupplier isIdle;
+    private final RateMeter rateMeter;
+    private final Thread thread;
+    private volatile boolean isRunning;
+
+    /**
+     * Constructor.
+     * @param canvas the canvas to draw on, which must be displayable before the renderer starts
+     * @param exchange the exchange the frames are taken from
+     * @param windowDimensions the dimensions of the game window
+     * @param framesPerSecond the render rate
+     * @param isIdle tells whether the renderer should draw at the idle rate, can be called from any thread
+     */
+    public SnapshotRenderer(Canvas canvas, SnapshotExchange exchange, Vector2 windowDimensions,
+                            int framesPerSecond, BooleanSupplier isIdle) {
+        this.canvas = canvas;
+        this.exchange = exchange;
+        this.windowDimensions = windowDimensions;
+        this.frameNanos = Constants.NANOS_IN_SECOND / framesPerSecond;
+        this.idleFrameNanos = Constants.NANOS_IN_SECOND / Constants.IDLE_FRAME_RATE;
+        this.isIdle = isIdle;
+        this.rateMeter = new RateMeter();
+        this.thread = new Thread(this::run, "renderer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the render thread.
+     */
+    public void start() {
+        this.isRunning = true;
+        this.thread.start();
+    }
+
+    /**
+     * Stops the renderer after its current frame.
+     */
+    public void stop() {
+        this.isRunning = false;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Returns the measured render rate.
+     * @return the number of frames drawn per second
+     */
+    public float framesPerSecond() {
+        return this.rateMeter.ratePerSecond();
+    }
+
+    /*
+     * Draws frames until stopped, sleeping between frames.
+     */
+    private void run() {
+        this.canvas.createBufferStrategy(Constants.RENDER_BUFFER_COUNT);
+        BufferStrategy bufferStrategy = this.canvas.getBufferStrategy();
+        long nextFrameNanos = System.nanoTime();
+        while (this.isRunning) {
+            FrameSnapshot snapshot = this.exchange.acquireLatest();
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) bufferStrategy.getDrawGraphics();
+                    try {
+                        snapshot.draw(g, this.windowDimensions);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (bufferStrategy.contentsRestored());
+                bufferStrategy.show();
+            } while (bufferStrategy.contentsLost());
+            long now = System.nanoTime();
+            this.rateMeter.record(now);
+            long periodNanos = this.isIdle.getAsBoolean() ? this.idleFrameNanos : this.frameNanos;
+            nextFrameNanos = Math.max(nextFrameNanos + periodNanos, now);
+            while (this.isRunning && nextFrameNanos - System.nanoTime() > 0) {
+                LockSupport.parkNanos(nextFrameNanos - System.nanoTime());
+            }
+        }
+    }
+}
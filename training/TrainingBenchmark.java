@@ -0,0 +1,71 @@
+package bricker.training;
+
+import bricker.main.Constants;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reports the environment steps per second of vectorized training environments, for a growing
+ * number of environments stepped by one worker and by a worker per core.
+ * The paddles take random actions, which is enough since an agent's policy is not part of the cost.
+ */
+public class TrainingBenchmark {
+
+    /**
+     * Constructor.
+     * private and empty, the benchmark is only run through main.
+     */
+    private TrainingBenchmark() {}
+
+    /**
+     * Steps every number of environments, doubling up to the largest one, and prints the steps per
+     * second with one worker and with a worker per core.
+     * @param args optionally the largest number of environments
+     */
+    public static void main(String[] args) {
+        int maxEnvironments = args.length > 0 ? Integer.parseInt(args[0]) :
+                Constants.TRAINING_BENCHMARK_MAX_ENVIRONMENTS;
+        int numOfCores = Runtime.getRuntime().availableProcessors();
+        for (int numOfEnvironments = 1; numOfEnvironments <= maxEnvironments; numOfEnvironments *= 2) {
+            System.out.printf("%d environments: %,.0f steps/s on 1 worker, %,.0f steps/s on %d workers%n",
+                    numOfEnvironments, stepsPerSecond(numOfEnvironments, 1),
+                    stepsPerSecond(numOfEnvironments, numOfCores), numOfCores);
+        }
+    }
+
+    /*
+     * Measures the environment steps per second of a batch of environments.
+     */
+    private static double stepsPerSecond(int numOfEnvironments, int numOfWorkers) {
+        VectorEnvironment environment = new VectorEnvironment(numOfEnvironments, numOfWorkers,
+                Constants.DEFAULT_BRICK_ROWS, Constants.DEFAULT_BRICK_COLS, numOfEnvironments);
+        SplittableRandom random = new SplittableRandom(numOfEnvironments);
+        int[] actions = new int[numOfEnvironments];
+        try {
+            environment.reset();
+            for (int i = 0; i < Constants.TRAINING_BENCHMARK_WARMUP_STEPS; i++) {
+                step(environment, random, actions);
+            }
+            long startSteps = environment.numOfSteps();
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < Constants.TRAINING_BENCHMARK_MEASURED_STEPS; i++) {
+                step(environment, random, actions);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return (environment.numOfSteps() - startSteps) * (double) Constants.NANOS_IN_SECOND /
+                    elapsedNanos;
+        } finally {
+            environment.close();
+        }
+    }
+
+    /*
+     * Steps the environments with random actions.
+     */
+    private static void step(VectorEnvironment environment, SplittableRandom random, int[] actions) {
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = random.nextInt(-1, 2);
+        }
+        environment.step(actions);
+    }
+}
@@ -0,0 +1,286 @@
+package bricker.training;
+
+import bricker.budget.EntityType;
+import bricker.gameobjects.Ball;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.scenarios.HeadlessWindow;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents a batch of independent headless games stepped in lock-step, for training paddle agents.
+ * The API follows the vectorized environments of reinforcement learning libraries: reset() starts
+ * every game, and step(actions) moves every paddle by its action for a few ticks and fills in the
+ * rewards and done flags of the batch.
+ * The results are written into arrays allocated once and overwritten by every call. Every
+ * environment has a row of OBSERVATION_SIZE floats, laid out as given by the OBSERVATION_ constants,
+ * and a row of bitmap words of the live bricks. A reward is a point per destroyed brick, less a
+ * penalty per lost heart. An environment whose episode ended is reset within the same step, so its
+ * observation already belongs to the next episode.
+ * The games are split into contiguous slices, one per worker thread, so the steps per second grow
+ * with the cores while there are at least as many environments as workers. A game is only touched
+ * by one worker at a time, so the games need no locking.
+ */
+public class VectorEnvironment {
+    private final World[] worlds;
+    private final int numOfBitmapWords;
+    private final float[] observations;
+    private final long[] brickBitmaps;
+    private final float[] rewards;
+    private final boolean[] dones;
+    private final int[] actions;
+    private final ExecutorService executor;
+    private final List<Callable<Void>> resetTasks;
+    private final List<Callable<Void>> stepTasks;
+    private long numOfSteps;
+
+    /**
+     * Constructor.
+     * @param numOfEnvironments the number of games
+     * @param numOfWorkers the number of threads stepping the games, at most one per game is used
+     * @param brickRows the number of rows of bricks of the first level
+     * @param brickCols the number of columns of bricks of the first level
+     * @param seed the seed of the first game, every other game is seeded with the next seeds
+     */
+    public VectorEnvironment(int numOfEnvironments, int numOfWorkers, int brickRows, int brickCols,
+                             long seed) {
+        Vector2 windowDimensions = new Vector2(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        this.worlds = new World[numOfEnvironments];
+        for (int i = 0; i < numOfEnvironments; i++) {
+            BrickerGameManager game = new BrickerGameManager(Constants.GAME_WINDOW_TITLE, windowDimensions,
+                    brickRows, brickCols, Constants.NO_SERVER_PORT, seed + i);
+            game.setRecordingEnabled(false);
+            game.setPreloadingEnabled(false);
+            this.worlds[i] = new World(game, new HeadlessWindow(windowDimensions));
+        }
+        this.numOfBitmapWords = (this.worlds[0].game.maxNumOfBricks() + Long.SIZE - 1) / Long.SIZE;
+        this.observations = new float[numOfEnvironments * Constants.OBSERVATION_SIZE];
+        this.brickBitmaps = new long[numOfEnvironments * this.numOfBitmapWords];
+        this.rewards = new float[numOfEnvironments];
+        this.dones = new boolean[numOfEnvironments];
+        this.actions = new int[numOfEnvironments];
+        int numOfSlices = Math.max(1, Math.min(numOfWorkers, numOfEnvironments));
+        this.executor = Executors.newFixedThreadPool(numOfSlices, runnable -> {
+            Thread thread = new Thread(runnable, "training-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resetTasks = new ArrayList<>();
+        this.stepTasks = new ArrayList<>();
+        for (int slice = 0; slice < numOfSlices; slice++) {
+            int from = numOfEnvironments * slice / numOfSlices;
+            int to = numOfEnvironments * (slice + 1) / numOfSlices;
+            this.resetTasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    resetWorld(i);
+                }
+                return null;
+            });
+            this.stepTasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    stepWorld(i);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Starts a new episode in every environment, and writes their first observations.
+     */
+    public void reset() {
+        runSlices(this.resetTasks);
+    }
+
+    /**
+     * Runs one step in every environment: the paddle moves by its action for TRAINING_TICKS_PER_STEP
+     * ticks. Writes the observations, rewards and done flags of the step.
+     * @param actions the action of every environment: -1 moves the paddle left, 1 right and 0 not at all
+     * @throws IllegalArgumentException if there is not one action per environment
+     */
+    public void step(int[] actions) {
+        if (actions.length != this.worlds.length) {
+            throw new IllegalArgumentException("Expected " + this.worlds.length + " actions, got " +
+                    actions.length);
+        }
+        System.arraycopy(actions, 0, this.actions, 0, actions.length);
+        runSlices(this.stepTasks);
+        this.numOfSteps += this.worlds.length;
+    }
+
+    /**
+     * Stops the worker threads and releases the games.
+     */
+    public void close() {
+        this.executor.shutdownNow();
+        for (World world : this.worlds) {
+            world.game.shutdown();
+        }
+    }
+
+    /**
+     * Returns the observations of the last reset or step, a row of OBSERVATION_SIZE floats per
+     * environment.
+     * @return the observations array, overwritten by every call
+     */
+    public float[] observations() {
+        return this.observations;
+    }
+
+    /**
+     * Returns the bitmaps of the live bricks of the last reset or step, a row of numOfBitmapWords()
+     * words per environment with one bit per brick in row-major order.
+     * @return the bitmaps array, overwritten by every call
+     */
+    public long[] brickBitmaps() {
+        return this.brickBitmaps;
+    }
+
+    /**
+     * Returns the rewards of the last step, one per environment.
+     * @return the rewards array, overwritten by every step
+     */
+    public float[] rewards() {
+        return this.rewards;
+    }
+
+    /**
+     * Returns the done flags of the last step, one per environment. An environment is done when its
+     * game ended or its episode reached TRAINING_MAX_EPISODE_STEPS steps.
+     * @return the done flags array, overwritten by every step
+     */
+    public boolean[] dones() {
+        return this.dones;
+    }
+
+    /**
+     * Returns the number of environments.
+     * @return the number of games
+     */
+    public int numOfEnvironments() {
+        return this.worlds.length;
+    }
+
+    /**
+     * Returns the number of words of the brick bitmap of an environment, enough for the biggest level.
+     * @return the number of words per environment
+     */
+    public int numOfBitmapWords() {
+        return this.numOfBitmapWords;
+    }
+
+    /**
+     * Returns the number of steps taken, summed over all the environments.
+     * @return the number of environment steps
+     */
+    public long numOfSteps() {
+        return this.numOfSteps;
+    }
+
+    /*
+     * Runs the tasks of all the slices on the workers, and waits for them to finish.
+     */
+    private void runSlices(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : this.executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to step environment", e.getCause());
+        }
+    }
+
+    /*
+     * Initializes the game of an environment, and writes its observation.
+     */
+    private void resetWorld(int index) {
+        World world = this.worlds[index];
+        world.game.initializeGame(null, null, world.window.inputListener(), world.window.windowController());
+        world.window.takeResetRequest();
+        world.numOfEpisodeSteps = 0;
+        world.bricksDestroyed = 0;
+        world.heartsLost = 0;
+        observe(index);
+    }
+
+    /*
+     * Runs the ticks of a step in the game of an environment, stopping early if the game ended, and
+     * writes its reward and done flag. A done environment is reset.
+     */
+    private void stepWorld(int index) {
+        World world = this.worlds[index];
+        world.game.mainPaddle().setRemoteDirection(Integer.signum(this.actions[index]));
+        boolean isGameOver = false;
+        for (int tick = 0; tick < Constants.TRAINING_TICKS_PER_STEP && !isGameOver; tick++) {
+            world.game.update(Constants.TRAINING_TICK_SECONDS);
+            isGameOver = world.window.takeResetRequest();
+        }
+        int bricksDestroyed = world.game.bricksDestroyed();
+        int heartsLost = world.game.heartsLost();
+        this.rewards[index] = (bricksDestroyed - world.bricksDestroyed) -
+                Constants.TRAINING_HEART_PENALTY * (heartsLost - world.heartsLost);
+        world.bricksDestroyed = bricksDestroyed;
+        world.heartsLost = heartsLost;
+        world.numOfEpisodeSteps++;
+        this.dones[index] = isGameOver || world.numOfEpisodeSteps >= Constants.TRAINING_MAX_EPISODE_STEPS;
+        if (this.dones[index]) {
+            resetWorld(index);
+        } else {
+            observe(index);
+        }
+    }
+
+    /*
+     * Writes the observation row and the brick bitmap of an environment. The pucks are observed in no
+     * particular order, and the slots of missing pucks are zero.
+     */
+    private void observe(int index) {
+        BrickerGameManager game = this.worlds[index].game;
+        int row = index * Constants.OBSERVATION_SIZE;
+        Ball ball = game.mainBall();
+        Vector2 ballCenter = ball.getCenter();
+        Vector2 ballVelocity = ball.getVelocity();
+        this.observations[row + Constants.OBSERVATION_PADDLE_X] = game.mainPaddle().getCenter().x();
+        this.observations[row + Constants.OBSERVATION_BALL_X] = ballCenter.x();
+        this.observations[row + Constants.OBSERVATION_BALL_Y] = ballCenter.y();
+        this.observations[row + Constants.OBSERVATION_BALL_VELOCITY_X] = ballVelocity.x();
+        this.observations[row + Constants.OBSERVATION_BALL_VELOCITY_Y] = ballVelocity.y();
+        List<GameObject> pucks = game.entityRegistry().liveEntities(EntityType.PUCK);
+        int numOfPucks = Math.min(pucks.size(), Constants.TRAINING_OBSERVED_PUCKS);
+        this.observations[row + Constants.OBSERVATION_NUM_OF_PUCKS] = numOfPucks;
+        for (int i = 0; i < Constants.TRAINING_OBSERVED_PUCKS; i++) {
+            int slot = row + Constants.OBSERVATION_FIRST_PUCK + 2 * i;
+            Vector2 puckCenter = i < numOfPucks ? pucks.get(i).getCenter() : Vector2.ZERO;
+            this.observations[slot] = puckCenter.x();
+            this.observations[slot + 1] = puckCenter.y();
+        }
+        game.copyLiveBricks(this.brickBitmaps, index * this.numOfBitmapWords, this.numOfBitmapWords);
+    }
+
+    /*
+     * A game of the batch, with the window it runs in and its episode progress.
+     */
+    private static class World {
+        private final BrickerGameManager game;
+        private final HeadlessWindow window;
+        private int numOfEpisodeSteps;
+        private int bricksDestroyed;
+        private int heartsLost;
+
+        private World(BrickerGameManager game, HeadlessWindow window) {
+            this.game = game;
+            this.window = window;
+        }
+    }
+}